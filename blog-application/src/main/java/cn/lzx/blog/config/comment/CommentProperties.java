@@ -0,0 +1,58 @@
+package cn.lzx.blog.config.comment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 评论配置属性
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.comment")
+public class CommentProperties {
+
+    /**
+     * 是否启用异步评论提交（启用后接口校验通过即返回客户端令牌，由后台批量落库，评论ID在落库时由数据库分配）
+     */
+    private boolean asyncEnabled = false;
+
+    /**
+     * 本地队列分区数（RocketMQ未启用时使用，同一文章的评论固定进入同一分区，保证顺序）
+     */
+    private Integer partitions = 4;
+
+    /**
+     * 本地队列总容量（平均分配到各分区）
+     */
+    private Integer queueCapacity = 10000;
+
+    /**
+     * 入队等待时间(毫秒)，队列满且超时后拒绝提交（背压）
+     */
+    private Long offerTimeout = 100L;
+
+    /**
+     * 每批最大落库条数
+     */
+    private Integer batchSize = 100;
+
+    /**
+     * 队列空闲时的轮询间隔(毫秒)
+     */
+    private Long pollInterval = 200L;
+
+    /**
+     * 落库暂时失败（如数据库不可用）时的初始重试间隔(毫秒)，每次失败翻倍
+     */
+    private Long retryBackoff = 1000L;
+
+    /**
+     * 落库重试的最大间隔(毫秒)
+     */
+    private Long retryMaxBackoff = 30000L;
+}
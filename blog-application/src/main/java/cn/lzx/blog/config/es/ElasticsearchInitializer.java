@@ -1,5 +1,7 @@
 package cn.lzx.blog.config.es;
 
+import cn.lzx.blog.integration.es.ArticleIndexer;
+import cn.lzx.blog.integration.lucene.LocalArticleSearch;
 import cn.lzx.blog.service.ArticleSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,7 +11,7 @@ import org.springframework.stereotype.Component;
 
 /**
  * Elasticsearch初始化器
- * 应用启动时自动创建文章索引
+ * 应用启动时自动创建文章索引、构建本地降级索引，并补齐上次运行未完成的增量索引
  *
  * @author lzx
  * @since 2025-11-01
@@ -20,15 +22,30 @@ import org.springframework.stereotype.Component;
 public class ElasticsearchInitializer implements ApplicationRunner {
 
     private final ArticleSearchService articleSearchService;
+    private final ArticleIndexer articleIndexer;
+    private final LocalArticleSearch localArticleSearch;
+    private final ElasticsearchProperties elasticsearchProperties;
 
     @Override
     public void run(ApplicationArguments args) {
+        // 本地降级索引不依赖ES，先在后台构建
+        localArticleSearch.rebuildAsync();
+
+        if (!Boolean.TRUE.equals(elasticsearchProperties.getLocalSearchOnly())) {
+            try {
+                log.info("开始初始化Elasticsearch索引...");
+                articleSearchService.initArticleIndex();
+                log.info("Elasticsearch索引初始化完成");
+            } catch (Exception e) {
+                log.error("Elasticsearch索引初始化失败", e);
+            }
+        }
+
+        // ES初始化失败时同样恢复待索引任务：本地索引需要这些变更，ES恢复后由重试补齐
         try {
-            log.info("开始初始化Elasticsearch索引...");
-            articleSearchService.initArticleIndex();
-            log.info("Elasticsearch索引初始化完成");
+            articleIndexer.recoverPending();
         } catch (Exception e) {
-            log.error("Elasticsearch索引初始化失败", e);
+            log.error("恢复待索引任务失败", e);
         }
     }
 }
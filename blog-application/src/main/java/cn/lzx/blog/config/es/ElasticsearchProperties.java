@@ -17,7 +17,7 @@ import lombok.Data;
 public class ElasticsearchProperties {
 
     /**
-     * 文章索引名称
+     * 文章索引名称（读写别名，实际数据存放在 {articleIndex}_v{时间戳} 版本索引中）
      */
     private String articleIndex = "blog_article";
 
@@ -31,6 +31,111 @@ public class ElasticsearchProperties {
      */
     private Integer numberOfReplicas = 1;
 
+    /**
+     * 重建索引时每批从数据库读取并构建的文章数
+     */
+    private Integer reindexBatchSize = 500;
+
+    /**
+     * 重建索引时单个 bulk 请求的最大字节数
+     */
+    private Integer reindexBulkMaxBytes = 5 * 1024 * 1024;
+
+    /**
+     * 重建索引时并行构建文档的线程数
+     */
+    private Integer reindexThreads = 4;
+
+    /**
+     * 重建索引允许写入失败的文档数，超过时放弃新索引、不切换别名（默认0：任何失败都放弃）
+     */
+    private Integer reindexMaxFailures = 0;
+
+    /**
+     * 增量索引刷写间隔（毫秒），同一间隔内同一文章的多次变更合并为一次写入
+     */
+    private Long indexFlushInterval = 1000L;
+
+    /**
+     * 增量索引单个 bulk 请求的最大文章数
+     */
+    private Integer indexBatchSize = 200;
+
+    /**
+     * 增量索引失败后的最大重试次数（超过后保留在待索引表中，由定时扫描重新加入队列）
+     */
+    private Integer indexMaxRetries = 8;
+
+    /**
+     * 增量索引重试的初始退避时间（毫秒），每次失败翻倍
+     */
+    private Long indexRetryBackoff = 1000L;
+
+    /**
+     * 增量索引重试的最大退避时间（毫秒）
+     */
+    private Long indexRetryMaxBackoff = 60000L;
+
+    /**
+     * 待索引表扫描间隔（毫秒），登记时间早于一个间隔仍未完成的文章重新加入索引队列
+     */
+    private Long indexPendingSweepInterval = 300000L;
+
+    /**
+     * 计数同步间隔（毫秒）
+     */
+    private Long counterSyncInterval = 30000L;
+
+    /**
+     * 计数同步每批处理的文章数
+     */
+    private Integer counterSyncBatchSize = 500;
+
+    /**
+     * 搜索建议的ES查询时间预算（毫秒），超时只返回本地前缀树的结果
+     */
+    private Long suggestTimeout = 150L;
+
+    /**
+     * 搜索建议本地前缀树的重建间隔（毫秒）
+     */
+    private Long suggestRefreshInterval = 600000L;
+
+    /**
+     * 热门搜索结果缓存预热间隔（毫秒），应小于搜索缓存TTL
+     */
+    private Long searchCacheWarmInterval = 30000L;
+
+    /**
+     * 预热的热门搜索词数量
+     */
+    private Integer searchCacheWarmSize = 20;
+
+    /**
+     * 是否维护本地Lucene索引（ES不可用时降级使用）
+     */
+    private Boolean localSearchEnabled = true;
+
+    /**
+     * 是否只使用本地Lucene索引搜索（小规模部署可不依赖ES）
+     */
+    private Boolean localSearchOnly = false;
+
+    /**
+     * 熔断器：连续失败多少次后打开
+     */
+    private Integer breakerFailureThreshold = 5;
+
+    /**
+     * 熔断器：打开后多久（毫秒）放行一次探测请求
+     */
+    private Long breakerOpenDuration = 30000L;
+
+    /**
+     * 相关文章增量刷新间隔（毫秒）
+     */
+    private Long relatedRefreshInterval = 5000L;
+
     /**
      * ES连接URI（用于ElasticsearchConfig，这里不直接使用，但保持配置一致性）
      */
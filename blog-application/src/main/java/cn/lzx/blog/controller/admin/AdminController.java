@@ -1,15 +1,24 @@
 package cn.lzx.blog.controller.admin;
 
 import cn.lzx.blog.dto.admin.ArticleCategoryUpdateDTO;
+import cn.lzx.blog.dto.admin.ArticleStatusBatchUpdateDTO;
 import cn.lzx.blog.dto.admin.ArticleStatusUpdateDTO;
 import cn.lzx.blog.dto.admin.ArticleTagUpdateDTO;
 import cn.lzx.blog.dto.admin.CategoryManageDTO;
+import cn.lzx.blog.dto.admin.CommentBatchDeleteDTO;
+import cn.lzx.blog.dto.admin.CommentStatusBatchUpdateDTO;
 import cn.lzx.blog.dto.admin.CommentStatusUpdateDTO;
 import cn.lzx.blog.dto.admin.TagManageDTO;
+import cn.lzx.blog.dto.admin.UserStatusBatchUpdateDTO;
 import cn.lzx.blog.vo.CategoryVO;
 import cn.lzx.blog.vo.TagVO;
+import cn.lzx.blog.service.AdminExportService;
 import cn.lzx.blog.service.AdminService;
+import cn.lzx.blog.service.ArticleReindexService;
+import cn.lzx.blog.service.DailyStatsService;
 import cn.lzx.blog.vo.admin.CommentManageVO;
+import cn.lzx.blog.vo.admin.DailyStatsVO;
+import cn.lzx.blog.vo.admin.ReindexProgressVO;
 import cn.lzx.blog.vo.admin.StatisticsVO;
 import cn.lzx.blog.vo.admin.UserManageVO;
 import cn.lzx.constants.AdminConstants;
@@ -19,11 +28,18 @@ import cn.lzx.utils.SecurityContextUtil;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 /**
@@ -40,6 +56,15 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final ArticleReindexService articleReindexService;
+    private final DailyStatsService dailyStatsService;
+    private final AdminExportService adminExportService;
+
+    /**
+     * 每日统计默认/最大查询天数
+     */
+    private static final int DAILY_STATS_DEFAULT_DAYS = 30;
+    private static final int DAILY_STATS_MAX_DAYS = 366;
 
     /**
      * 检查管理员权限
@@ -104,6 +129,17 @@ public class AdminController {
         return R.success("更新成功");
     }
 
+    /**
+     * 批量更新文章状态（批量屏蔽/取消屏蔽）
+     */
+    @Operation(summary = "批量更新文章状态", description = "管理员可以批量屏蔽或取消屏蔽文章（单次最多100篇）")
+    @PutMapping("/articles/status")
+    public R batchUpdateArticleStatus(@RequestBody @Valid ArticleStatusBatchUpdateDTO dto) {
+        checkAdminPermission();
+        adminService.batchUpdateArticleStatus(dto);
+        return R.success("更新成功");
+    }
+
     // ==================== 访客管理 ====================
 
     /**
@@ -133,6 +169,17 @@ public class AdminController {
         return R.success("更新成功");
     }
 
+    /**
+     * 批量更新用户状态（批量启用/禁用）
+     */
+    @Operation(summary = "批量更新用户状态", description = "管理员可以批量启用或禁用用户（单次最多100个）")
+    @PutMapping("/users/status")
+    public R batchUpdateUserStatus(@RequestBody @Valid UserStatusBatchUpdateDTO dto) {
+        checkAdminPermission();
+        adminService.batchUpdateUserStatus(dto);
+        return R.success("更新成功");
+    }
+
     // ==================== 评论管理 ====================
 
     /**
@@ -161,6 +208,17 @@ public class AdminController {
         return R.success("更新成功");
     }
 
+    /**
+     * 批量更新评论状态
+     */
+    @Operation(summary = "批量更新评论状态", description = "管理员可以批量更新评论的显示状态（单次最多100条）")
+    @PutMapping("/comments/status")
+    public R batchUpdateCommentStatus(@RequestBody @Valid CommentStatusBatchUpdateDTO dto) {
+        checkAdminPermission();
+        adminService.batchUpdateCommentStatus(dto);
+        return R.success("更新成功");
+    }
+
     /**
      * 删除评论（管理员）
      */
@@ -172,6 +230,17 @@ public class AdminController {
         return R.success("删除成功");
     }
 
+    /**
+     * 批量删除评论（管理员）
+     */
+    @Operation(summary = "批量删除评论", description = "管理员可以批量删除评论（单次最多100条）")
+    @DeleteMapping("/comments")
+    public R batchDeleteComments(@RequestBody @Valid CommentBatchDeleteDTO dto) {
+        checkAdminPermission();
+        adminService.batchDeleteComments(dto);
+        return R.success("删除成功");
+    }
+
     // ==================== 数据统计 ====================
 
     /**
@@ -185,6 +254,27 @@ public class AdminController {
         return R.success(statistics);
     }
 
+    /**
+     * 获取每日统计（趋势图数据）
+     */
+    @Operation(summary = "获取每日统计", description = "管理员可以按日期范围查看每日浏览、点赞、评论、收藏、注册和发布数（默认最近30天，最多366天）")
+    @GetMapping("/statistics/daily")
+    public R getDailyStatistics(
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        checkAdminPermission();
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(DAILY_STATS_DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new BusinessException("开始日期不能晚于结束日期");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= DAILY_STATS_MAX_DAYS) {
+            throw new BusinessException("日期范围不能超过" + DAILY_STATS_MAX_DAYS + "天");
+        }
+        List<DailyStatsVO> stats = dailyStatsService.listDailyStats(start, end);
+        return R.success(stats);
+    }
+
     // ==================== 分类管理 ====================
 
     /**
@@ -276,5 +366,69 @@ public class AdminController {
         adminService.deleteTag(tagId);
         return R.success("删除成功");
     }
-}
 
+    // ==================== 搜索索引 ====================
+
+    /**
+     * 重建文章搜索索引
+     */
+    @Operation(summary = "重建文章搜索索引", description = "后台全量重建文章索引，完成后原子切换别名，期间搜索不受影响")
+    @PostMapping("/search/reindex")
+    public R startReindex() {
+        checkAdminPermission();
+        ReindexProgressVO progress = articleReindexService.startReindex();
+        return R.success("索引重建已开始", progress);
+    }
+
+    /**
+     * 查询文章搜索索引重建进度
+     */
+    @Operation(summary = "查询索引重建进度", description = "查看最近一次索引重建的进度、吞吐量和失败数")
+    @GetMapping("/search/reindex")
+    public R getReindexProgress() {
+        checkAdminPermission();
+        return R.success(articleReindexService.getReindexProgress());
+    }
+
+    // ==================== 数据导出 ====================
+
+    /**
+     * 导出数据（articles / users / comments）
+     * 从数据库游标逐行写入响应，不在内存中汇总结果
+     */
+    @Operation(summary = "导出数据", description = "以CSV或NDJSON格式流式导出文章、用户或评论")
+    @GetMapping("/export/{type}")
+    public void export(@PathVariable String type,
+                       @RequestParam(value = "format", defaultValue = "csv") String format,
+                       HttpServletResponse response) throws IOException {
+        checkAdminPermission();
+        AdminExportService.Format exportFormat = AdminExportService.Format.of(format);
+        if (exportFormat == null) {
+            throw new BusinessException("不支持的导出格式: " + format);
+        }
+        if (!"articles".equals(type) && !"users".equals(type) && !"comments".equals(type)) {
+            throw new BusinessException("不支持的导出类型: " + type);
+        }
+
+        String filename = type + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "." + exportFormat.getExtension();
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+        response.setHeader("Cache-Control", "no-store");
+        OutputStream out = response.getOutputStream();
+        long rows;
+        switch (type) {
+            case "articles":
+                rows = adminExportService.exportArticles(exportFormat, out);
+                break;
+            case "users":
+                rows = adminExportService.exportUsers(exportFormat, out);
+                break;
+            default:
+                rows = adminExportService.exportComments(exportFormat, out);
+                break;
+        }
+        log.info("管理员 {} 导出数据: type={}, format={}, rows={}",
+                SecurityContextUtil.getCurrentUserId(), type, exportFormat.getExtension(), rows);
+    }
+}
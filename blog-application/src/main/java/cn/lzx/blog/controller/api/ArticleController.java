@@ -3,9 +3,11 @@ package cn.lzx.blog.controller.api;
 import cn.lzx.annotation.NoLogin;
 import cn.lzx.blog.dto.ArticlePublishDTO;
 import cn.lzx.blog.dto.ArticleQueryDTO;
+import cn.lzx.blog.service.ArticleSearchService;
 import cn.lzx.blog.service.ArticleService;
 import cn.lzx.blog.service.FileUploadService;
 import cn.lzx.blog.service.InteractionService;
+import cn.lzx.blog.vo.ArticleCursorPageVO;
 import cn.lzx.blog.vo.ArticleDetailVO;
 import cn.lzx.blog.vo.ArticleListVO;
 import cn.lzx.utils.R;
@@ -36,6 +38,7 @@ import java.util.Map;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final ArticleSearchService articleSearchService;
     private final InteractionService interactionService;
     private final FileUploadService fileUploadService;
 
@@ -101,6 +104,50 @@ public class ArticleController {
         return R.success(page);
     }
 
+    /**
+     * 搜索文章（游标分页）
+     * 适合无限滚动和深度翻页，翻页期间结果顺序稳定
+     */
+    @NoLogin
+    @Operation(summary = "搜索文章（游标分页）", description = "首次请求不传cursor，之后传入上一页返回的nextCursor")
+    @GetMapping("/search")
+    public R searchArticles(ArticleQueryDTO queryDTO) {
+        ArticleCursorPageVO page = articleSearchService.searchArticlesByCursor(
+                queryDTO.getKeyword(),
+                queryDTO.getCategoryId(),
+                queryDTO.getTagId(),
+                queryDTO.getOrderBy(),
+                queryDTO.getOrderType(),
+                queryDTO.getCursor(),
+                queryDTO.getSize());
+        return R.success(page);
+    }
+
+    /**
+     * 搜索建议
+     * 本地词典优先，不足时在时间预算内由ES补全
+     */
+    @NoLogin
+    @Operation(summary = "搜索建议", description = "输入即提示，返回匹配前缀的标题、标签、分类")
+    @GetMapping("/suggest")
+    public R getSearchSuggestions(@RequestParam("keyword") String keyword,
+                                  @RequestParam(value = "size", required = false) Integer size) {
+        return R.success(articleSearchService.suggest(keyword, size));
+    }
+
+    /**
+     * 获取趋势文章
+     * 最近一小时/一天内互动最多的文章，可按分类查看
+     */
+    @NoLogin
+    @Operation(summary = "获取趋势文章", description = "window取hour或day，categoryId为空表示全站")
+    @GetMapping("/trending")
+    public R getTrendingArticles(@RequestParam(value = "window", required = false) String window,
+                                 @RequestParam(value = "categoryId", required = false) Long categoryId,
+                                 @RequestParam(value = "limit", required = false) Integer limit) {
+        return R.success(articleService.getTrendingArticles(window, categoryId, limit));
+    }
+
     /**
      * 获取文章详情
      * 自动增加浏览量，已登录用户返回点赞/收藏状态
@@ -4,7 +4,8 @@ import cn.lzx.annotation.NoLogin;
 import cn.lzx.blog.dto.CommentCreateDTO;
 import cn.lzx.blog.service.CommentService;
 import cn.lzx.blog.service.InteractionService;
-import cn.lzx.blog.vo.CommentVO;
+import cn.lzx.blog.vo.CommentCreateVO;
+import cn.lzx.blog.vo.CommentPageVO;
 import cn.lzx.utils.R;
 import cn.lzx.utils.SecurityContextUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,8 +15,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 评论API控制器
  *
@@ -39,8 +38,8 @@ public class CommentController {
     @PostMapping("/create")
     public R createComment(@RequestBody @Valid CommentCreateDTO dto) {
         Long userId = SecurityContextUtil.getCurrentUserId();
-        Long commentId = commentService.createComment(userId, dto);
-        return R.success(commentId);
+        CommentCreateVO result = commentService.createComment(userId, dto);
+        return R.success(result);
     }
 
     /**
@@ -55,23 +54,29 @@ public class CommentController {
     }
 
     /**
-     * 获取文章评论列表
+     * 获取文章评论列表（游标分页，根评论内联前几条回复）
      */
     @NoLogin
     @Operation(summary = "获取文章评论列表")
     @GetMapping("/article/{articleId}")
-    public R getCommentList(@PathVariable("articleId") Long articleId) {
-        // 尝试获取当前用户ID（可能为空，表示未登录）
-        Long userId = null;
-        try {
-            userId = SecurityContextUtil.getCurrentUserId();
-        } catch (Exception e) {
-            // 未登录，忽略异常
-            log.debug("用户未登录，查看评论列表: articleId={}", articleId);
-        }
+    public R getCommentList(@PathVariable("articleId") Long articleId,
+                            @RequestParam(value = "cursor", required = false) String cursor,
+                            @RequestParam(value = "size", required = false) Integer size) {
+        CommentPageVO page = commentService.getCommentPage(articleId, getCurrentUserIdOrNull(), cursor, size);
+        return R.success(page);
+    }
 
-        List<CommentVO> commentList = commentService.getCommentList(articleId, userId);
-        return R.success(commentList);
+    /**
+     * 获取根评论下的回复列表（游标分页）
+     */
+    @NoLogin
+    @Operation(summary = "获取评论回复列表")
+    @GetMapping("/{rootId}/replies")
+    public R getReplyList(@PathVariable("rootId") Long rootId,
+                          @RequestParam(value = "cursor", required = false) String cursor,
+                          @RequestParam(value = "size", required = false) Integer size) {
+        CommentPageVO page = commentService.getReplyPage(rootId, getCurrentUserIdOrNull(), cursor, size);
+        return R.success(page);
     }
 
     /**
@@ -95,5 +100,17 @@ public class CommentController {
         interactionService.unlikeComment(userId, id);
         return R.success("取消点赞成功");
     }
-}
 
+    /**
+     * 尝试获取当前用户ID（可能为空，表示未登录）
+     */
+    private Long getCurrentUserIdOrNull() {
+        try {
+            return SecurityContextUtil.getCurrentUserId();
+        } catch (Exception e) {
+            // 未登录，忽略异常
+            log.debug("用户未登录，查看评论列表");
+            return null;
+        }
+    }
+}
@@ -47,6 +47,11 @@ public class ArticleQueryDTO {
      */
     private Integer size = 10;
 
+    /**
+     * 分页游标（仅游标模式搜索使用，为空表示第一页）
+     */
+    private String cursor;
+
     /**
      * 文章状态：0草稿，1已发布（可选，用于查询我的文章时过滤）
      */
@@ -0,0 +1,38 @@
+package cn.lzx.blog.dto;
+
+import lombok.Data;
+
+/**
+ * 文章聚合统计结果DTO（单条 COUNT/SUM 查询结果映射）
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+public class ArticleStatsDTO {
+
+    /**
+     * 文章总数
+     */
+    private Long total;
+
+    /**
+     * 已发布文章数
+     */
+    private Long published;
+
+    /**
+     * 总浏览量
+     */
+    private Long viewCount;
+
+    /**
+     * 总点赞数
+     */
+    private Long likeCount;
+
+    /**
+     * 总收藏数
+     */
+    private Long collectCount;
+}
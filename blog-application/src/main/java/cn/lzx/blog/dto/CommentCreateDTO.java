@@ -32,6 +32,12 @@ public class CommentCreateDTO {
      */
     private Long parentId;
 
+    /**
+     * 父评论的客户端令牌（回复尚在排队的评论时使用，与 parentId 二选一）
+     */
+    @Size(max = 32, message = "父评论令牌格式错误")
+    private String parentToken;
+
     /**
      * 回复的用户ID（回复评论时需要）
      */
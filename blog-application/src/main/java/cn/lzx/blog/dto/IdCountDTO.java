@@ -0,0 +1,27 @@
+package cn.lzx.blog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 分组计数结果DTO（GROUP BY 查询结果映射）
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdCountDTO {
+
+    /**
+     * 分组ID
+     */
+    private Long id;
+
+    /**
+     * 计数
+     */
+    private Long count;
+}
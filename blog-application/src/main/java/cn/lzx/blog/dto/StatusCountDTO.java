@@ -0,0 +1,23 @@
+package cn.lzx.blog.dto;
+
+import lombok.Data;
+
+/**
+ * 按状态计数结果DTO（总数与正常状态数在一条查询中统计）
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+public class StatusCountDTO {
+
+    /**
+     * 总数
+     */
+    private Long total;
+
+    /**
+     * 正常状态数
+     */
+    private Long normal;
+}
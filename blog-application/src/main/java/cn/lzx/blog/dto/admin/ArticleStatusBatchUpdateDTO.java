@@ -0,0 +1,31 @@
+package cn.lzx.blog.dto.admin;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 文章状态批量更新DTO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+public class ArticleStatusBatchUpdateDTO {
+
+    /**
+     * 文章ID列表
+     */
+    @NotEmpty(message = "文章ID不能为空")
+    @Size(max = 100, message = "单次最多操作100篇文章")
+    private List<Long> articleIds;
+
+    /**
+     * 状态：0草稿，1已发布，4已屏蔽
+     */
+    @NotNull(message = "状态不能为空")
+    private Integer status;
+}
@@ -0,0 +1,24 @@
+package cn.lzx.blog.dto.admin;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 评论批量删除DTO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+public class CommentBatchDeleteDTO {
+
+    /**
+     * 评论ID列表
+     */
+    @NotEmpty(message = "评论ID不能为空")
+    @Size(max = 100, message = "单次最多删除100条评论")
+    private List<Long> commentIds;
+}
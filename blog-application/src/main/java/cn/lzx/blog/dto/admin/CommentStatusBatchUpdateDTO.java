@@ -0,0 +1,31 @@
+package cn.lzx.blog.dto.admin;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 评论状态批量更新DTO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+public class CommentStatusBatchUpdateDTO {
+
+    /**
+     * 评论ID列表
+     */
+    @NotEmpty(message = "评论ID不能为空")
+    @Size(max = 100, message = "单次最多操作100条评论")
+    private List<Long> commentIds;
+
+    /**
+     * 状态：1正常显示，2已隐藏-待审核
+     */
+    @NotNull(message = "状态不能为空")
+    private Integer status;
+}
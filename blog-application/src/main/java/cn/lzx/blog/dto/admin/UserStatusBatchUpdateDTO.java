@@ -0,0 +1,31 @@
+package cn.lzx.blog.dto.admin;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 用户状态批量更新DTO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+public class UserStatusBatchUpdateDTO {
+
+    /**
+     * 用户ID列表
+     */
+    @NotEmpty(message = "用户ID不能为空")
+    @Size(max = 100, message = "单次最多操作100个用户")
+    private List<Long> userIds;
+
+    /**
+     * 状态：1正常，0禁用
+     */
+    @NotNull(message = "状态不能为空")
+    private Integer status;
+}
@@ -0,0 +1,38 @@
+package cn.lzx.blog.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 文章计数变更事件
+ * 浏览、点赞、评论、收藏计数写入数据库后发布，由各订阅方（ES计数同步等）在事务提交后处理
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleCounterEvent {
+
+    /**
+     * 文章ID
+     */
+    private final Long articleId;
+
+    /**
+     * 计数类型
+     */
+    private final CounterType type;
+
+    /**
+     * 变化量（可为负数）
+     */
+    private final long delta;
+
+    /**
+     * 计数类型
+     */
+    public enum CounterType {
+        VIEW, LIKE, COMMENT, COLLECT
+    }
+}
@@ -0,0 +1,122 @@
+package cn.lzx.blog.integration.es;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+import cn.lzx.blog.config.es.ElasticsearchProperties;
+import cn.lzx.blog.event.ArticleCounterEvent;
+import cn.lzx.blog.integration.lucene.LocalArticleSearch;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.entity.Article;
+import cn.lzx.enums.RedisKeyEnum;
+import cn.lzx.utils.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 文章计数ES同步器
+ * 计数变更后把文章ID记入Redis脏集合（天然去重），定时批量弹出并以局部更新写入ES，
+ * 只更新浏览、点赞、评论数三个字段，开销只与期间有变化的文章数相关
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleCounterSyncer {
+
+    private final RedisUtil redisUtil;
+    private final ArticleMapper articleMapper;
+    private final ElasticsearchUtil elasticsearchUtil;
+    private final ElasticsearchProperties elasticsearchProperties;
+    private final LocalArticleSearch localArticleSearch;
+
+    /**
+     * 记录计数有变化的文章（事务提交后执行，无事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(ArticleCounterEvent event) {
+        try {
+            redisUtil.sAdd(RedisKeyEnum.KEY_ARTICLE_COUNTER_DIRTY.getKey(), event.getArticleId());
+        } catch (Exception e) {
+            log.warn("记录文章计数变更失败: articleId={}", event.getArticleId(), e);
+        }
+    }
+
+    /**
+     * 定时把有变化的计数同步到ES
+     */
+    @Scheduled(fixedDelayString = "${spring.elasticsearch.counter-sync-interval:30000}")
+    public void syncCounters() {
+        String dirtyKey = RedisKeyEnum.KEY_ARTICLE_COUNTER_DIRTY.getKey();
+        int batchSize = Math.max(1, elasticsearchProperties.getCounterSyncBatchSize());
+        int synced = 0;
+
+        try {
+            while (true) {
+                List<Object> popped = redisUtil.sPop(dirtyKey, batchSize);
+                if (popped == null || popped.isEmpty()) {
+                    break;
+                }
+
+                List<Long> articleIds = popped.stream()
+                        .map(value -> Long.valueOf(value.toString()))
+                        .collect(Collectors.toList());
+                Set<String> failedIds;
+                try {
+                    failedIds = syncBatch(articleIds);
+                } catch (Exception e) {
+                    // 整批失败（数据库或ES客户端异常）：全部放回脏集合，下一轮再试
+                    redisUtil.sAdd(dirtyKey, articleIds.toArray());
+                    throw e;
+                }
+                synced += popped.size() - failedIds.size();
+
+                if (!failedIds.isEmpty()) {
+                    // 失败的放回脏集合，下一轮再试
+                    redisUtil.sAdd(dirtyKey, failedIds.stream().map(Long::valueOf).toArray());
+                    break;
+                }
+                if (popped.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("文章计数同步到ES失败", e);
+        }
+
+        if (synced > 0) {
+            log.debug("文章计数同步到ES完成: {} 篇", synced);
+        }
+    }
+
+    private Set<String> syncBatch(List<Long> articleIds) {
+        List<Article> articles = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getViewCount, Article::getLikeCount, Article::getCommentCount)
+                .in(Article::getId, articleIds));
+        localArticleSearch.updateCounters(articles);
+        if (Boolean.TRUE.equals(elasticsearchProperties.getLocalSearchOnly())) {
+            return Set.of();
+        }
+
+        Map<String, Map<String, Object>> partialDocs = new HashMap<>();
+        for (Article article : articles) {
+            Map<String, Object> fields = new HashMap<>();
+            fields.put("viewCount", article.getViewCount());
+            fields.put("likeCount", article.getLikeCount());
+            fields.put("commentCount", article.getCommentCount());
+            partialDocs.put(String.valueOf(article.getId()), fields);
+        }
+        return elasticsearchUtil.bulkPartialUpdate(elasticsearchProperties.getArticleIndex(), partialDocs);
+    }
+}
@@ -0,0 +1,155 @@
+package cn.lzx.blog.integration.es;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+import cn.lzx.blog.mapper.ArticleTagMapper;
+import cn.lzx.blog.mapper.TagMapper;
+import cn.lzx.blog.mapper.UserMapper;
+import cn.lzx.blog.service.CategoryService;
+import cn.lzx.blog.vo.CategoryVO;
+import cn.lzx.entity.Article;
+import cn.lzx.entity.ArticleDocument;
+import cn.lzx.entity.ArticleTag;
+import cn.lzx.entity.Tag;
+import cn.lzx.entity.User;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 文章ES文档构建器
+ * 按批次构建文档：标签、分类、作者各只查询一次，供单篇同步和批量重建索引共用
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleDocumentBuilder {
+
+    /**
+     * ES文档时间格式
+     */
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 搜索建议的状态上下文名称
+     */
+    public static final String SUGGEST_CONTEXT_STATUS = "status";
+
+    private final ArticleTagMapper articleTagMapper;
+    private final TagMapper tagMapper;
+    private final UserMapper userMapper;
+    private final CategoryService categoryService;
+
+    /**
+     * 构建单篇文章的ES文档
+     *
+     * @param article 文章
+     * @return ES文档
+     */
+    public ArticleDocument build(Article article) {
+        return build(Collections.singletonList(article)).get(0);
+    }
+
+    /**
+     * 批量构建ES文档（顺序与入参一致）
+     *
+     * @param articles 文章列表
+     * @return ES文档列表
+     */
+    public List<ArticleDocument> build(List<Article> articles) {
+        if (articles.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 1. 批量查询文章标签关联及标签
+        List<Long> articleIds = articles.stream().map(Article::getId).collect(Collectors.toList());
+        List<ArticleTag> articleTags = articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                .in(ArticleTag::getArticleId, articleIds)
+                .orderByAsc(ArticleTag::getId));
+        Map<Long, Tag> tagMap = articleTags.isEmpty()
+                ? Map.of()
+                : tagMapper.selectBatchIds(articleTags.stream().map(ArticleTag::getTagId).distinct()
+                        .collect(Collectors.toList())).stream()
+                        .collect(Collectors.toMap(Tag::getId, Function.identity()));
+        Map<Long, List<Tag>> articleTagsMap = articleTags.stream()
+                .filter(at -> tagMap.containsKey(at.getTagId()))
+                .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                        Collectors.mapping(at -> tagMap.get(at.getTagId()), Collectors.toList())));
+
+        // 2. 批量查询分类
+        List<Long> categoryIds = articles.stream().map(Article::getCategoryId).distinct()
+                .collect(Collectors.toList());
+        Map<Long, CategoryVO> categoryMap = categoryService.getCategoryMapByIds(categoryIds);
+
+        // 3. 批量查询作者
+        List<Long> userIds = articles.stream().map(Article::getUserId).distinct().collect(Collectors.toList());
+        Map<Long, User> userMap = userMapper.selectBatchIds(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // 4. 组装文档
+        List<ArticleDocument> documents = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            List<Tag> tags = articleTagsMap.getOrDefault(article.getId(), List.of());
+            List<String> tagNames = tags.stream().map(Tag::getName).collect(Collectors.toList());
+            CategoryVO category = categoryMap.get(article.getCategoryId());
+            User author = userMap.get(article.getUserId());
+
+            documents.add(ArticleDocument.builder()
+                    .id(article.getId())
+                    .title(article.getTitle())
+                    .content(article.getContent())
+                    .summary(article.getSummary())
+                    .tags(String.join(" ", tagNames)) // 标签名称用空格连接，用于搜索
+                    .tagIds(tags.stream().map(Tag::getId).collect(Collectors.toList()))
+                    .tagNames(tagNames)
+                    .categoryId(article.getCategoryId())
+                    .categoryName(category != null ? category.getName() : null)
+                    .userId(article.getUserId())
+                    .authorName(author != null
+                            ? (author.getNickname() != null ? author.getNickname() : author.getUsername())
+                            : null)
+                    .authorAvatar(author != null ? author.getAvatar() : null)
+                    .coverImage(article.getCoverImage())
+                    .viewCount(article.getViewCount())
+                    .likeCount(article.getLikeCount())
+                    .commentCount(article.getCommentCount())
+                    .status(article.getStatus())
+                    .createTime(article.getCreateTime() != null
+                            ? article.getCreateTime().format(DATE_TIME_FORMATTER)
+                            : null)
+                    .updateTime(article.getUpdateTime() != null
+                            ? article.getUpdateTime().format(DATE_TIME_FORMATTER)
+                            : null)
+                    .suggest(buildSuggest(article, tagNames))
+                    .build());
+        }
+        return documents;
+    }
+
+    /**
+     * 构建搜索建议：标题和标签名称作为输入，浏览量作为权重
+     */
+    private ArticleDocument.Suggest buildSuggest(Article article, List<String> tagNames) {
+        List<String> inputs = new ArrayList<>(tagNames.size() + 1);
+        if (article.getTitle() != null) {
+            inputs.add(article.getTitle());
+        }
+        inputs.addAll(tagNames);
+        int viewCount = article.getViewCount() != null ? article.getViewCount() : 0;
+        return ArticleDocument.Suggest.builder()
+                .input(inputs)
+                .weight(Math.max(viewCount, 0))
+                .contexts(Map.of(SUGGEST_CONTEXT_STATUS, List.of(String.valueOf(article.getStatus()))))
+                .build();
+    }
+}
@@ -0,0 +1,294 @@
+package cn.lzx.blog.integration.es;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.lzx.blog.config.es.ElasticsearchProperties;
+import cn.lzx.blog.integration.lucene.LocalArticleSearch;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.blog.mapper.EsIndexPendingMapper;
+import cn.lzx.constants.CommonConstants;
+import cn.lzx.entity.Article;
+import cn.lzx.entity.ArticleDocument;
+import cn.lzx.entity.EsIndexPending;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 文章增量索引器
+ * - 业务事务内登记到 es_index_pending 表，事务提交后才加入内存队列，回滚的改动不会被索引
+ * - 定时刷写：同一间隔内同一文章的多次变更合并为一次，按当前数据库状态写入或删除，整批一个 bulk 请求
+ * - 失败按指数退避重试，超过次数后保留待索引记录，由定时扫描待索引表重新加入队列（应用重启时同样补齐）
+ * - 每批写入成功后自增索引代数，使搜索结果缓存失效，并登记重新计算相关文章
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleIndexer {
+
+    private final ElasticsearchUtil elasticsearchUtil;
+    private final ElasticsearchProperties elasticsearchProperties;
+    private final ArticleDocumentBuilder articleDocumentBuilder;
+    private final ArticleMapper articleMapper;
+    private final EsIndexPendingMapper esIndexPendingMapper;
+    private final SearchResultCache searchResultCache;
+    private final LocalArticleSearch localArticleSearch;
+    private final RelatedArticleRecommender relatedArticleRecommender;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 待刷写的文章ID（Set 天然合并重复变更）
+     */
+    private final Set<Long> dirtyArticleIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 重试状态（仅由刷写线程访问）
+     */
+    private final Map<Long, RetryState> retryStates = new HashMap<>();
+
+    /**
+     * 登记文章变更（在业务事务内调用）
+     *
+     * @param articleId 文章ID
+     */
+    public void enqueue(Long articleId) {
+        esIndexPendingMapper.upsert(articleId, LocalDateTime.now());
+        runAfterCommit(() -> dirtyArticleIds.add(articleId));
+    }
+
+    /**
+     * 批量登记文章变更（在业务事务内调用，一条语句写入待索引表，刷写时合并为一个 bulk 请求）
+     *
+     * @param articleIds 文章ID
+     */
+    public void enqueueAll(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        esIndexPendingMapper.upsertBatch(articleIds, LocalDateTime.now());
+        List<Long> ids = new ArrayList<>(articleIds);
+        runAfterCommit(() -> dirtyArticleIds.addAll(ids));
+    }
+
+    /**
+     * 重新加载待索引表中的全部记录（应用启动时调用）
+     */
+    public void recoverPending() {
+        List<Long> articleIds = selectPending(null);
+        dirtyArticleIds.addAll(articleIds);
+        if (!articleIds.isEmpty()) {
+            log.info("从待索引表恢复 {} 篇文章的索引任务", articleIds.size());
+        }
+    }
+
+    /**
+     * 定时扫描待索引表：登记时间早于一个扫描间隔、且不在内存重试中的记录重新加入队列，
+     * 重试次数耗尽（如ES长时间不可用）的文章在ES恢复后由此补齐，不必等到重启
+     */
+    @Scheduled(initialDelayString = "${spring.elasticsearch.index-pending-sweep-interval:300000}",
+            fixedDelayString = "${spring.elasticsearch.index-pending-sweep-interval:300000}")
+    public synchronized void sweepPending() {
+        LocalDateTime before = LocalDateTime.now()
+                .minus(Duration.ofMillis(elasticsearchProperties.getIndexPendingSweepInterval()));
+        List<Long> articleIds = selectPending(before).stream()
+                .filter(articleId -> !retryStates.containsKey(articleId))
+                .collect(Collectors.toList());
+        dirtyArticleIds.addAll(articleIds);
+        if (!articleIds.isEmpty()) {
+            log.info("待索引表中有 {} 篇文章超时未完成索引，重新加入队列", articleIds.size());
+        }
+    }
+
+    /**
+     * 查询待索引表中的文章ID
+     *
+     * @param before 只查询登记时间不晚于该时间的记录，为null时查询全部
+     */
+    private List<Long> selectPending(LocalDateTime before) {
+        return esIndexPendingMapper.selectList(new LambdaQueryWrapper<EsIndexPending>()
+                        .select(EsIndexPending::getArticleId)
+                        .le(before != null, EsIndexPending::getUpdateTime, before))
+                .stream()
+                .map(EsIndexPending::getArticleId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 定时刷写待索引文章
+     */
+    @Scheduled(fixedDelayString = "${spring.elasticsearch.index-flush-interval:1000}")
+    public synchronized void flush() {
+        if (dirtyArticleIds.isEmpty()) {
+            return;
+        }
+
+        int batchSize = Math.max(1, elasticsearchProperties.getIndexBatchSize());
+        long now = System.currentTimeMillis();
+        List<Long> deferred = new ArrayList<>();
+        List<Long> batch = new ArrayList<>(batchSize);
+
+        for (Long articleId : dirtyArticleIds) {
+            if (!dirtyArticleIds.remove(articleId)) {
+                continue;
+            }
+            RetryState retryState = retryStates.get(articleId);
+            if (retryState != null && retryState.nextAttemptAt > now) {
+                deferred.add(articleId);
+                continue;
+            }
+            batch.add(articleId);
+            if (batch.size() >= batchSize) {
+                indexBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            indexBatch(batch);
+        }
+        dirtyArticleIds.addAll(deferred);
+    }
+
+    /**
+     * 按数据库当前状态写入一批文章：
+     * ES索引保存全部未删除的文章（含草稿和屏蔽文章，供后台搜索，前台查询按状态过滤），已删除的从索引删除；
+     * 本地降级索引和相关文章只处理已发布的文章
+     */
+    private void indexBatch(List<Long> articleIds) {
+        String indexName = elasticsearchProperties.getArticleIndex();
+        LocalDateTime readTime = LocalDateTime.now();
+        Set<String> failedIds;
+        Set<Long> publishedIds = new HashSet<>();
+
+        try {
+            Map<Long, Article> existing = articleMapper.selectBatchIds(articleIds).stream()
+                    .collect(Collectors.toMap(Article::getId, Function.identity()));
+            existing.values().stream()
+                    .filter(article -> article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED)
+                    .forEach(article -> publishedIds.add(article.getId()));
+
+            List<ArticleDocument> built = articleDocumentBuilder.build(new ArrayList<>(existing.values()));
+            List<Long> removedIds = articleIds.stream()
+                    .filter(id -> !existing.containsKey(id))
+                    .collect(Collectors.toList());
+            List<Long> unpublishedIds = articleIds.stream()
+                    .filter(id -> !publishedIds.contains(id))
+                    .collect(Collectors.toList());
+
+            // 本地降级索引与ES使用同一批数据（只保留已发布的文章）
+            localArticleSearch.apply(built.stream()
+                    .filter(document -> publishedIds.contains(document.getId()))
+                    .collect(Collectors.toList()), unpublishedIds);
+            if (Boolean.TRUE.equals(elasticsearchProperties.getLocalSearchOnly())) {
+                esIndexPendingMapper.deleteIndexed(articleIds, readTime);
+                relatedArticleRecommender.markDirty(publishedIds);
+                relatedArticleRecommender.remove(unpublishedIds);
+                return;
+            }
+
+            Map<String, String> documents = new LinkedHashMap<>();
+            for (ArticleDocument document : built) {
+                documents.put(String.valueOf(document.getId()), objectMapper.writeValueAsString(document));
+            }
+            List<String> deleteIds = removedIds.stream().map(String::valueOf).collect(Collectors.toList());
+
+            failedIds = elasticsearchUtil.bulkIndexAndDelete(indexName, documents, deleteIds);
+        } catch (Exception e) {
+            log.error("文章增量索引失败: size={}", articleIds.size(), e);
+            failedIds = articleIds.stream().map(String::valueOf).collect(Collectors.toSet());
+        }
+
+        List<Long> succeeded = new ArrayList<>(articleIds.size());
+        List<Long> succeededPublished = new ArrayList<>();
+        List<Long> succeededUnpublished = new ArrayList<>();
+        for (Long articleId : articleIds) {
+            if (failedIds.contains(String.valueOf(articleId))) {
+                scheduleRetry(articleId);
+            } else {
+                retryStates.remove(articleId);
+                succeeded.add(articleId);
+                if (publishedIds.contains(articleId)) {
+                    succeededPublished.add(articleId);
+                } else {
+                    succeededUnpublished.add(articleId);
+                }
+            }
+        }
+        if (!succeeded.isEmpty()) {
+            // 索引内容已变化，淘汰搜索结果缓存
+            searchResultCache.bumpGeneration();
+            esIndexPendingMapper.deleteIndexed(succeeded, readTime);
+            // 文档已写入索引，相关文章的 more_like_this 查询可以读到最新内容
+            relatedArticleRecommender.markDirty(succeededPublished);
+            relatedArticleRecommender.remove(succeededUnpublished);
+            log.debug("文章增量索引完成: success={}, failed={}", succeeded.size(), articleIds.size() - succeeded.size());
+        }
+    }
+
+    private void scheduleRetry(Long articleId) {
+        RetryState retryState = retryStates.computeIfAbsent(articleId, id -> new RetryState());
+        retryState.attempts++;
+        if (retryState.attempts > elasticsearchProperties.getIndexMaxRetries()) {
+            // 放弃内存重试，待索引记录保留，由定时扫描重新加入队列
+            retryStates.remove(articleId);
+            log.error("文章索引重试次数耗尽，等待待索引表扫描后重试: articleId={}", articleId);
+            return;
+        }
+        long backoff = Math.min(elasticsearchProperties.getIndexRetryBackoff() << (retryState.attempts - 1),
+                elasticsearchProperties.getIndexRetryMaxBackoff());
+        retryState.nextAttemptAt = System.currentTimeMillis() + backoff;
+        dirtyArticleIds.add(articleId);
+        log.warn("文章索引失败，{} ms 后第 {} 次重试: articleId={}", backoff, retryState.attempts, articleId);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 停机前刷写剩余任务（未完成的仍保留在待索引表中）
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 单篇文章的重试状态
+     */
+    private static class RetryState {
+        private int attempts;
+        private long nextAttemptAt;
+    }
+}
@@ -2,11 +2,17 @@ package cn.lzx.blog.integration.es;
 
 import cn.lzx.blog.config.es.ElasticsearchProperties;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
 import co.elastic.clients.elasticsearch.core.*;
 import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.CompletionContext;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch.core.search.HitsMetadata;
+import co.elastic.clients.elasticsearch.core.search.Suggestion;
 import co.elastic.clients.elasticsearch.indices.*;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,9 +21,11 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Elasticsearch 工具类
@@ -37,6 +45,12 @@ public class ElasticsearchUtil {
     private final ElasticsearchProperties elasticsearchProperties;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    /**
+     * 高亮标签
+     */
+    public static final String HIGHLIGHT_PRE_TAG = "<em class='highlight'>";
+    public static final String HIGHLIGHT_POST_TAG = "</em>";
+
     /**
      * 创建索引
      *
@@ -79,6 +93,131 @@ public class ElasticsearchUtil {
         }
     }
 
+    /**
+     * 更新索引映射（仅支持新增字段）
+     *
+     * @param indexName 索引名称
+     * @param mapping   映射配置 JSON 字符串（properties 所在的 mappings 节点）
+     * @return 是否成功
+     */
+    public boolean putMapping(String indexName, String mapping) {
+        try {
+            PutMappingResponse response = elasticsearchClient.indices().putMapping(p -> p
+                    .index(indexName)
+                    .withJson(new StringReader(mapping))
+            );
+            log.info("更新索引映射成功: {}", indexName);
+            return response.acknowledged();
+        } catch (IOException e) {
+            log.error("更新索引映射失败: {}", indexName, e);
+            return false;
+        }
+    }
+
+    /**
+     * 判断别名是否存在
+     *
+     * @param aliasName 别名
+     * @return 是否存在
+     */
+    public boolean aliasExists(String aliasName) {
+        try {
+            return elasticsearchClient.indices().existsAlias(e -> e.name(aliasName)).value();
+        } catch (IOException e) {
+            log.error("检查别名是否存在失败: {}", aliasName, e);
+            return false;
+        }
+    }
+
+    /**
+     * 查询别名当前指向的索引
+     *
+     * @param aliasName 别名
+     * @return 索引名称集合（别名不存在时为空）
+     */
+    public Set<String> getAliasIndices(String aliasName) {
+        if (!aliasExists(aliasName)) {
+            return Set.of();
+        }
+        try {
+            return new HashSet<>(elasticsearchClient.indices().getAlias(g -> g.name(aliasName)).result().keySet());
+        } catch (IOException e) {
+            log.error("查询别名指向的索引失败: {}", aliasName, e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * 原子切换别名：别名指向新索引，同时解除旧索引
+     *
+     * @param aliasName       别名
+     * @param newIndex        新索引
+     * @param oldIndices      别名原先指向的索引
+     * @param concreteIndex   与别名同名的旧物理索引（首次迁移到别名时在同一请求中删除，否则传null）
+     * @return 是否成功
+     */
+    public boolean switchAlias(String aliasName, String newIndex, Collection<String> oldIndices, String concreteIndex) {
+        try {
+            List<Action> actions = new ArrayList<>();
+            if (concreteIndex != null) {
+                actions.add(Action.of(a -> a.removeIndex(r -> r.index(concreteIndex))));
+            }
+            for (String oldIndex : oldIndices) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(oldIndex).alias(aliasName))));
+            }
+            actions.add(Action.of(a -> a.add(ad -> ad.index(newIndex).alias(aliasName))));
+
+            UpdateAliasesResponse response = elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+            log.info("别名切换成功: {} -> {}", aliasName, newIndex);
+            return response.acknowledged();
+        } catch (IOException e) {
+            log.error("别名切换失败: {} -> {}", aliasName, newIndex, e);
+            return false;
+        }
+    }
+
+    /**
+     * 更新索引的刷新间隔和副本数（批量写入前关闭刷新和副本，写入后恢复）
+     *
+     * @param indexName       索引名称
+     * @param refreshInterval 刷新间隔，"-1" 表示关闭
+     * @param numberOfReplicas 副本数
+     * @return 是否成功
+     */
+    public boolean updateIndexSettings(String indexName, String refreshInterval, int numberOfReplicas) {
+        try {
+            PutIndicesSettingsResponse response = elasticsearchClient.indices().putSettings(p -> p
+                    .index(indexName)
+                    .settings(s -> s
+                            .refreshInterval(t -> t.time(refreshInterval))
+                            .numberOfReplicas(String.valueOf(numberOfReplicas))
+                    )
+            );
+            log.info("更新索引设置成功: {} -> refreshInterval={}, replicas={}",
+                    indexName, refreshInterval, numberOfReplicas);
+            return response.acknowledged();
+        } catch (IOException e) {
+            log.error("更新索引设置失败: {}", indexName, e);
+            return false;
+        }
+    }
+
+    /**
+     * 刷新索引，使已写入的文档可被搜索
+     *
+     * @param indexName 索引名称
+     * @return 是否成功
+     */
+    public boolean refreshIndex(String indexName) {
+        try {
+            elasticsearchClient.indices().refresh(r -> r.index(indexName));
+            return true;
+        } catch (IOException e) {
+            log.error("刷新索引失败: {}", indexName, e);
+            return false;
+        }
+    }
+
     /**
      * 删除索引
      *
@@ -191,9 +330,12 @@ public class ElasticsearchUtil {
      *
      * @param indexName 索引名称
      * @param dataList  文档数据列表 (key: documentId, value: jsonData)
-     * @return 是否成功
+     * @return 写入失败的文档数（0 表示全部成功）
      */
-    public boolean bulkAddDocuments(String indexName, Map<String, String> dataList) {
+    public int bulkAddDocuments(String indexName, Map<String, String> dataList) {
+        if (dataList.isEmpty()) {
+            return 0;
+        }
         try {
             List<BulkOperation> bulkOperations = new ArrayList<>();
 
@@ -212,120 +354,304 @@ public class ElasticsearchUtil {
                     .operations(bulkOperations)
             );
 
-            log.info("批量添加文档成功: {} -> {} 条", indexName, dataList.size());
-            return !response.errors();
+            if (!response.errors()) {
+                log.debug("批量添加文档成功: {} -> {} 条", indexName, dataList.size());
+                return 0;
+            }
+            int failed = 0;
+            for (BulkResponseItem item : response.items()) {
+                if (item.error() != null) {
+                    failed++;
+                    log.warn("批量添加文档部分失败: {} -> {}, reason={}", indexName, item.id(), item.error().reason());
+                }
+            }
+            return failed;
         } catch (IOException e) {
             log.error("批量添加文档失败: {}", indexName, e);
-            return false;
+            return dataList.size();
         }
     }
 
     /**
-     * 全文搜索(支持高亮)
+     * 批量写入和删除文档（一次bulk请求）
      *
-     * @param indexName       索引名称
-     * @param keyword         搜索关键词
-     * @param searchFields    搜索字段列表
-     * @param highlightFields 高亮字段列表
-     * @param from            起始位置(分页)
-     * @param size            每页数量
-     * @return 搜索结果列表
+     * @param indexName  索引名称
+     * @param documents  待写入文档 (key: documentId, value: jsonData)
+     * @param deleteIds  待删除文档ID（文档不存在不视为失败）
+     * @return 处理失败的文档ID集合（空集合表示全部成功）
      */
-    public List<Map<String, Object>> search(String indexName, String keyword, String[] searchFields,
-                                             String[] highlightFields, int from, int size) {
-        SearchResult result = searchWithTotal(indexName, keyword, searchFields, highlightFields, from, size);
-        return result.getResults();
+    public Set<String> bulkIndexAndDelete(String indexName, Map<String, String> documents, Collection<String> deleteIds) {
+        if (documents.isEmpty() && deleteIds.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            List<BulkOperation> bulkOperations = new ArrayList<>(documents.size() + deleteIds.size());
+            documents.forEach((documentId, jsonData) -> bulkOperations.add(BulkOperation.of(b -> b
+                    .index(i -> i
+                            .index(indexName)
+                            .id(documentId)
+                            .withJson(new StringReader(jsonData))
+                    )
+            )));
+            for (String documentId : deleteIds) {
+                bulkOperations.add(BulkOperation.of(b -> b.delete(d -> d.index(indexName).id(documentId))));
+            }
+
+            BulkResponse response = elasticsearchClient.bulk(r -> r
+                    .index(indexName)
+                    .operations(bulkOperations)
+            );
+
+            Set<String> failedIds = new HashSet<>();
+            if (response.errors()) {
+                for (BulkResponseItem item : response.items()) {
+                    if (item.error() != null) {
+                        failedIds.add(item.id());
+                        log.warn("批量写入文档部分失败: {} -> {}, reason={}", indexName, item.id(), item.error().reason());
+                    }
+                }
+            }
+            log.debug("批量写入文档完成: {} -> 写入 {} 条, 删除 {} 条, 失败 {} 条",
+                    indexName, documents.size(), deleteIds.size(), failedIds.size());
+            return failedIds;
+        } catch (IOException e) {
+            log.error("批量写入文档失败: {}", indexName, e);
+            Set<String> failedIds = new HashSet<>(documents.keySet());
+            failedIds.addAll(deleteIds);
+            return failedIds;
+        }
     }
 
     /**
-     * 全文搜索(支持高亮，返回总数)
+     * 批量局部更新文档（只更新给定字段，不重建整个文档）
      *
-     * @param indexName       索引名称
-     * @param keyword         搜索关键词
-     * @param searchFields    搜索字段列表
-     * @param highlightFields 高亮字段列表
-     * @param from            起始位置(分页)
-     * @param size            每页数量
-     * @return 搜索结果（包含结果列表和总数）
+     * @param indexName   索引名称
+     * @param partialDocs 待更新字段 (key: documentId, value: 字段名 -> 字段值)
+     * @return 更新失败的文档ID集合（文档不存在不视为失败）
      */
-    @SuppressWarnings("unchecked")
-    public SearchResult searchWithTotal(String indexName, String keyword, String[] searchFields,
-                                        String[] highlightFields, int from, int size) {
+    public Set<String> bulkPartialUpdate(String indexName, Map<String, Map<String, Object>> partialDocs) {
+        if (partialDocs.isEmpty()) {
+            return Set.of();
+        }
         try {
-            SearchResponse<Map<String, Object>> response = elasticsearchClient.search(s -> {
-                // 基本查询配置
-                s.index(indexName)
-                 .from(from)
-                 .size(size)
-                 .query(q -> q
-                         .multiMatch(m -> m
-                                 .query(keyword)
-                                 .fields(List.of(searchFields))
-                         )
-                 );
-
-                // 添加高亮配置
-                if (highlightFields != null && highlightFields.length > 0) {
-                    s.highlight(h -> {
-                        h.preTags("<em class='highlight'>")
-                         .postTags("</em>");
-
-                        for (String field : highlightFields) {
-                            h.fields(field, f -> f);
-                        }
-                        return h;
-                    });
+            List<BulkOperation> bulkOperations = new ArrayList<>(partialDocs.size());
+            partialDocs.forEach((documentId, fields) -> bulkOperations.add(BulkOperation.of(b -> b
+                    .update(u -> u
+                            .index(indexName)
+                            .id(documentId)
+                            .action(a -> a.doc(fields))
+                    )
+            )));
+
+            BulkResponse response = elasticsearchClient.bulk(r -> r
+                    .index(indexName)
+                    .operations(bulkOperations)
+            );
+
+            Set<String> failedIds = new HashSet<>();
+            if (response.errors()) {
+                for (BulkResponseItem item : response.items()) {
+                    // 404：文档未被索引（如未发布的文章），无需重试
+                    if (item.error() != null && item.status() != 404) {
+                        failedIds.add(item.id());
+                        log.warn("批量局部更新文档部分失败: {} -> {}, reason={}", indexName, item.id(), item.error().reason());
+                    }
                 }
+            }
+            log.debug("批量局部更新文档完成: {} -> {} 条, 失败 {} 条", indexName, partialDocs.size(), failedIds.size());
+            return failedIds;
+        } catch (IOException e) {
+            log.error("批量局部更新文档失败: {}", indexName, e);
+            return new HashSet<>(partialDocs.keySet());
+        }
+    }
+
+    /**
+     * 类型化搜索(文档直接反序列化为实体，失败时抛出异常由调用方处理)
+     *
+     * @param request       搜索请求
+     * @param documentClass 文档实体类型
+     * @return 搜索结果（包含命中文档、高亮、排序值和总数）
+     */
+    public <T> DocumentSearchResult<T> searchDocuments(SearchRequest request, Class<T> documentClass)
+            throws IOException {
+        SearchResponse<T> response = elasticsearchClient.search(request, documentClass);
+
+        HitsMetadata<T> hits = response.hits();
+        long total = hits.total() != null ? hits.total().value() : 0;
+        List<DocumentHit<T>> documentHits = new ArrayList<>(hits.hits().size());
+        for (Hit<T> hit : hits.hits()) {
+            if (hit.source() == null) {
+                continue;
+            }
+            documentHits.add(new DocumentHit<>(hit.source(),
+                    hit.highlight() != null ? hit.highlight() : Map.of(),
+                    hit.sort()));
+        }
+
+        log.debug("搜索成功: {} -> 结果数: {}, 总数: {}", request.index(), documentHits.size(), total);
+        return new DocumentSearchResult<>(documentHits, total, response.pitId(), response.aggregations());
+    }
 
-                return s;
-            }, (Class<Map<String, Object>>) (Class<?>) Map.class);
+    /**
+     * 搜索并只返回命中文档ID（不读取文档内容）
+     *
+     * @param request 搜索请求
+     * @return 文档ID列表（按命中顺序）
+     */
+    public List<String> searchIds(SearchRequest request) throws IOException {
+        SearchResponse<Void> response = elasticsearchClient.search(request, Void.class);
+        List<String> ids = new ArrayList<>(response.hits().hits().size());
+        for (Hit<Void> hit : response.hits().hits()) {
+            ids.add(hit.id());
+        }
+        return ids;
+    }
 
-            // 解析结果
-            List<Map<String, Object>> resultList = new ArrayList<>();
-            HitsMetadata<Map<String, Object>> hits = response.hits();
-            long total = hits.total() != null ? hits.total().value() : 0;
+    /**
+     * 打开时间点（PIT），后续分页在同一快照上查询，期间的写入不影响结果顺序
+     *
+     * @param indexName 索引名称或别名
+     * @param keepAlive 保持时间（如 "2m"），每次查询会续期
+     * @return PIT ID
+     */
+    public String openPointInTime(String indexName, String keepAlive) throws IOException {
+        OpenPointInTimeResponse response = elasticsearchClient.openPointInTime(o -> o
+                .index(indexName)
+                .keepAlive(t -> t.time(keepAlive)));
+        return response.id();
+    }
 
-            for (Hit<Map<String, Object>> hit : hits.hits()) {
-                Map<String, Object> sourceMap = new HashMap<>(hit.source());
+    /**
+     * 关闭时间点（失败时忽略，过期后ES会自动释放）
+     *
+     * @param pitId PIT ID
+     */
+    public void closePointInTime(String pitId) {
+        try {
+            elasticsearchClient.closePointInTime(c -> c.id(pitId));
+        } catch (Exception e) {
+            log.debug("关闭PIT失败（可能已过期）: {}", e.getMessage());
+        }
+    }
 
-                // 处理高亮结果
-                if (hit.highlight() != null && !hit.highlight().isEmpty()) {
-                    hit.highlight().forEach((key, value) -> {
-                        if (!value.isEmpty()) {
-                            sourceMap.put(key, value.get(0));
-                        }
-                    });
+    /**
+     * completion 前缀建议(只返回建议文本，不返回文档)
+     *
+     * @param indexName    索引名称
+     * @param field        completion 字段
+     * @param prefix       输入前缀
+     * @param size         返回数量
+     * @param contextName  上下文名称（为null时不按上下文过滤）
+     * @param contextValue 上下文取值
+     * @return 建议文本列表
+     */
+    public List<String> completionSuggest(String indexName, String field, String prefix, int size,
+                                          String contextName, String contextValue) throws IOException {
+        String suggestName = field + "-completion";
+        SearchResponse<Void> response = elasticsearchClient.search(s -> s
+                .index(indexName)
+                .size(0)
+                .source(src -> src.fetch(false))
+                .suggest(sg -> sg.suggesters(suggestName, fs -> fs
+                        .prefix(prefix)
+                        .completion(c -> {
+                            c.field(field).size(size).skipDuplicates(true);
+                            if (contextName != null) {
+                                c.contexts(contextName, List.of(CompletionContext.of(cc -> cc
+                                        .context(ctx -> ctx.category(contextValue)))));
+                            }
+                            return c;
+                        }))),
+                Void.class);
+
+        List<String> texts = new ArrayList<>();
+        List<Suggestion<Void>> suggestions = response.suggest().get(suggestName);
+        if (suggestions != null) {
+            for (Suggestion<Void> suggestion : suggestions) {
+                if (suggestion.isCompletion()) {
+                    suggestion.completion().options().forEach(option -> texts.add(option.text()));
                 }
-
-                resultList.add(sourceMap);
             }
-
-            log.debug("搜索成功: {} -> 关键词: {}, 结果数: {}, 总数: {}", indexName, keyword, resultList.size(), total);
-            return new SearchResult(resultList, total);
-        } catch (IOException e) {
-            log.error("搜索失败: {} -> 关键词: {}", indexName, keyword, e);
-            return new SearchResult(new ArrayList<>(), 0);
         }
+        return texts;
     }
 
     /**
-     * 搜索结果包装类
+     * 类型化搜索结果
      */
-    public static class SearchResult {
-        private final List<Map<String, Object>> results;
+    public static class DocumentSearchResult<T> {
+        private final List<DocumentHit<T>> hits;
         private final long total;
+        private final String pitId;
+        private final Map<String, Aggregate> aggregations;
+
+        public DocumentSearchResult(List<DocumentHit<T>> hits, long total, String pitId) {
+            this(hits, total, pitId, Map.of());
+        }
 
-        public SearchResult(List<Map<String, Object>> results, long total) {
-            this.results = results;
+        public DocumentSearchResult(List<DocumentHit<T>> hits, long total, String pitId,
+                                    Map<String, Aggregate> aggregations) {
+            this.hits = hits;
             this.total = total;
+            this.pitId = pitId;
+            this.aggregations = aggregations != null ? aggregations : Map.of();
         }
 
-        public List<Map<String, Object>> getResults() {
-            return results;
+        public List<DocumentHit<T>> getHits() {
+            return hits;
         }
 
         public long getTotal() {
             return total;
         }
+
+        /**
+         * 使用PIT查询时返回的最新PIT ID（下一页应使用该ID）
+         */
+        public String getPitId() {
+            return pitId;
+        }
+
+        /**
+         * 聚合结果（请求未包含聚合时为空）
+         */
+        public Map<String, Aggregate> getAggregations() {
+            return aggregations;
+        }
+    }
+
+    /**
+     * 类型化命中文档
+     */
+    public static class DocumentHit<T> {
+        private final T source;
+        private final Map<String, List<String>> highlight;
+        private final List<FieldValue> sortValues;
+
+        public DocumentHit(T source, Map<String, List<String>> highlight, List<FieldValue> sortValues) {
+            this.source = source;
+            this.highlight = highlight;
+            this.sortValues = sortValues;
+        }
+
+        public T getSource() {
+            return source;
+        }
+
+        /**
+         * 获取字段的第一个高亮片段
+         *
+         * @param field 字段名
+         * @return 高亮片段，无高亮时返回null
+         */
+        public String getHighlight(String field) {
+            List<String> fragments = highlight.get(field);
+            return fragments != null && !fragments.isEmpty() ? fragments.get(0) : null;
+        }
+
+        public List<FieldValue> getSortValues() {
+            return sortValues;
+        }
     }
 }
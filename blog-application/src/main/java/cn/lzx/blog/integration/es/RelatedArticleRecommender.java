@@ -0,0 +1,310 @@
+package cn.lzx.blog.integration.es;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+import cn.hutool.core.util.IdUtil;
+import cn.lzx.blog.config.es.ElasticsearchProperties;
+import cn.lzx.blog.dto.IdCountDTO;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.blog.mapper.ArticleTagMapper;
+import cn.lzx.constants.CommonConstants;
+import cn.lzx.entity.Article;
+import cn.lzx.entity.ArticleTag;
+import cn.lzx.enums.RedisKeyEnum;
+import cn.lzx.utils.RedisUtil;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 相关文章预计算
+ * 按标签重合、同分类和标题摘要的 more_like_this 相似度为每篇已发布文章计算相关文章，
+ * 结果以ID列表存入Redis，文章详情页直接读取，浏览时不再发起搜索。
+ * - 文章发布或标签变更后由增量索引器登记，定时批量刷新
+ * - ES不可用时退化为数据库的标签重合 + 同分类补足
+ * - 每天全量刷新一次，补齐被其他文章变化影响的推荐
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RelatedArticleRecommender {
+
+    /**
+     * 每篇文章保存的相关文章数量
+     */
+    public static final int RELATED_SIZE = 6;
+
+    /**
+     * 标签重合的权重（高于分类和文本相似度）
+     */
+    private static final float TAG_BOOST = 3.0F;
+
+    /**
+     * 同分类的权重
+     */
+    private static final float CATEGORY_BOOST = 1.0F;
+
+    /**
+     * 全量刷新每批文章数
+     */
+    private static final int FULL_REFRESH_BATCH_SIZE = 200;
+
+    private final ElasticsearchUtil elasticsearchUtil;
+    private final ElasticsearchProperties elasticsearchProperties;
+    private final SearchCircuitBreaker searchCircuitBreaker;
+    private final ArticleMapper articleMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final RedisUtil redisUtil;
+
+    /**
+     * 待刷新的文章ID
+     */
+    private final Set<Long> dirtyArticleIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 全量刷新线程（逐篇查询耗时较长，不占用定时任务线程）
+     */
+    private final ExecutorService fullRefreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "related-full-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 全量刷新是否正在执行（上一次未完成时跳过本次）
+     */
+    private final AtomicBoolean fullRefreshRunning = new AtomicBoolean();
+
+    /**
+     * 登记需要重新计算相关文章的文章（应在文章写入索引后调用，more_like_this 需读取索引中的文档）
+     *
+     * @param articleIds 文章ID
+     */
+    public void markDirty(Collection<Long> articleIds) {
+        dirtyArticleIds.addAll(articleIds);
+    }
+
+    /**
+     * 删除文章的相关推荐（文章下线或删除时调用）
+     *
+     * @param articleIds 文章ID
+     */
+    public void remove(Collection<Long> articleIds) {
+        for (Long articleId : articleIds) {
+            dirtyArticleIds.remove(articleId);
+            redisUtil.delete(RedisKeyEnum.KEY_ARTICLE_RELATED.getKey(articleId));
+        }
+    }
+
+    /**
+     * 定时刷新已登记的文章
+     */
+    @Scheduled(fixedDelayString = "${spring.elasticsearch.related-refresh-interval:5000}")
+    public void refreshDirty() {
+        if (dirtyArticleIds.isEmpty()) {
+            return;
+        }
+        List<Long> articleIds = new ArrayList<>();
+        for (Long articleId : dirtyArticleIds) {
+            if (dirtyArticleIds.remove(articleId)) {
+                articleIds.add(articleId);
+            }
+        }
+        refresh(articleIds);
+    }
+
+    /**
+     * 全量刷新全部已发布文章的相关推荐（提交到独立线程执行）
+     * 每天凌晨1点30分执行
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    public void refreshAll() {
+        if (!fullRefreshRunning.compareAndSet(false, true)) {
+            log.warn("相关文章全量刷新仍在执行，跳过本次");
+            return;
+        }
+        fullRefreshExecutor.execute(() -> {
+            try {
+                doRefreshAll();
+            } catch (Exception e) {
+                log.error("相关文章全量刷新失败", e);
+            } finally {
+                fullRefreshRunning.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdownFullRefreshExecutor() {
+        fullRefreshExecutor.shutdownNow();
+    }
+
+    private void doRefreshAll() {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> batch = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                            .select(Article::getId)
+                            .eq(Article::getStatus, CommonConstants.ARTICLE_STATUS_PUBLISHED)
+                            .gt(Article::getId, lastId)
+                            .orderByAsc(Article::getId)
+                            .last("LIMIT " + FULL_REFRESH_BATCH_SIZE))
+                    .stream()
+                    .map(Article::getId)
+                    .collect(Collectors.toList());
+            if (batch.isEmpty()) {
+                break;
+            }
+            refresh(batch);
+            total += batch.size();
+            lastId = batch.get(batch.size() - 1);
+        }
+        log.info("相关文章全量刷新完成: {} 篇文章，耗时 {} ms", total, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 重新计算一批文章的相关推荐（非已发布的文章直接删除推荐）
+     */
+    private void refresh(List<Long> articleIds) {
+        List<Article> articles = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getCategoryId, Article::getStatus)
+                .in(Article::getId, articleIds));
+        Set<Long> found = articles.stream().map(Article::getId).collect(Collectors.toSet());
+        List<Long> removed = articleIds.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+
+        for (Article article : articles) {
+            if (article.getStatus() != CommonConstants.ARTICLE_STATUS_PUBLISHED) {
+                removed.add(article.getId());
+                continue;
+            }
+            try {
+                save(article.getId(), computeRelated(article));
+            } catch (Exception e) {
+                log.warn("计算相关文章失败: articleId={}", article.getId(), e);
+            }
+        }
+        if (!removed.isEmpty()) {
+            remove(removed);
+        }
+    }
+
+    /**
+     * 计算单篇文章的相关文章：优先ES相似度查询，失败时退化为数据库查询
+     */
+    private List<Long> computeRelated(Article article) {
+        List<Long> tagIds = articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                        .select(ArticleTag::getTagId)
+                        .eq(ArticleTag::getArticleId, article.getId()))
+                .stream()
+                .map(ArticleTag::getTagId)
+                .collect(Collectors.toList());
+
+        if (!Boolean.TRUE.equals(elasticsearchProperties.getLocalSearchOnly()) && searchCircuitBreaker.allowRequest()) {
+            try {
+                List<Long> related = searchRelated(article, tagIds);
+                searchCircuitBreaker.recordSuccess();
+                return related;
+            } catch (Exception e) {
+                searchCircuitBreaker.recordFailure();
+                log.warn("ES相关文章查询失败，改用数据库计算: articleId={}", article.getId(), e);
+            }
+        }
+        return queryRelated(article);
+    }
+
+    /**
+     * ES查询：标签重合、同分类、标题摘要相似度任一命中即可，三者加权共同评分
+     */
+    private List<Long> searchRelated(Article article, List<Long> tagIds) throws Exception {
+        String indexName = elasticsearchProperties.getArticleIndex();
+        String articleId = String.valueOf(article.getId());
+        SearchRequest request = SearchRequest.of(s -> s
+                .index(indexName)
+                .size(RELATED_SIZE)
+                .source(src -> src.fetch(false))
+                .query(q -> q.bool(b -> {
+                    b.should(sh -> sh.moreLikeThis(mlt -> mlt
+                            .fields(List.of("title", "summary"))
+                            .like(l -> l.document(d -> d.index(indexName).id(articleId)))
+                            .minTermFreq(1)
+                            .minDocFreq(1)
+                            .maxQueryTerms(25)));
+                    if (!tagIds.isEmpty()) {
+                        b.should(sh -> sh.terms(t -> t
+                                .field("tagIds")
+                                .terms(v -> v.value(tagIds.stream().map(FieldValue::of).collect(Collectors.toList())))
+                                .boost(TAG_BOOST)));
+                    }
+                    if (article.getCategoryId() != null) {
+                        b.should(sh -> sh.term(t -> t
+                                .field("categoryId")
+                                .value(article.getCategoryId())
+                                .boost(CATEGORY_BOOST)));
+                    }
+                    b.minimumShouldMatch("1");
+                    b.filter(f -> f.term(t -> t.field("status").value(CommonConstants.ARTICLE_STATUS_PUBLISHED)));
+                    b.mustNot(mn -> mn.ids(i -> i.values(articleId)));
+                    return b;
+                })));
+        return elasticsearchUtil.searchIds(request).stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 数据库查询：按共同标签数排序，不足时用同分类最新文章补足
+     */
+    private List<Long> queryRelated(Article article) {
+        Set<Long> related = articleTagMapper.selectSharedTagArticles(article.getId(), RELATED_SIZE).stream()
+                .map(IdCountDTO::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (related.size() < RELATED_SIZE && article.getCategoryId() != null) {
+            articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                            .select(Article::getId)
+                            .eq(Article::getCategoryId, article.getCategoryId())
+                            .eq(Article::getStatus, CommonConstants.ARTICLE_STATUS_PUBLISHED)
+                            .ne(Article::getId, article.getId())
+                            .orderByDesc(Article::getId)
+                            .last("LIMIT " + RELATED_SIZE))
+                    .stream()
+                    .map(Article::getId)
+                    .filter(id -> related.size() < RELATED_SIZE)
+                    .forEach(related::add);
+        }
+        return new ArrayList<>(related);
+    }
+
+    private void save(Long articleId, List<Long> relatedIds) {
+        String key = RedisKeyEnum.KEY_ARTICLE_RELATED.getKey(articleId);
+        if (relatedIds.isEmpty()) {
+            redisUtil.delete(key);
+            return;
+        }
+        // 先写入临时key再整体替换，读取方不会看到删除后、写入前的空列表
+        String rebuildKey = RedisKeyEnum.KEY_ARTICLE_RELATED_REBUILD.getKey(articleId, IdUtil.fastSimpleUUID());
+        redisUtil.rPushAll(rebuildKey, new ArrayList<>(relatedIds));
+        redisUtil.expire(rebuildKey, RedisKeyEnum.KEY_ARTICLE_RELATED_REBUILD.getExpire(), TimeUnit.SECONDS);
+        redisUtil.rename(rebuildKey, key);
+    }
+}
@@ -0,0 +1,81 @@
+package cn.lzx.blog.integration.es;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import cn.lzx.blog.config.es.ElasticsearchProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ES搜索熔断器
+ * - 关闭：请求正常访问ES，连续失败达到阈值后打开
+ * - 打开：请求直接走本地索引，等待期过后放行一个探测请求（半开）
+ * - 半开：探测成功则关闭，失败则重新打开并重新计时
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchCircuitBreaker {
+
+    private final ElasticsearchProperties elasticsearchProperties;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicBoolean probing = new AtomicBoolean(false);
+
+    /**
+     * 是否允许访问ES
+     *
+     * @return 关闭状态或获得探测名额时返回true
+     */
+    public boolean allowRequest() {
+        long opened = openedAt.get();
+        if (opened == 0) {
+            return true;
+        }
+        if (System.currentTimeMillis() - opened < elasticsearchProperties.getBreakerOpenDuration()) {
+            return false;
+        }
+        // 半开：同一时间只放行一个探测请求
+        return probing.compareAndSet(false, true);
+    }
+
+    /**
+     * 记录一次成功
+     */
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (openedAt.getAndSet(0) != 0) {
+            log.info("ES搜索已恢复，熔断器关闭");
+        }
+        probing.set(false);
+    }
+
+    /**
+     * 记录一次失败
+     */
+    public void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (probing.getAndSet(false)) {
+            openedAt.set(System.currentTimeMillis());
+            log.warn("ES搜索探测失败，熔断器保持打开");
+        } else if (failures >= elasticsearchProperties.getBreakerFailureThreshold()
+                && openedAt.compareAndSet(0, System.currentTimeMillis())) {
+            log.warn("ES搜索连续失败 {} 次，熔断器打开，切换到本地索引", failures);
+        }
+    }
+
+    /**
+     * @return 熔断器是否处于打开（含半开）状态
+     */
+    public boolean isOpen() {
+        return openedAt.get() != 0;
+    }
+}
@@ -0,0 +1,222 @@
+package cn.lzx.blog.integration.es;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import cn.lzx.blog.vo.ArticleListVO;
+import cn.lzx.blog.vo.ArticleSearchFacetsVO;
+import cn.lzx.enums.RedisKeyEnum;
+import cn.lzx.utils.RedisUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 文章搜索结果缓存
+ * - 缓存键由归一化关键词、筛选条件、排序、分页组成，写法不同的同一查询共用一份缓存
+ * - 缓存键带索引代数，索引有写入时代数自增，旧缓存不再命中并随短TTL自然过期
+ * - 分面统计与分页、排序无关，按归一化关键词和筛选条件单独缓存
+ * - 记录热门搜索词，供缓存预热使用
+ * Redis不可用时所有操作降级为未命中，不影响搜索本身
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchResultCache {
+
+    /**
+     * 只缓存前几页（深分页命中率低，不占用缓存）
+     */
+    public static final int MAX_CACHED_PAGE = 5;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final RedisUtil redisUtil;
+
+    /**
+     * 关键词归一化：去首尾空白、转小写、连续空白合并为一个空格
+     *
+     * @param keyword 原始关键词
+     * @return 归一化后的关键词（空白输入返回空串）
+     */
+    public static String normalizeKeyword(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(keyword.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 读取缓存
+     *
+     * @return 缓存的结果，未命中返回null
+     */
+    public CachedPage get(String keyword, Long categoryId, Long tagId, String orderBy, String orderType,
+                          int page, int size) {
+        if (page > MAX_CACHED_PAGE) {
+            return null;
+        }
+        try {
+            Object cached = redisUtil.get(buildKey(keyword, categoryId, tagId, orderBy, orderType, page, size));
+            return cached instanceof CachedPage ? (CachedPage) cached : null;
+        } catch (Exception e) {
+            log.warn("读取搜索缓存失败: keyword={}", keyword, e);
+            return null;
+        }
+    }
+
+    /**
+     * 写入缓存
+     */
+    public void put(String keyword, Long categoryId, Long tagId, String orderBy, String orderType,
+                    int page, int size, CachedPage result) {
+        if (page > MAX_CACHED_PAGE) {
+            return;
+        }
+        try {
+            redisUtil.set(buildKey(keyword, categoryId, tagId, orderBy, orderType, page, size), result,
+                    RedisKeyEnum.KEY_SEARCH_RESULT_CACHE.getExpire(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("写入搜索缓存失败: keyword={}", keyword, e);
+        }
+    }
+
+    /**
+     * 读取分面统计缓存
+     *
+     * @return 缓存的分面统计，未命中返回null
+     */
+    public ArticleSearchFacetsVO getFacets(String keyword, Long categoryId, Long tagId) {
+        try {
+            Object cached = redisUtil.get(buildFacetsKey(keyword, categoryId, tagId));
+            return cached instanceof ArticleSearchFacetsVO ? (ArticleSearchFacetsVO) cached : null;
+        } catch (Exception e) {
+            log.warn("读取搜索分面缓存失败: keyword={}", keyword, e);
+            return null;
+        }
+    }
+
+    /**
+     * 写入分面统计缓存
+     */
+    public void putFacets(String keyword, Long categoryId, Long tagId, ArticleSearchFacetsVO facets) {
+        try {
+            redisUtil.set(buildFacetsKey(keyword, categoryId, tagId), facets,
+                    RedisKeyEnum.KEY_SEARCH_FACETS_CACHE.getExpire(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("写入搜索分面缓存失败: keyword={}", keyword, e);
+        }
+    }
+
+    /**
+     * 索引代数自增，使现有搜索缓存全部失效
+     */
+    public void bumpGeneration() {
+        try {
+            redisUtil.increment(RedisKeyEnum.KEY_SEARCH_INDEX_GENERATION.getKey());
+        } catch (Exception e) {
+            log.warn("更新搜索索引代数失败", e);
+        }
+    }
+
+    /**
+     * 记录一次搜索（只统计有结果的首页查询）
+     *
+     * @param keyword 归一化后的关键词
+     */
+    public void recordQuery(String keyword) {
+        if (keyword.isEmpty()) {
+            return;
+        }
+        try {
+            redisUtil.zIncrementScore(RedisKeyEnum.KEY_SEARCH_KEYWORD_RANK.getKey(), keyword, 1);
+        } catch (Exception e) {
+            log.warn("记录热门搜索词失败: keyword={}", keyword, e);
+        }
+    }
+
+    /**
+     * 获取热门搜索词
+     *
+     * @param limit 数量
+     * @return 关键词列表（按热度降序）
+     */
+    public List<String> getPopularKeywords(int limit) {
+        List<String> keywords = new ArrayList<>();
+        if (limit <= 0) {
+            return keywords;
+        }
+        try {
+            Set<Object> members = redisUtil.zReverseRange(RedisKeyEnum.KEY_SEARCH_KEYWORD_RANK.getKey(), 0, limit - 1);
+            if (members != null) {
+                members.forEach(member -> keywords.add(member.toString()));
+            }
+        } catch (Exception e) {
+            log.warn("读取热门搜索词失败", e);
+        }
+        return keywords;
+    }
+
+    /**
+     * 热度衰减并裁剪排行，避免历史热词长期占位、长尾关键词无限增长
+     *
+     * @param factor  衰减系数（0~1）
+     * @param maxSize 保留的关键词数量
+     */
+    public void decayPopularity(double factor, int maxSize) {
+        String rankKey = RedisKeyEnum.KEY_SEARCH_KEYWORD_RANK.getKey();
+        redisUtil.zMultiplyScores(rankKey, factor);
+        redisUtil.zRemoveRange(rankKey, 0, -(maxSize + 1L));
+    }
+
+    private String buildKey(String keyword, Long categoryId, Long tagId, String orderBy, String orderType,
+                            int page, int size) {
+        String query = String.join("|", keyword, String.valueOf(categoryId), String.valueOf(tagId),
+                String.valueOf(orderBy), String.valueOf(orderType), String.valueOf(page), String.valueOf(size));
+        String queryHash = DigestUtils.md5DigestAsHex(query.getBytes(StandardCharsets.UTF_8));
+        return RedisKeyEnum.KEY_SEARCH_RESULT_CACHE.getKey(getGeneration(), queryHash);
+    }
+
+    private String buildFacetsKey(String keyword, Long categoryId, Long tagId) {
+        String query = String.join("|", keyword, String.valueOf(categoryId), String.valueOf(tagId));
+        String queryHash = DigestUtils.md5DigestAsHex(query.getBytes(StandardCharsets.UTF_8));
+        return RedisKeyEnum.KEY_SEARCH_FACETS_CACHE.getKey(getGeneration(), queryHash);
+    }
+
+    private long getGeneration() {
+        Object value = redisUtil.get(RedisKeyEnum.KEY_SEARCH_INDEX_GENERATION.getKey());
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * 缓存的搜索结果页
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CachedPage {
+
+        /**
+         * 当前页文章
+         */
+        private List<ArticleListVO> records;
+
+        /**
+         * 命中总数
+         */
+        private long total;
+    }
+}
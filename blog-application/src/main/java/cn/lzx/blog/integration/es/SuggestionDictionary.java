@@ -0,0 +1,159 @@
+package cn.lzx.blog.integration.es;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+import cn.lzx.blog.dto.IdCountDTO;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.blog.mapper.ArticleTagMapper;
+import cn.lzx.blog.mapper.CategoryMapper;
+import cn.lzx.blog.mapper.TagMapper;
+import cn.lzx.constants.CommonConstants;
+import cn.lzx.entity.Article;
+import cn.lzx.entity.Category;
+import cn.lzx.entity.Tag;
+import cn.lzx.utils.PrefixTrie;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 搜索建议本地词典
+ * 把已发布文章标题、标签和分类名称装入内存前缀树，作为搜索建议的第一层：
+ * 命中时无需访问ES，不足时再由ES补全。定时整体重建并原子替换，查询无锁。
+ * 同时保存分类、标签的ID到名称映射，供搜索分面统计解析名称。
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SuggestionDictionary {
+
+    /**
+     * 每个前缀保留的候选数量
+     */
+    private static final int TOP_K = 10;
+
+    /**
+     * 标签、分类的基础权重，保证导航类词条排在文章标题之前
+     */
+    private static final double TERM_BASE_WEIGHT = 1_000_000_000D;
+
+    private final ArticleMapper articleMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final TagMapper tagMapper;
+    private final CategoryMapper categoryMapper;
+
+    private volatile PrefixTrie trie = new PrefixTrie(TOP_K);
+
+    private volatile Map<Long, String> categoryNames = Map.of();
+
+    private volatile Map<Long, String> tagNames = Map.of();
+
+    /**
+     * 定时重建词典（启动后立即执行一次）
+     */
+    @Scheduled(fixedDelayString = "${spring.elasticsearch.suggest-refresh-interval:600000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        try {
+            PrefixTrie newTrie = new PrefixTrie(TOP_K);
+
+            // 1. 已发布文章标题，按浏览量加权
+            List<Article> articles = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                    .select(Article::getId, Article::getTitle, Article::getViewCount)
+                    .eq(Article::getStatus, CommonConstants.ARTICLE_STATUS_PUBLISHED));
+            for (Article article : articles) {
+                newTrie.insert(article.getTitle(), article.getViewCount() != null ? article.getViewCount() : 0);
+            }
+
+            // 2. 标签，按已发布文章数加权
+            Map<Long, Long> tagCounts = articleTagMapper.countPublishedArticlesGroupByTag().stream()
+                    .collect(Collectors.toMap(IdCountDTO::getId, IdCountDTO::getCount));
+            Map<Long, String> newTagNames = new HashMap<>();
+            for (Tag tag : tagMapper.selectList(null)) {
+                newTrie.insert(tag.getName(), TERM_BASE_WEIGHT + tagCounts.getOrDefault(tag.getId(), 0L));
+                newTagNames.put(tag.getId(), tag.getName());
+            }
+
+            // 3. 分类，按已发布文章数加权
+            Map<Long, Long> categoryCounts = articleMapper.countPublishedGroupByCategory().stream()
+                    .collect(Collectors.toMap(IdCountDTO::getId, IdCountDTO::getCount));
+            Map<Long, String> newCategoryNames = new HashMap<>();
+            for (Category category : categoryMapper.selectList(null)) {
+                newTrie.insert(category.getName(),
+                        TERM_BASE_WEIGHT + categoryCounts.getOrDefault(category.getId(), 0L));
+                newCategoryNames.put(category.getId(), category.getName());
+            }
+
+            trie = newTrie;
+            categoryNames = newCategoryNames;
+            tagNames = newTagNames;
+            log.debug("搜索建议词典重建完成: {} 个词条，耗时 {} ms", newTrie.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("搜索建议词典重建失败，继续使用旧词典", e);
+        }
+    }
+
+    /**
+     * 按前缀查询候选词
+     *
+     * @param prefix 前缀
+     * @param limit  最多返回数量
+     * @return 候选词列表（按权重降序）
+     */
+    public List<String> suggest(String prefix, int limit) {
+        return trie.search(prefix, limit);
+    }
+
+    /**
+     * 解析分类名称（词典中没有的新分类从数据库补查）
+     *
+     * @param categoryIds 分类ID
+     * @return 分类ID -> 名称（不存在的分类不包含在内）
+     */
+    public Map<Long, String> getCategoryNames(Collection<Long> categoryIds) {
+        return resolveNames(categoryIds, categoryNames, missing -> categoryMapper.selectBatchIds(missing).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName)));
+    }
+
+    /**
+     * 解析标签名称（词典中没有的新标签从数据库补查）
+     *
+     * @param tagIds 标签ID
+     * @return 标签ID -> 名称（不存在的标签不包含在内）
+     */
+    public Map<Long, String> getTagNames(Collection<Long> tagIds) {
+        return resolveNames(tagIds, tagNames, missing -> tagMapper.selectBatchIds(missing).stream()
+                .collect(Collectors.toMap(Tag::getId, Tag::getName)));
+    }
+
+    private Map<Long, String> resolveNames(Collection<Long> ids, Map<Long, String> dictionary,
+                                           Function<List<Long>, Map<Long, String>> loader) {
+        Map<Long, String> names = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            String name = dictionary.get(id);
+            if (name != null) {
+                names.put(id, name);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            names.putAll(loader.apply(missing));
+        }
+        return names;
+    }
+}
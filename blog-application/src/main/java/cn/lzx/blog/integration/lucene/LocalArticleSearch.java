@@ -0,0 +1,223 @@
+package cn.lzx.blog.integration.lucene;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.stereotype.Component;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.lzx.blog.config.es.ElasticsearchProperties;
+import cn.lzx.blog.integration.es.ArticleDocumentBuilder;
+import cn.lzx.blog.integration.es.ElasticsearchUtil;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.constants.CommonConstants;
+import cn.lzx.entity.Article;
+import cn.lzx.entity.ArticleDocument;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 本地降级搜索
+ * 在进程内维护一份已发布文章的Lucene索引：启动时从数据库全量构建，之后与ES共用增量索引和计数同步事件。
+ * ES不可用（熔断打开）或配置为仅本地搜索时，由搜索服务改为查询本地索引。
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalArticleSearch {
+
+    /**
+     * 全量构建每批文章数
+     */
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ElasticsearchProperties elasticsearchProperties;
+    private final ArticleMapper articleMapper;
+    private final ArticleDocumentBuilder articleDocumentBuilder;
+    private final ObjectMapper objectMapper;
+
+    private LuceneArticleIndex index;
+
+    /**
+     * 全量构建是否已完成
+     */
+    private volatile boolean ready;
+
+    /**
+     * 全量构建是否正在执行
+     */
+    private volatile boolean rebuilding;
+
+    /**
+     * 全量构建期间增量变更过的文章ID（构建读到的可能是变更前的数据，构建完成后按数据库当前状态重新写入）
+     */
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (isEnabled()) {
+            index = new LuceneArticleIndex(new ByteBuffersDirectory(), objectMapper);
+        }
+    }
+
+    /**
+     * @return 是否维护本地索引
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(elasticsearchProperties.getLocalSearchEnabled())
+                || Boolean.TRUE.equals(elasticsearchProperties.getLocalSearchOnly());
+    }
+
+    /**
+     * @return 本地索引是否可以查询
+     */
+    public boolean isReady() {
+        return index != null && ready;
+    }
+
+    /**
+     * 后台全量构建本地索引（应用启动时调用）
+     */
+    public void rebuildAsync() {
+        if (index == null) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "local-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 按ID分批读取全部已发布文章写入本地索引，完成后重放构建期间的增量变更
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            index.deleteAll();
+            long lastId = 0;
+            while (true) {
+                List<Article> batch = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                        .eq(Article::getStatus, CommonConstants.ARTICLE_STATUS_PUBLISHED)
+                        .gt(Article::getId, lastId)
+                        .orderByAsc(Article::getId)
+                        .last("LIMIT " + REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                index.index(articleDocumentBuilder.build(batch));
+                total += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            rebuilding = false;
+            int replayed = replayChangedDuringRebuild();
+            ready = true;
+            log.info("本地搜索索引构建完成: {} 篇文章，重放构建期间变更 {} 篇，耗时 {} ms",
+                    total, replayed, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("本地搜索索引构建失败", e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * 按数据库当前状态重新写入构建期间变更过的文章（构建批次可能把已下线或已删除的旧数据写回索引）
+     *
+     * @return 重放的文章数
+     */
+    private int replayChangedDuringRebuild() throws IOException {
+        List<Long> articleIds = new ArrayList<>(changedDuringRebuild);
+        changedDuringRebuild.removeAll(articleIds);
+        if (articleIds.isEmpty()) {
+            return 0;
+        }
+        List<Article> published = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                .eq(Article::getStatus, CommonConstants.ARTICLE_STATUS_PUBLISHED)
+                .in(Article::getId, articleIds));
+        Set<Long> publishedIds = published.stream().map(Article::getId).collect(Collectors.toSet());
+        index.index(articleDocumentBuilder.build(published));
+        index.delete(articleIds.stream().filter(id -> !publishedIds.contains(id)).collect(Collectors.toList()));
+        return articleIds.size();
+    }
+
+    /**
+     * 同步一批增量变更（与ES增量索引共用同一批数据）
+     *
+     * @param documents  需要写入的文档
+     * @param deleteIds 需要删除的文章ID
+     */
+    public void apply(Collection<ArticleDocument> documents, Collection<Long> deleteIds) {
+        if (index == null) {
+            return;
+        }
+        if (rebuilding) {
+            documents.forEach(document -> changedDuringRebuild.add(document.getId()));
+            changedDuringRebuild.addAll(deleteIds);
+        }
+        try {
+            index.index(documents);
+            index.delete(deleteIds);
+        } catch (Exception e) {
+            log.warn("本地搜索索引增量更新失败: index={}, delete={}", documents.size(), deleteIds.size(), e);
+        }
+    }
+
+    /**
+     * 同步计数
+     *
+     * @param articles 文章（只需ID和计数字段）
+     */
+    public void updateCounters(Collection<Article> articles) {
+        if (index == null || articles.isEmpty()) {
+            return;
+        }
+        try {
+            for (Article article : articles) {
+                index.updateCounters(article.getId(),
+                        article.getViewCount() != null ? article.getViewCount() : 0,
+                        article.getLikeCount() != null ? article.getLikeCount() : 0,
+                        article.getCommentCount() != null ? article.getCommentCount() : 0);
+            }
+            index.refresh();
+        } catch (Exception e) {
+            log.warn("本地搜索索引计数更新失败: size={}", articles.size(), e);
+        }
+    }
+
+    /**
+     * 搜索本地索引
+     *
+     * @see LuceneArticleIndex#search(String, Long, Long, String, boolean, int, int)
+     */
+    public ElasticsearchUtil.DocumentSearchResult<ArticleDocument> search(String keyword, Long categoryId, Long tagId,
+                                                                       String sortField, boolean ascending,
+                                                                       int from, int size) throws IOException {
+        if (!isReady()) {
+            throw new IllegalStateException("本地搜索索引尚未就绪");
+        }
+        return index.search(keyword, categoryId, tagId, sortField, ascending, from, size);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (index != null) {
+            index.close();
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package cn.lzx.blog.integration.lucene;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.cn.smart.SmartChineseAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.NullFragmenter;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.Directory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.lzx.blog.integration.es.ArticleDocumentBuilder;
+import cn.lzx.blog.integration.es.ElasticsearchUtil;
+import cn.lzx.entity.ArticleDocument;
+
+/**
+ * 文章本地Lucene索引
+ * 字段、权重（title^3、summary^2、tags^2、content）和高亮格式与ES索引一致，
+ * 搜索结果沿用ES的文档命中结构，列表渲染无需区分来源。
+ * 不依赖Spring和ES，传入内存目录即可独立使用。
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+public class LuceneArticleIndex implements Closeable {
+
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_TITLE = "title";
+    public static final String FIELD_SUMMARY = "summary";
+    public static final String FIELD_CONTENT = "content";
+    public static final String FIELD_TAGS = "tags";
+    public static final String FIELD_CATEGORY_ID = "categoryId";
+    public static final String FIELD_TAG_IDS = "tagIds";
+    public static final String FIELD_VIEW_COUNT = "viewCount";
+    public static final String FIELD_LIKE_COUNT = "likeCount";
+    public static final String FIELD_COMMENT_COUNT = "commentCount";
+    public static final String FIELD_CREATE_TIME = "createTime";
+
+    /**
+     * 按ID排序的字段（与ID词项字段分开，避免同名字段的索引结构冲突）
+     */
+    private static final String FIELD_ID_SORT = "idSort";
+
+    /**
+     * 卡片渲染用的文档JSON（不含正文）
+     */
+    private static final String FIELD_SOURCE = "source";
+
+    /**
+     * 检索字段及权重
+     */
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            FIELD_TITLE, 3f,
+            FIELD_SUMMARY, 2f,
+            FIELD_TAGS, 2f,
+            FIELD_CONTENT, 1f);
+
+    /**
+     * 卡片摘要高亮片段长度（与ES一致）
+     */
+    private static final int FRAGMENT_SIZE = 120;
+
+    /**
+     * 正文只保存开头这部分用于生成高亮片段（索引仍使用全文）
+     * 本地索引常驻堆内存，保存全部正文会让内存随文章总字数增长；
+     * 关键词只出现在正文后部时没有正文片段，卡片改用摘要显示
+     */
+    static final int CONTENT_HIGHLIGHT_MAX_CHARS = 2000;
+
+    private final Analyzer analyzer = new SmartChineseAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ObjectMapper objectMapper;
+
+    public LuceneArticleIndex(Directory directory, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * 写入或覆盖文档
+     *
+     * @param documents ES文档
+     */
+    public void index(Collection<ArticleDocument> documents) throws IOException {
+        if (documents.isEmpty()) {
+            return;
+        }
+        for (ArticleDocument document : documents) {
+            writer.updateDocument(idTerm(document.getId()), toLuceneDocument(document));
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * 删除文档
+     *
+     * @param articleIds 文章ID
+     */
+    public void delete(Collection<Long> articleIds) throws IOException {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        writer.deleteDocuments(articleIds.stream().map(LuceneArticleIndex::idTerm).toArray(Term[]::new));
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * 只更新计数（文档不存在时忽略）
+     */
+    public void updateCounters(Long articleId, long viewCount, long likeCount, long commentCount) throws IOException {
+        writer.updateDocValues(idTerm(articleId),
+                new NumericDocValuesField(FIELD_VIEW_COUNT, viewCount),
+                new NumericDocValuesField(FIELD_LIKE_COUNT, likeCount),
+                new NumericDocValuesField(FIELD_COMMENT_COUNT, commentCount));
+    }
+
+    /**
+     * 使计数更新对查询可见
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * 清空索引
+     */
+    public void deleteAll() throws IOException {
+        writer.deleteAll();
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * 搜索已发布文章
+     *
+     * @param keyword    关键词
+     * @param categoryId 分类ID（可选）
+     * @param tagId      标签ID（可选）
+     * @param sortField  排序字段（viewCount、likeCount、createTime，为null时按相关度）
+     * @param ascending  是否升序
+     * @param from       起始位置
+     * @param size       数量
+     * @return 命中结果
+     */
+    public ElasticsearchUtil.DocumentSearchResult<ArticleDocument> search(String keyword, Long categoryId, Long tagId,
+                                                                       String sortField, boolean ascending,
+                                                                       int from, int size) throws IOException {
+        Query textQuery = buildTextQuery(keyword);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (categoryId != null) {
+            builder.add(LongPoint.newExactQuery(FIELD_CATEGORY_ID, categoryId), BooleanClause.Occur.FILTER);
+        }
+        if (tagId != null) {
+            builder.add(LongPoint.newExactQuery(FIELD_TAG_IDS, tagId), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int total = searcher.count(query);
+            if (from >= total || size <= 0) {
+                return new ElasticsearchUtil.DocumentSearchResult<>(new ArrayList<>(), total, null);
+            }
+
+            TopFieldDocs topDocs = searcher.search(query, from + size, buildSort(sortField, ascending), true);
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            StoredFields storedFields = searcher.storedFields();
+            List<LeafReaderContext> leaves = searcher.getIndexReader().leaves();
+            List<ElasticsearchUtil.DocumentHit<ArticleDocument>> hits = new ArrayList<>();
+            for (int i = from; i < scoreDocs.length; i++) {
+                int docId = scoreDocs[i].doc;
+                Document stored = storedFields.document(docId);
+                ArticleDocument source = objectMapper.readValue(stored.get(FIELD_SOURCE), ArticleDocument.class);
+                applyCounters(source, leaves.get(ReaderUtil.subIndex(docId, leaves)), docId);
+                hits.add(new ElasticsearchUtil.DocumentHit<>(source, highlight(textQuery, stored), List.of()));
+            }
+            return new ElasticsearchUtil.DocumentSearchResult<>(hits, total, null);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        analyzer.close();
+    }
+
+    /**
+     * 多字段检索：每个字段内任一词项命中即可，字段间取最高分（对应ES multi_match best_fields）
+     */
+    private Query buildTextQuery(String keyword) throws IOException {
+        List<Query> fieldQueries = new ArrayList<>();
+        for (Map.Entry<String, Float> entry : FIELD_BOOSTS.entrySet()) {
+            Set<String> terms = analyze(entry.getKey(), keyword);
+            if (terms.isEmpty()) {
+                continue;
+            }
+            BooleanQuery.Builder builder = new BooleanQuery.Builder();
+            for (String term : terms) {
+                builder.add(new TermQuery(new Term(entry.getKey(), term)), BooleanClause.Occur.SHOULD);
+            }
+            fieldQueries.add(new BoostQuery(builder.build(), entry.getValue()));
+        }
+        return fieldQueries.isEmpty() ? new MatchNoDocsQuery() : new DisjunctionMaxQuery(fieldQueries, 0f);
+    }
+
+    private Set<String> analyze(String field, String text) throws IOException {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(field, text)) {
+            CharTermAttribute termAttribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(termAttribute.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    /**
+     * 排序：指定字段 -> 相关度 -> ID倒序（与ES排序规则一致）
+     */
+    private Sort buildSort(String sortField, boolean ascending) {
+        List<SortField> sortFields = new ArrayList<>(3);
+        if (sortField != null) {
+            sortFields.add(new SortField(sortField, SortField.Type.LONG, !ascending));
+        }
+        sortFields.add(SortField.FIELD_SCORE);
+        sortFields.add(new SortField(FIELD_ID_SORT, SortField.Type.LONG, true));
+        return new Sort(sortFields.toArray(new SortField[0]));
+    }
+
+    /**
+     * 高亮：标题整体高亮，摘要、正文各取一个卡片长度的片段
+     */
+    private Map<String, List<String>> highlight(Query textQuery, Document stored) throws IOException {
+        Map<String, List<String>> highlights = new HashMap<>();
+        SimpleHTMLFormatter formatter = new SimpleHTMLFormatter(
+                ElasticsearchUtil.HIGHLIGHT_PRE_TAG, ElasticsearchUtil.HIGHLIGHT_POST_TAG);
+        for (String field : List.of(FIELD_TITLE, FIELD_SUMMARY, FIELD_CONTENT)) {
+            String text = stored.get(field);
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            QueryScorer scorer = new QueryScorer(textQuery, field);
+            Highlighter highlighter = new Highlighter(formatter, scorer);
+            highlighter.setTextFragmenter(FIELD_TITLE.equals(field)
+                    ? new NullFragmenter()
+                    : new SimpleSpanFragmenter(scorer, FRAGMENT_SIZE));
+            try {
+                String fragment = highlighter.getBestFragment(analyzer, field, text);
+                if (fragment != null) {
+                    highlights.put(field, List.of(fragment));
+                }
+            } catch (InvalidTokenOffsetsException e) {
+                // 高亮失败时使用原文
+            }
+        }
+        return highlights;
+    }
+
+    /**
+     * 以DocValues中的计数覆盖文档JSON中的计数（计数单独更新，JSON可能较旧）
+     */
+    private void applyCounters(ArticleDocument source, LeafReaderContext leaf, int docId) throws IOException {
+        int leafDocId = docId - leaf.docBase;
+        source.setViewCount(readCounter(leaf, FIELD_VIEW_COUNT, leafDocId, source.getViewCount()));
+        source.setLikeCount(readCounter(leaf, FIELD_LIKE_COUNT, leafDocId, source.getLikeCount()));
+        source.setCommentCount(readCounter(leaf, FIELD_COMMENT_COUNT, leafDocId, source.getCommentCount()));
+    }
+
+    private Integer readCounter(LeafReaderContext leaf, String field, int leafDocId, Integer defaultValue)
+            throws IOException {
+        NumericDocValues values = leaf.reader().getNumericDocValues(field);
+        return values != null && values.advanceExact(leafDocId) ? (int) values.longValue() : defaultValue;
+    }
+
+    private Document toLuceneDocument(ArticleDocument source) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, String.valueOf(source.getId()), Field.Store.NO));
+        document.add(new NumericDocValuesField(FIELD_ID_SORT, source.getId()));
+
+        // 标题、摘要保存原文用于高亮；标签已在卡片JSON中，正文只保存开头部分
+        addText(document, FIELD_TITLE, source.getTitle(), Field.Store.YES);
+        addText(document, FIELD_SUMMARY, source.getSummary(), Field.Store.YES);
+        addText(document, FIELD_TAGS, source.getTags(), Field.Store.NO);
+        String content = source.getContent();
+        if (content != null && !content.isEmpty()) {
+            document.add(new TextField(FIELD_CONTENT, content, Field.Store.NO));
+            document.add(new StoredField(FIELD_CONTENT,
+                    content.length() > CONTENT_HIGHLIGHT_MAX_CHARS
+                            ? content.substring(0, CONTENT_HIGHLIGHT_MAX_CHARS)
+                            : content));
+        }
+
+        if (source.getCategoryId() != null) {
+            document.add(new LongPoint(FIELD_CATEGORY_ID, source.getCategoryId()));
+        }
+        if (source.getTagIds() != null) {
+            source.getTagIds().forEach(tagId -> document.add(new LongPoint(FIELD_TAG_IDS, tagId)));
+        }
+
+        document.add(new NumericDocValuesField(FIELD_VIEW_COUNT, nullToZero(source.getViewCount())));
+        document.add(new NumericDocValuesField(FIELD_LIKE_COUNT, nullToZero(source.getLikeCount())));
+        document.add(new NumericDocValuesField(FIELD_COMMENT_COUNT, nullToZero(source.getCommentCount())));
+        document.add(new NumericDocValuesField(FIELD_CREATE_TIME, source.getCreateTime() != null
+                ? LocalDateTime.parse(source.getCreateTime(), ArticleDocumentBuilder.DATE_TIME_FORMATTER)
+                        .toEpochSecond(ZoneOffset.UTC)
+                : 0L));
+
+        // 卡片渲染用JSON不含正文和搜索建议
+        ArticleDocument.Suggest suggest = source.getSuggest();
+        source.setContent(null);
+        source.setSuggest(null);
+        try {
+            document.add(new StoredField(FIELD_SOURCE, objectMapper.writeValueAsString(source)));
+        } finally {
+            source.setContent(content);
+            source.setSuggest(suggest);
+        }
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value, Field.Store store) {
+        if (value != null && !value.isEmpty()) {
+            document.add(new TextField(field, value, store));
+        }
+    }
+
+    private static long nullToZero(Integer value) {
+        return value != null ? value : 0L;
+    }
+
+    private static Term idTerm(Long articleId) {
+        return new Term(FIELD_ID, String.valueOf(articleId));
+    }
+}
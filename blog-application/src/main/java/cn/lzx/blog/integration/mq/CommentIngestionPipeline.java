@@ -0,0 +1,333 @@
+package cn.lzx.blog.integration.mq;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import cn.hutool.core.util.IdUtil;
+import cn.lzx.blog.config.comment.CommentProperties;
+import cn.lzx.blog.integration.mq.message.CommentSubmitMessage;
+import cn.lzx.blog.service.CommentService;
+import cn.lzx.entity.Comment;
+import cn.lzx.enums.RedisKeyEnum;
+import cn.lzx.exception.BusinessException;
+import cn.lzx.utils.RedisUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 异步评论提交管道
+ * - RocketMQ 启用时：以文章ID为顺序键发送到 COMMENT_TOPIC，由 CommentMessageConsumer 顺序批量消费
+ * - RocketMQ 未启用时：按文章ID分区写入本地有界队列，每个分区一个写入线程批量落库
+ * 两种方式都保证同一文章的评论按提交顺序落库，队列写满时拒绝提交（背压）
+ * 评论ID由数据库落库时分配，提交时只生成客户端令牌；排队中的评论按令牌登记到Redis，
+ * 回复尚未落库的评论时可以按令牌找到父评论，落库时再解析为父评论ID
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentIngestionPipeline {
+
+    private final CommentProperties commentProperties;
+    private final ObjectProvider<RocketMQProducer> rocketMQProducerProvider;
+    private final ObjectProvider<CommentService> commentServiceProvider;
+    private final RedisUtil redisUtil;
+
+    private final List<BlockingQueue<Comment>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * 是否接收新提交（开始关闭后置为false）
+     */
+    private volatile boolean accepting = true;
+
+    /**
+     * 提交持有读锁，关闭时获取写锁切换 accepting，保证关闭开始后不会再有评论进入队列
+     */
+    private final ReentrantReadWriteLock submitLock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void start() {
+        if (!commentProperties.isAsyncEnabled() || rocketMQProducerProvider.getIfAvailable() != null) {
+            return;
+        }
+
+        int partitionCount = Math.max(1, commentProperties.getPartitions());
+        int capacity = Math.max(1, commentProperties.getQueueCapacity() / partitionCount);
+        running = true;
+        for (int i = 0; i < partitionCount; i++) {
+            BlockingQueue<Comment> queue = new ArrayBlockingQueue<>(capacity);
+            Thread worker = new Thread(() -> runWorker(queue), "comment-ingest-" + i);
+            partitions.add(queue);
+            workers.add(worker);
+            worker.start();
+        }
+        log.info("异步评论本地队列已启动: partitions={}, capacityPerPartition={}", partitionCount, capacity);
+    }
+
+    /**
+     * 提交评论（生成客户端令牌并登记后立即返回）
+     *
+     * @param comment 已校验的评论（未落库）
+     * @return 客户端令牌
+     */
+    public String submit(Comment comment) {
+        submitLock.readLock().lock();
+        try {
+            if (!accepting) {
+                throw new BusinessException("服务正在停止，请稍后重试");
+            }
+            comment.setClientToken(IdUtil.fastSimpleUUID());
+            registerPending(comment);
+            try {
+                enqueue(comment);
+            } catch (RuntimeException e) {
+                complete(Collections.singletonList(comment.getClientToken()));
+                throw e;
+            }
+            return comment.getClientToken();
+        } finally {
+            submitLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查询排队中的评论
+     *
+     * @param clientToken 客户端令牌
+     * @return 评论（只有文章ID、用户ID、深度和令牌），不在队列中时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public Comment findPending(String clientToken) {
+        Object value = redisUtil.get(RedisKeyEnum.KEY_COMMENT_PENDING.getKey(clientToken));
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> pending = (Map<String, Object>) value;
+        return Comment.builder()
+                .clientToken(clientToken)
+                .articleId(((Number) pending.get("articleId")).longValue())
+                .userId(((Number) pending.get("userId")).longValue())
+                .depth(((Number) pending.get("depth")).intValue())
+                .build();
+    }
+
+    /**
+     * 评论已落库（或已放弃），取消登记
+     *
+     * @param clientTokens 客户端令牌
+     */
+    public void complete(Collection<String> clientTokens) {
+        if (clientTokens.isEmpty()) {
+            return;
+        }
+        try {
+            redisUtil.delete(clientTokens.stream()
+                    .map(RedisKeyEnum.KEY_COMMENT_PENDING::getKey)
+                    .collect(Collectors.toList()));
+        } catch (Exception e) {
+            log.warn("删除排队评论登记失败: size={}", clientTokens.size(), e);
+        }
+    }
+
+    private void registerPending(Comment comment) {
+        Map<String, Object> pending = new HashMap<>();
+        pending.put("articleId", comment.getArticleId());
+        pending.put("userId", comment.getUserId());
+        pending.put("depth", comment.getDepth());
+        redisUtil.set(RedisKeyEnum.KEY_COMMENT_PENDING.getKey(comment.getClientToken()), pending,
+                RedisKeyEnum.KEY_COMMENT_PENDING.getExpire(), TimeUnit.SECONDS);
+    }
+
+    private void enqueue(Comment comment) {
+        RocketMQProducer producer = rocketMQProducerProvider.getIfAvailable();
+        if (producer != null) {
+            boolean sent = producer.sendOrderlyMessageWithTag(MQConstant.Topic.COMMENT_TOPIC,
+                    MQConstant.Tag.COMMENT_PUBLISH, CommentSubmitMessage.from(comment),
+                    String.valueOf(comment.getArticleId()));
+            if (!sent) {
+                throw new BusinessException("评论提交失败，请稍后重试");
+            }
+            return;
+        }
+
+        BlockingQueue<Comment> queue = partitionOf(comment.getArticleId());
+        try {
+            if (!queue.offer(comment, commentProperties.getOfferTimeout(), TimeUnit.MILLISECONDS)) {
+                log.warn("评论队列已满，拒绝提交: articleId={}", comment.getArticleId());
+                throw new BusinessException("评论提交繁忙，请稍后重试");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("评论提交失败，请稍后重试");
+        }
+    }
+
+    /**
+     * 批量落库：整批失败时逐条重试，隔离数据本身有误的评论（记录日志后丢弃）；
+     * 数据库不可用等暂时性失败直接抛出，由调用方稍后整批重试（已落库的评论按令牌幂等跳过）
+     *
+     * @param comments 评论列表（按提交顺序）
+     */
+    public void persist(List<Comment> comments) {
+        CommentService commentService = commentServiceProvider.getObject();
+        try {
+            commentService.saveCommentBatch(comments);
+            return;
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            log.warn("评论批量落库失败，逐条重试: size={}", comments.size(), e);
+        }
+        for (Comment comment : comments) {
+            try {
+                commentService.saveCommentBatch(Collections.singletonList(comment));
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    // 保持顺序：当前及之后的评论留给调用方重试
+                    throw e;
+                }
+                log.error("评论数据无法落库，丢弃: clientToken={}, articleId={}, userId={}",
+                        comment.getClientToken(), comment.getArticleId(), comment.getUserId(), e);
+                complete(Collections.singletonList(comment.getClientToken()));
+            }
+        }
+    }
+
+    /**
+     * 是否为暂时性失败（数据库或Redis不可用、超时、死锁等，稍后重试可能成功）
+     */
+    private static boolean isTransient(Throwable e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private BlockingQueue<Comment> partitionOf(Long articleId) {
+        if (partitions.isEmpty()) {
+            throw new BusinessException("异步评论未启用");
+        }
+        return partitions.get((int) Math.floorMod(articleId, (long) partitions.size()));
+    }
+
+    /**
+     * 分区写入线程：取到第一条后把队列中已积压的评论一并取出，合并为一批落库
+     */
+    private void runWorker(BlockingQueue<Comment> queue) {
+        int batchSize = Math.max(1, commentProperties.getBatchSize());
+        List<Comment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Comment first = queue.poll(commentProperties.getPollInterval(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                persistWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) {
+                    log.error("评论写入线程被中断，{} 条评论未落库: clientTokens={}", batch.size(),
+                            batch.stream().map(Comment::getClientToken).collect(Collectors.toList()));
+                }
+                return;
+            } catch (Exception e) {
+                log.error("评论写入线程异常", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 落库一批评论，暂时性失败时按指数退避重试同一批（重试期间队列积压，写满后拒绝新提交）；
+     * 开始关闭后不再等待，记录未落库的评论
+     */
+    private void persistWithRetry(List<Comment> batch) throws InterruptedException {
+        long backoff = Math.max(1, commentProperties.getRetryBackoff());
+        while (true) {
+            try {
+                persist(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("停止过程中评论落库失败，{} 条评论未落库: clientTokens={}", batch.size(),
+                            batch.stream().map(Comment::getClientToken).collect(Collectors.toList()), e);
+                    return;
+                }
+                log.warn("评论落库暂时失败，{} ms 后重试: size={}", backoff, batch.size(), e);
+                TimeUnit.MILLISECONDS.sleep(backoff);
+                backoff = Math.min(backoff * 2, commentProperties.getRetryMaxBackoff());
+            }
+        }
+    }
+
+    /**
+     * 停止接收并等待队列中剩余评论落库
+     */
+    @PreDestroy
+    public void shutdown() {
+        // 先拒绝新提交：拿到写锁说明已通过检查的提交都已入队
+        submitLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // 写入线程已退出（如被中断）但队列仍有剩余时，在当前线程落库
+        for (int i = 0; i < partitions.size(); i++) {
+            BlockingQueue<Comment> queue = partitions.get(i);
+            if (!workers.get(i).isAlive() && !queue.isEmpty()) {
+                List<Comment> rest = new ArrayList<>(queue.size());
+                queue.drainTo(rest);
+                try {
+                    persist(rest);
+                } catch (RuntimeException e) {
+                    log.error("停止过程中评论落库失败，{} 条评论未落库: clientTokens={}", rest.size(),
+                            rest.stream().map(Comment::getClientToken).collect(Collectors.toList()), e);
+                }
+            }
+        }
+        int remaining = partitions.stream().mapToInt(BlockingQueue::size).sum();
+        if (remaining > 0) {
+            log.error("异步评论队列关闭时仍有 {} 条评论未落库", remaining);
+        }
+        log.info("异步评论本地队列已关闭");
+    }
+}
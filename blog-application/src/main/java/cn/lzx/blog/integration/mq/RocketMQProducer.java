@@ -53,6 +53,27 @@ public class RocketMQProducer {
         }
     }
 
+    /**
+     * 发送顺序消息（带Tag，相同hashKey的消息进入同一队列）
+     *
+     * @param topic 主题
+     * @param tag 标签
+     * @param message 消息内容
+     * @param hashKey 顺序键
+     * @return 是否发送成功
+     */
+    public boolean sendOrderlyMessageWithTag(String topic, String tag, Object message, String hashKey) {
+        try {
+            String destination = topic + ":" + tag;
+            rocketMQTemplate.syncSendOrderly(destination, message, hashKey);
+            log.info("发送顺序消息成功, topic: {}, tag: {}, hashKey: {}", topic, tag, hashKey);
+            return true;
+        } catch (Exception e) {
+            log.error("发送顺序消息失败, topic: {}, tag: {}, hashKey: {}, message: {}", topic, tag, hashKey, message, e);
+            return false;
+        }
+    }
+
     /**
      * 发送异步消息
      *
@@ -0,0 +1,86 @@
+package cn.lzx.blog.integration.mq.consumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.rocketmq.client.consumer.DefaultMQPushConsumer;
+import org.apache.rocketmq.client.consumer.listener.ConsumeOrderlyStatus;
+import org.apache.rocketmq.client.consumer.listener.MessageListenerOrderly;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.apache.rocketmq.spring.annotation.ConsumeMode;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.apache.rocketmq.spring.core.RocketMQPushConsumerLifecycleListener;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.lzx.blog.config.comment.CommentProperties;
+import cn.lzx.blog.integration.mq.CommentIngestionPipeline;
+import cn.lzx.blog.integration.mq.MQConstant;
+import cn.lzx.blog.integration.mq.message.CommentSubmitMessage;
+import cn.lzx.entity.Comment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 评论提交消息消费者
+ * 顺序消费（同一文章的评论在同一队列中按序处理），每次拉取一批消息合并落库，落库成功后才确认消息；
+ * 单条数据有误的评论被隔离丢弃，只有暂时性失败才挂起队列整批重试
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@RocketMQMessageListener(topic = MQConstant.Topic.COMMENT_TOPIC,
+        selectorExpression = MQConstant.Tag.COMMENT_PUBLISH,
+        consumerGroup = MQConstant.ConsumerGroup.COMMENT_CONSUMER_GROUP,
+        consumeMode = ConsumeMode.ORDERLY)
+public class CommentMessageConsumer implements RocketMQListener<CommentSubmitMessage>,
+        RocketMQPushConsumerLifecycleListener {
+
+    private final CommentProperties commentProperties;
+    private final CommentIngestionPipeline commentIngestionPipeline;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 最大重试次数
+     */
+    private static final int MAX_RECONSUME_TIMES = 16;
+
+    @Override
+    public void onMessage(CommentSubmitMessage message) {
+        // 批量监听器注册后不会走到这里，保留单条处理作为兜底
+        commentIngestionPipeline.persist(Collections.singletonList(message.toComment()));
+    }
+
+    @Override
+    public void prepareStart(DefaultMQPushConsumer consumer) {
+        // 替换默认的逐条监听器为批量顺序监听器
+        consumer.setConsumeMessageBatchMaxSize(Math.max(1, commentProperties.getBatchSize()));
+        // 多次重试仍失败的消息转入死信队列，避免阻塞同一队列中后续文章的评论
+        consumer.setMaxReconsumeTimes(MAX_RECONSUME_TIMES);
+        consumer.setMessageListener((MessageListenerOrderly) (messages, context) -> {
+            List<Comment> comments = new ArrayList<>(messages.size());
+            for (MessageExt message : messages) {
+                try {
+                    comments.add(objectMapper.readValue(message.getBody(), CommentSubmitMessage.class).toComment());
+                } catch (Exception e) {
+                    // 无法解析的消息重试也不会成功，跳过以免拖累同批其他评论
+                    log.error("评论消息解析失败，丢弃: msgId={}", message.getMsgId(), e);
+                }
+            }
+            try {
+                // 与本地队列相同：整批失败时逐条落库，只丢弃数据有误的评论，暂时性失败才整批重试
+                commentIngestionPipeline.persist(comments);
+                return ConsumeOrderlyStatus.SUCCESS;
+            } catch (Exception e) {
+                log.error("评论消息落库暂时失败，稍后重试: size={}", messages.size(), e);
+                return ConsumeOrderlyStatus.SUSPEND_CURRENT_QUEUE_A_MOMENT;
+            }
+        });
+    }
+}
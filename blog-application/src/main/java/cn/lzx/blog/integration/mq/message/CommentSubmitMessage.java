@@ -0,0 +1,67 @@
+package cn.lzx.blog.integration.mq.message;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import cn.lzx.entity.Comment;
+import lombok.Data;
+
+/**
+ * 评论提交消息（异步评论提交时发送到 COMMENT_TOPIC）
+ * 创建时间使用毫秒时间戳传输，避免消息序列化依赖时间模块
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+public class CommentSubmitMessage {
+
+    private String clientToken;
+    private String parentToken;
+    private Long userId;
+    private Long articleId;
+    private String content;
+    private Long rootId;
+    private Long parentId;
+    private Integer depth;
+    private String path;
+    private Long toUserId;
+    private Integer status;
+    private Long createTime;
+
+    public static CommentSubmitMessage from(Comment comment) {
+        CommentSubmitMessage message = new CommentSubmitMessage();
+        message.setClientToken(comment.getClientToken());
+        message.setParentToken(comment.getParentToken());
+        message.setUserId(comment.getUserId());
+        message.setArticleId(comment.getArticleId());
+        message.setContent(comment.getContent());
+        message.setRootId(comment.getRootId());
+        message.setParentId(comment.getParentId());
+        message.setDepth(comment.getDepth());
+        message.setPath(comment.getPath());
+        message.setToUserId(comment.getToUserId());
+        message.setStatus(comment.getStatus());
+        message.setCreateTime(comment.getCreateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return message;
+    }
+
+    public Comment toComment() {
+        return Comment.builder()
+                .clientToken(clientToken)
+                .parentToken(parentToken)
+                .userId(userId)
+                .articleId(articleId)
+                .content(content)
+                .rootId(rootId)
+                .parentId(parentId)
+                .depth(depth)
+                .path(path)
+                .toUserId(toUserId)
+                .likeCount(0)
+                .status(status)
+                .createTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(createTime), ZoneId.systemDefault()))
+                .build();
+    }
+}
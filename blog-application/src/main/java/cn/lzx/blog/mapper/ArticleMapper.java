@@ -1,9 +1,19 @@
 package cn.lzx.blog.mapper;
 
+import cn.lzx.blog.dto.ArticleStatsDTO;
+import cn.lzx.blog.dto.IdCountDTO;
 import cn.lzx.entity.Article;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 文章Mapper接口
@@ -54,6 +64,23 @@ public interface ArticleMapper extends BaseMapper<Article> {
      */
     int decrementCommentCount(@Param("id") Long id);
 
+    /**
+     * 按增量调整评论数（批量落库时按文章聚合后一次更新，结果不小于0）
+     *
+     * @param id    文章ID
+     * @param delta 增量（可为负数）
+     * @return 影响行数
+     */
+    int addCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * 批量按增量调整多篇文章的评论数（一条UPDATE完成）
+     *
+     * @param deltas 文章ID -> 评论数增量
+     * @return 影响行数
+     */
+    int addCommentCounts(@Param("deltas") List<IdCountDTO> deltas);
+
     /**
      * 增加收藏数
      *
@@ -69,4 +96,69 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @return 影响行数
      */
     int decrementCollectCount(@Param("id") Long id);
+
+    /**
+     * 流式读取全部未删除的文章（含草稿和屏蔽文章，按ID升序，需在事务内遍历）
+     *
+     * @return 文章游标
+     */
+    @Select("SELECT * FROM article WHERE deleted = 0 ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<Article> scanArticles();
+
+    /**
+     * 流式读取全部未删除文章的导出字段（不含正文，按ID升序，需在事务内遍历）
+     *
+     * @return 文章游标
+     */
+    @Select("SELECT id, user_id, category_id, title, status, view_count, like_count, comment_count, collect_count, " +
+            "create_time, update_time FROM article WHERE deleted = 0 ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<Article> scanArticlesForExport();
+
+    /**
+     * 查询指定时间之后有更新的文章ID（包含已删除的文章）
+     *
+     * @param since 起始时间
+     * @return 文章ID列表
+     */
+    @Select("SELECT id FROM article WHERE update_time >= #{since}")
+    List<Long> selectIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 统计每个分类下已发布的文章数
+     *
+     * @return 分类ID -> 文章数
+     */
+    @Select("SELECT category_id AS id, COUNT(*) AS count FROM article " +
+            "WHERE status = 1 AND deleted = 0 GROUP BY category_id")
+    List<IdCountDTO> countPublishedGroupByCategory();
+
+    /**
+     * 统计每个分类下的文章数（含草稿和屏蔽文章）
+     *
+     * @return 分类ID -> 文章数
+     */
+    @Select("SELECT category_id AS id, COUNT(*) AS count FROM article " +
+            "WHERE deleted = 0 GROUP BY category_id")
+    List<IdCountDTO> countGroupByCategory();
+
+    /**
+     * 按作者统计文章数
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 文章数
+     */
+    List<IdCountDTO> countGroupByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 文章聚合统计（总数、已发布数及浏览、点赞、收藏总数，一次查询完成）
+     *
+     * @return 统计结果
+     */
+    @Select("SELECT COUNT(*) AS total, COALESCE(SUM(status = 1), 0) AS published, " +
+            "COALESCE(SUM(view_count), 0) AS viewCount, COALESCE(SUM(like_count), 0) AS likeCount, " +
+            "COALESCE(SUM(collect_count), 0) AS collectCount " +
+            "FROM article WHERE deleted = 0")
+    ArticleStatsDTO selectArticleStats();
 }
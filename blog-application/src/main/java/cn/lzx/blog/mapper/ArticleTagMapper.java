@@ -1,8 +1,13 @@
 package cn.lzx.blog.mapper;
 
+import cn.lzx.blog.dto.IdCountDTO;
 import cn.lzx.entity.ArticleTag;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 文章标签关联Mapper接口
@@ -12,4 +17,36 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface ArticleTagMapper extends BaseMapper<ArticleTag> {
+
+    /**
+     * 统计每个标签关联的文章数
+     *
+     * @return 标签ID -> 文章数
+     */
+    @Select("SELECT tag_id AS id, COUNT(*) AS count FROM article_tag GROUP BY tag_id")
+    List<IdCountDTO> countArticlesGroupByTag();
+
+    /**
+     * 统计每个标签关联的已发布文章数（不含草稿、屏蔽和已删除的文章）
+     *
+     * @return 标签ID -> 已发布文章数
+     */
+    @Select("SELECT at.tag_id AS id, COUNT(*) AS count FROM article_tag at " +
+            "JOIN article a ON a.id = at.article_id AND a.status = 1 AND a.deleted = 0 " +
+            "GROUP BY at.tag_id")
+    List<IdCountDTO> countPublishedArticlesGroupByTag();
+
+    /**
+     * 按共同标签数查询相似的已发布文章
+     *
+     * @param articleId 文章ID
+     * @param limit     数量
+     * @return 文章ID -> 共同标签数（按共同标签数、ID倒序）
+     */
+    @Select("SELECT at2.article_id AS id, COUNT(*) AS count FROM article_tag at1 " +
+            "JOIN article_tag at2 ON at2.tag_id = at1.tag_id AND at2.article_id <> at1.article_id " +
+            "JOIN article a ON a.id = at2.article_id AND a.status = 1 AND a.deleted = 0 " +
+            "WHERE at1.article_id = #{articleId} " +
+            "GROUP BY at2.article_id ORDER BY count DESC, at2.article_id DESC LIMIT #{limit}")
+    List<IdCountDTO> selectSharedTagArticles(@Param("articleId") Long articleId, @Param("limit") Integer limit);
 }
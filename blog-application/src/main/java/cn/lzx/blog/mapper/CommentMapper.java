@@ -1,12 +1,19 @@
 package cn.lzx.blog.mapper;
 
+import cn.lzx.blog.dto.IdCountDTO;
+import cn.lzx.blog.dto.StatusCountDTO;
 import cn.lzx.entity.Comment;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,32 +26,66 @@ import java.util.List;
 public interface CommentMapper extends BaseMapper<Comment> {
 
     /**
-     * 查询指定父评论的深度（从根评论到父评论的层级数）
-     * 通过递归查询父评论链来计算深度
+     * 查询已落库的客户端令牌（包括已删除，用于批量落库时幂等过滤）
      *
-     * @param parentId 父评论ID
-     * @return 深度（1表示一级评论，2表示二级评论，以此类推）
+     * @param clientTokens 客户端令牌列表
+     * @return 已落库的客户端令牌
      */
-    @Select("SELECT COUNT(*) + 1 FROM (SELECT @id := parent_id FROM comment, (SELECT @id := #{parentId}) AS tmp WHERE @id != 0 AND @id IS NOT NULL) AS depth")
-    Integer getDepthByParentId(@Param("parentId") Long parentId);
+    List<String> selectExistingClientTokens(@Param("clientTokens") Collection<String> clientTokens);
 
     /**
-     * 根据文章ID查询根评论列表（一级评论）
+     * 批量插入评论（评论ID由数据库分配并回填到实体）
      *
-     * @param articleId 文章ID
+     * @param comments 评论列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("comments") List<Comment> comments);
+
+    /**
+     * 游标分页查询文章的根评论（按创建时间、ID倒序）
+     *
+     * @param articleId  文章ID
+     * @param cursorTime 游标：上一页最后一条的创建时间（为空表示第一页）
+     * @param cursorId   游标：上一页最后一条的ID
+     * @param limit      查询条数
      * @return 根评论列表
      */
-    @Select("SELECT * FROM comment WHERE article_id = #{articleId} AND parent_id = 0 AND deleted = 0 AND status = 1 ORDER BY create_time DESC")
-    List<Comment> selectRootCommentsByArticleId(@Param("articleId") Long articleId);
+    List<Comment> selectRootCommentPage(@Param("articleId") Long articleId,
+                                        @Param("cursorTime") LocalDateTime cursorTime,
+                                        @Param("cursorId") Long cursorId,
+                                        @Param("limit") int limit);
 
     /**
-     * 根据根评论ID查询所有子评论（按创建时间正序）
+     * 批量查询每条根评论的前N条回复（按创建时间、ID正序）
      *
-     * @param rootId 根评论ID
-     * @return 子评论列表
+     * @param rootIds 根评论ID列表
+     * @param limit   每条根评论返回的回复数
+     * @return 回复列表
      */
-    @Select("SELECT * FROM comment WHERE root_id = #{rootId} AND parent_id != 0 AND deleted = 0 AND status = 1 ORDER BY create_time ASC")
-    List<Comment> selectRepliesByRootId(@Param("rootId") Long rootId);
+    List<Comment> selectTopRepliesByRootIds(@Param("rootIds") Collection<Long> rootIds,
+                                            @Param("limit") int limit);
+
+    /**
+     * 批量统计根评论的回复数
+     *
+     * @param rootIds 根评论ID列表
+     * @return 根评论ID -> 回复数
+     */
+    List<IdCountDTO> countRepliesByRootIds(@Param("rootIds") Collection<Long> rootIds);
+
+    /**
+     * 游标分页查询根评论下的回复（按创建时间、ID正序）
+     *
+     * @param rootId     根评论ID
+     * @param cursorTime 游标：上一页最后一条的创建时间（为空表示第一页）
+     * @param cursorId   游标：上一页最后一条的ID
+     * @param limit      查询条数
+     * @return 回复列表
+     */
+    List<Comment> selectReplyPage(@Param("rootId") Long rootId,
+                                  @Param("cursorTime") LocalDateTime cursorTime,
+                                  @Param("cursorId") Long cursorId,
+                                  @Param("limit") int limit);
 
     /**
      * 增加评论点赞数
@@ -63,5 +104,32 @@ public interface CommentMapper extends BaseMapper<Comment> {
      */
     @Update("UPDATE comment SET like_count = like_count - 1 WHERE id = #{commentId} AND like_count > 0")
     int decrementLikeCount(@Param("commentId") Long commentId);
-}
 
+    /**
+     * 统计评论总数和正常状态评论数（一次查询完成）
+     *
+     * @param normalStatus 正常状态值
+     * @return 统计结果
+     */
+    @Select("SELECT COUNT(*) AS total, COALESCE(SUM(status = #{normalStatus}), 0) AS normal " +
+            "FROM comment WHERE deleted = 0")
+    StatusCountDTO countByStatus(@Param("normalStatus") Integer normalStatus);
+
+    /**
+     * 按用户统计评论数
+     *
+     * @param userIds 用户ID列表
+     * @return 用户ID -> 评论数
+     */
+    List<IdCountDTO> countGroupByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 流式读取全部未删除评论的导出字段（按ID升序，需在事务内遍历）
+     *
+     * @return 评论游标
+     */
+    @Select("SELECT id, user_id, article_id, content, root_id, parent_id, to_user_id, like_count, status, create_time " +
+            "FROM comment WHERE deleted = 0 ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<Comment> scanCommentsForExport();
+}
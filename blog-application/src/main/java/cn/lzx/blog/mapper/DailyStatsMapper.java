@@ -0,0 +1,31 @@
+package cn.lzx.blog.mapper;
+
+import cn.lzx.entity.DailyStats;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 每日统计Mapper接口
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Mapper
+public interface DailyStatsMapper extends BaseMapper<DailyStats> {
+
+    /**
+     * 写入一天的统计（已存在时覆盖，重复落库结果不变）
+     *
+     * @param stats 每日统计
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO daily_stats (stat_date, view_count, like_count, comment_count, collect_count, " +
+            "register_count, publish_count) VALUES (#{stats.statDate}, #{stats.viewCount}, #{stats.likeCount}, " +
+            "#{stats.commentCount}, #{stats.collectCount}, #{stats.registerCount}, #{stats.publishCount}) " +
+            "ON DUPLICATE KEY UPDATE view_count = VALUES(view_count), like_count = VALUES(like_count), " +
+            "comment_count = VALUES(comment_count), collect_count = VALUES(collect_count), " +
+            "register_count = VALUES(register_count), publish_count = VALUES(publish_count)")
+    int upsert(@Param("stats") DailyStats stats);
+}
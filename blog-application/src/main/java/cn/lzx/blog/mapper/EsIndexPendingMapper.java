@@ -0,0 +1,55 @@
+package cn.lzx.blog.mapper;
+
+import cn.lzx.entity.EsIndexPending;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * ES待索引文章Mapper接口
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Mapper
+public interface EsIndexPendingMapper extends BaseMapper<EsIndexPending> {
+
+    /**
+     * 登记待索引文章（已存在时刷新登记时间）
+     *
+     * @param articleId 文章ID
+     * @param now       登记时间
+     * @return 影响行数
+     */
+    @Insert("INSERT INTO es_index_pending (article_id, create_time, update_time) VALUES (#{articleId}, #{now}, #{now}) " +
+            "ON DUPLICATE KEY UPDATE update_time = #{now}")
+    int upsert(@Param("articleId") Long articleId, @Param("now") LocalDateTime now);
+
+    /**
+     * 批量登记待索引文章（已存在时刷新登记时间）
+     *
+     * @param articleIds 文章ID列表
+     * @param now        登记时间
+     * @return 影响行数
+     */
+    @Insert("<script>INSERT INTO es_index_pending (article_id, create_time, update_time) VALUES " +
+            "<foreach collection='articleIds' item='id' separator=','>(#{id}, #{now}, #{now})</foreach> " +
+            "ON DUPLICATE KEY UPDATE update_time = #{now}</script>")
+    int upsertBatch(@Param("articleIds") Collection<Long> articleIds, @Param("now") LocalDateTime now);
+
+    /**
+     * 删除已完成索引的记录（只删除登记时间不晚于本次读取时间的，避免误删期间再次登记的记录）
+     *
+     * @param articleIds 文章ID列表
+     * @param before     本次读取文章数据的时间
+     * @return 影响行数
+     */
+    @Delete("<script>DELETE FROM es_index_pending WHERE update_time &lt;= #{before} AND article_id IN " +
+            "<foreach collection='articleIds' item='id' open='(' separator=',' close=')'>#{id}</foreach></script>")
+    int deleteIndexed(@Param("articleIds") Collection<Long> articleIds, @Param("before") LocalDateTime before);
+}
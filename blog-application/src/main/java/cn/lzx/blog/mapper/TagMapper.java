@@ -27,18 +27,4 @@ public interface TagMapper extends BaseMapper<Tag> {
             "INNER JOIN article_tag at ON t.id = at.tag_id " +
             "WHERE at.article_id = #{articleId}")
     List<Tag> selectByArticleId(@Param("articleId") Long articleId);
-
-    /**
-     * 查询热门标签（按文章数量排序）
-     *
-     * @param limit 限制数量
-     * @return 标签列表及文章数量
-     */
-    @Select("SELECT t.id, t.name, COUNT(at.article_id) as article_count " +
-            "FROM tag t " +
-            "LEFT JOIN article_tag at ON t.id = at.tag_id " +
-            "GROUP BY t.id, t.name " +
-            "ORDER BY article_count DESC " +
-            "LIMIT #{limit}")
-    List<Tag> selectHotTags(@Param("limit") Integer limit);
 }
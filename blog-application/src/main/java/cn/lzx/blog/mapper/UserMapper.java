@@ -1,12 +1,37 @@
 package cn.lzx.blog.mapper;
 
+import cn.lzx.blog.dto.StatusCountDTO;
 import cn.lzx.entity.User;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 /**
  * 用户Mapper接口
  */
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
+
+    /**
+     * 统计用户总数和正常状态用户数（一次查询完成）
+     *
+     * @param normalStatus 正常状态值
+     * @return 统计结果
+     */
+    @Select("SELECT COUNT(*) AS total, COALESCE(SUM(status = #{normalStatus}), 0) AS normal " +
+            "FROM user WHERE deleted = 0")
+    StatusCountDTO countByStatus(@Param("normalStatus") Integer normalStatus);
+
+    /**
+     * 流式读取全部未删除用户的导出字段（不含密码，按ID升序，需在事务内遍历）
+     *
+     * @return 用户游标
+     */
+    @Select("SELECT id, username, nickname, email, phone, status, create_time FROM user WHERE deleted = 0 ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<User> scanUsersForExport();
 }
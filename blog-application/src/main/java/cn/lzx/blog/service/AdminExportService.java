@@ -0,0 +1,86 @@
+package cn.lzx.blog.service;
+
+import java.io.OutputStream;
+
+/**
+ * 后台数据导出Service接口
+ * 从数据库游标逐行读取并直接写入输出流，内存占用与导出行数无关
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+public interface AdminExportService {
+
+    /**
+     * 导出全部文章（不含正文）
+     *
+     * @param format 导出格式
+     * @param out    输出流（由调用方关闭）
+     * @return 导出行数
+     */
+    long exportArticles(Format format, OutputStream out);
+
+    /**
+     * 导出全部用户（不含密码）
+     *
+     * @param format 导出格式
+     * @param out    输出流（由调用方关闭）
+     * @return 导出行数
+     */
+    long exportUsers(Format format, OutputStream out);
+
+    /**
+     * 导出全部评论
+     *
+     * @param format 导出格式
+     * @param out    输出流（由调用方关闭）
+     * @return 导出行数
+     */
+    long exportComments(Format format, OutputStream out);
+
+    /**
+     * 导出格式
+     */
+    enum Format {
+        CSV("csv", "text/csv;charset=UTF-8"),
+        NDJSON("ndjson", "application/x-ndjson;charset=UTF-8");
+
+        /**
+         * 文件扩展名（同时作为请求参数值）
+         */
+        private final String extension;
+
+        /**
+         * 响应内容类型
+         */
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * 按请求参数解析导出格式
+         *
+         * @param value 参数值（不区分大小写）
+         * @return 导出格式，无法识别时返回null
+         */
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+}
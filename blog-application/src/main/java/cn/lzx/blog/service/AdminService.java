@@ -1,11 +1,15 @@
 package cn.lzx.blog.service;
 
 import cn.lzx.blog.dto.admin.ArticleCategoryUpdateDTO;
+import cn.lzx.blog.dto.admin.ArticleStatusBatchUpdateDTO;
 import cn.lzx.blog.dto.admin.ArticleStatusUpdateDTO;
 import cn.lzx.blog.dto.admin.ArticleTagUpdateDTO;
 import cn.lzx.blog.dto.admin.CategoryManageDTO;
+import cn.lzx.blog.dto.admin.CommentBatchDeleteDTO;
+import cn.lzx.blog.dto.admin.CommentStatusBatchUpdateDTO;
 import cn.lzx.blog.dto.admin.CommentStatusUpdateDTO;
 import cn.lzx.blog.dto.admin.TagManageDTO;
+import cn.lzx.blog.dto.admin.UserStatusBatchUpdateDTO;
 import cn.lzx.blog.vo.CategoryVO;
 import cn.lzx.blog.vo.TagVO;
 import cn.lzx.blog.vo.admin.CommentManageVO;
@@ -53,6 +57,13 @@ public interface AdminService {
      */
     void updateArticleStatus(ArticleStatusUpdateDTO dto);
 
+    /**
+     * 批量更新文章状态（批量屏蔽/取消屏蔽）
+     *
+     * @param dto 文章状态批量更新DTO
+     */
+    void batchUpdateArticleStatus(ArticleStatusBatchUpdateDTO dto);
+
     /**
      * 分页查询用户列表（访客管理）
      *
@@ -71,6 +82,13 @@ public interface AdminService {
      */
     void updateUserStatus(Long userId, Integer status);
 
+    /**
+     * 批量更新用户状态（批量启用/禁用）
+     *
+     * @param dto 用户状态批量更新DTO
+     */
+    void batchUpdateUserStatus(UserStatusBatchUpdateDTO dto);
+
     /**
      * 分页查询评论列表（评论管理）
      *
@@ -89,6 +107,13 @@ public interface AdminService {
      */
     void updateCommentStatus(CommentStatusUpdateDTO dto);
 
+    /**
+     * 批量更新评论状态
+     *
+     * @param dto 评论状态批量更新DTO
+     */
+    void batchUpdateCommentStatus(CommentStatusBatchUpdateDTO dto);
+
     /**
      * 删除评论（管理员）
      *
@@ -96,6 +121,13 @@ public interface AdminService {
      */
     void deleteComment(Long commentId);
 
+    /**
+     * 批量删除评论（管理员）
+     *
+     * @param dto 评论批量删除DTO
+     */
+    void batchDeleteComments(CommentBatchDeleteDTO dto);
+
     /**
      * 获取数据统计
      *
@@ -0,0 +1,27 @@
+package cn.lzx.blog.service;
+
+import cn.lzx.blog.vo.admin.ReindexProgressVO;
+
+/**
+ * 文章索引重建服务接口
+ * 全量重建到新的版本索引后原子切换别名，重建期间搜索不受影响
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+public interface ArticleReindexService {
+
+    /**
+     * 启动全量重建（后台执行，同一时间只允许一个任务）
+     *
+     * @return 任务启动时的进度
+     */
+    ReindexProgressVO startReindex();
+
+    /**
+     * 查询最近一次重建任务的进度
+     *
+     * @return 重建进度
+     */
+    ReindexProgressVO getReindexProgress();
+}
@@ -2,8 +2,11 @@ package cn.lzx.blog.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
+import cn.lzx.blog.vo.ArticleCursorPageVO;
 import cn.lzx.blog.vo.ArticleListVO;
 
+import java.util.List;
+
 /**
  * 文章搜索服务接口
  * 基于Elasticsearch实现全文搜索
@@ -18,6 +21,13 @@ public interface ArticleSearchService {
      */
     void initArticleIndex();
 
+    /**
+     * 按当前映射创建一个新的版本索引（不绑定别名）
+     *
+     * @return 新索引名称，创建失败返回null
+     */
+    String createVersionedArticleIndex();
+
     /**
      * 添加或更新文章到ES索引
      *
@@ -46,4 +56,41 @@ public interface ArticleSearchService {
      */
     Page<ArticleListVO> searchArticles(String keyword, Long categoryId, Long tagId,
             String orderBy, String orderType, Integer page, Integer size);
+
+    /**
+     * 全文搜索文章（游标分页）
+     * 基于 search_after + PIT，任意深度的翻页耗时与第一页相同，翻页期间结果顺序稳定；
+     * 第一页同时返回分类、标签分面统计（本地降级索引不提供）
+     *
+     * @param keyword    搜索关键词
+     * @param categoryId 分类ID（可选）
+     * @param tagId      标签ID（可选）
+     * @param orderBy    排序字段
+     * @param orderType  排序方式
+     * @param cursor     分页游标（为空表示第一页）
+     * @param size       每页大小
+     * @return 搜索结果
+     */
+    ArticleCursorPageVO searchArticlesByCursor(String keyword, Long categoryId, Long tagId,
+            String orderBy, String orderType, String cursor, Integer size);
+
+    /**
+     * 搜索建议（输入即提示）
+     *
+     * @param prefix 输入前缀
+     * @param size   返回数量
+     * @return 建议词列表
+     */
+    List<String> suggest(String prefix, Integer size);
+
+    /**
+     * 后台按标题搜索文章（包含草稿和屏蔽文章，按创建时间倒序）
+     *
+     * @param keyword 标题关键词
+     * @param status  文章状态（可选）
+     * @param current 页码
+     * @param size    每页大小
+     * @return 命中的文章ID分页（按排序顺序），ES不可用时返回null，由调用方改用数据库查询
+     */
+    Page<Long> searchArticleIdsForAdmin(String keyword, Integer status, Long current, Long size);
 }
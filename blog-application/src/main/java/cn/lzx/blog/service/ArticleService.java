@@ -80,12 +80,30 @@ public interface ArticleService {
      */
     void decrementCommentCount(Long articleId);
 
+    /**
+     * 批量调整多篇文章的评论数（一条UPDATE完成）
+     *
+     * @param deltas 文章ID -> 评论数增量
+     */
+    void adjustCommentCounts(java.util.Map<Long, Long> deltas);
+
     /**
      * 获取热门文章列表
-     * 从Redis ZSet中获取热门文章排行榜
+     * 从Redis ZSet中获取热门文章排行榜（按互动加权、随时间衰减的热度排序）
      *
      * @param limit 返回数量限制
      * @return 热门文章列表
      */
     java.util.List<ArticleListVO> getHotArticles(Integer limit);
+
+    /**
+     * 获取趋势文章列表
+     * 读取按时间窗口、分类预先合并好的排行，不在请求时计算
+     *
+     * @param window     时间窗口（hour/day，默认day）
+     * @param categoryId 分类ID（为空表示全站）
+     * @param limit      返回数量限制
+     * @return 趋势文章列表
+     */
+    java.util.List<ArticleListVO> getTrendingArticles(String window, Long categoryId, Integer limit);
 }
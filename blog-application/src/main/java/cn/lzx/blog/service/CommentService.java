@@ -1,8 +1,11 @@
 package cn.lzx.blog.service;
 
 import cn.lzx.blog.dto.CommentCreateDTO;
-import cn.lzx.blog.vo.CommentVO;
+import cn.lzx.blog.vo.CommentCreateVO;
+import cn.lzx.blog.vo.CommentPageVO;
+import cn.lzx.entity.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,9 +21,16 @@ public interface CommentService {
      *
      * @param userId 用户ID
      * @param dto    评论创建DTO
-     * @return 评论ID
+     * @return 创建结果（异步提交时只有客户端令牌）
      */
-    Long createComment(Long userId, CommentCreateDTO dto);
+    CommentCreateVO createComment(Long userId, CommentCreateDTO dto);
+
+    /**
+     * 批量保存评论（异步评论提交的落库入口，按文章聚合更新评论数，已落库的评论自动跳过）
+     *
+     * @param comments 已校验并带有客户端令牌的评论列表（按提交顺序）
+     */
+    void saveCommentBatch(List<Comment> comments);
 
     /**
      * 删除评论
@@ -31,12 +41,45 @@ public interface CommentService {
     void deleteComment(Long userId, Long commentId);
 
     /**
-     * 获取文章评论列表（树形结构）
+     * 游标分页获取文章根评论（每条根评论内联前几条回复及回复总数）
      *
      * @param articleId 文章ID
-     * @param userId     当前用户ID（可为空，用于判断是否点赞）
-     * @return 评论列表
+     * @param userId    当前用户ID（可为空，用于判断是否点赞）
+     * @param cursor    分页游标（为空表示第一页）
+     * @param size      每页条数
+     * @return 评论分页
      */
-    List<CommentVO> getCommentList(Long articleId, Long userId);
-}
+    CommentPageVO getCommentPage(Long articleId, Long userId, String cursor, Integer size);
 
+    /**
+     * 游标分页获取根评论下的回复
+     *
+     * @param rootId 根评论ID
+     * @param userId 当前用户ID（可为空，用于判断是否点赞）
+     * @param cursor 分页游标（为空表示第一页）
+     * @param size   每页条数
+     * @return 回复分页
+     */
+    CommentPageVO getReplyPage(Long rootId, Long userId, String cursor, Integer size);
+
+    /**
+     * 将评论增量加入文章评论缓存（评论新增或恢复显示时调用，事务提交后生效）
+     *
+     * @param comment 评论实体
+     */
+    void addToCommentCache(Comment comment);
+
+    /**
+     * 从文章评论缓存中移除评论（评论删除或隐藏时调用，事务提交后生效）
+     *
+     * @param comment 评论实体
+     */
+    void removeFromCommentCache(Comment comment);
+
+    /**
+     * 淘汰多篇文章的评论缓存（批量审核时调用，事务提交后在一次管道中完成）
+     *
+     * @param articleIds 文章ID列表
+     */
+    void evictCommentCache(Collection<Long> articleIds);
+}
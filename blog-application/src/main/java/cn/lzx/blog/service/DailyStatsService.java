@@ -0,0 +1,65 @@
+package cn.lzx.blog.service;
+
+import cn.lzx.blog.vo.admin.DailyStatsVO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 每日统计Service接口
+ * 当天的各项指标在Redis哈希桶中实时累加，每晚落库到每日统计表
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+public interface DailyStatsService {
+
+    /**
+     * 累加当天的指标（事务提交后生效，无事务时立即生效）
+     *
+     * @param metric 指标
+     * @param delta  增量
+     */
+    void record(Metric metric, long delta);
+
+    /**
+     * 将指定日期的统计桶落库（可重复执行）
+     *
+     * @param date 统计日期
+     */
+    void persist(LocalDate date);
+
+    /**
+     * 查询日期范围内的每日统计（包含首尾，没有数据的日期补0，当天及尚未落库的日期读取Redis）
+     *
+     * @param startDate 开始日期
+     * @param endDate   结束日期
+     * @return 按日期升序的每日统计
+     */
+    List<DailyStatsVO> listDailyStats(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 统计指标
+     */
+    enum Metric {
+        VIEW("view"),
+        LIKE("like"),
+        COMMENT("comment"),
+        COLLECT("collect"),
+        REGISTER("register"),
+        PUBLISH("publish");
+
+        /**
+         * 统计桶中的字段名
+         */
+        private final String field;
+
+        Metric(String field) {
+            this.field = field;
+        }
+
+        public String getField() {
+            return field;
+        }
+    }
+}
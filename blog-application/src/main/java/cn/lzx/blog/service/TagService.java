@@ -2,6 +2,7 @@ package cn.lzx.blog.service;
 
 import cn.lzx.blog.vo.TagVO;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -42,4 +43,27 @@ public interface TagService {
      * @return 标签ID列表
      */
     List<Long> getOrCreateTagsByNames(List<String> names);
+
+    /**
+     * 按文章变更前后的状态和标签增量更新标签热度（事务提交后生效）
+     *
+     * @param wasPublished 变更前是否已发布
+     * @param oldTagIds    变更前的标签ID
+     * @param isPublished  变更后是否已发布
+     * @param newTagIds    变更后的标签ID
+     */
+    void updateTagPopularity(boolean wasPublished, Collection<Long> oldTagIds,
+                             boolean isPublished, Collection<Long> newTagIds);
+
+    /**
+     * 从标签热度中移除标签（事务提交后生效）
+     *
+     * @param tagId 标签ID
+     */
+    void removeTagPopularity(Long tagId);
+
+    /**
+     * 按数据库全量重建标签热度，校正增量更新的偏差
+     */
+    void rebuildTagPopularity();
 }
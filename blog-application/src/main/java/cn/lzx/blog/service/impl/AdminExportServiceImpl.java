@@ -0,0 +1,351 @@
+package cn.lzx.blog.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.lzx.blog.dto.IdCountDTO;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.blog.mapper.CategoryMapper;
+import cn.lzx.blog.mapper.CommentMapper;
+import cn.lzx.blog.mapper.UserMapper;
+import cn.lzx.blog.service.AdminExportService;
+import cn.lzx.entity.Article;
+import cn.lzx.entity.Category;
+import cn.lzx.entity.Comment;
+import cn.lzx.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 后台数据导出Service实现类
+ * - 主查询在只读事务中用流式游标逐行读取，攒满一块后批量解析关联数据（作者、分类、文章标题等）并写出，
+ *   内存中最多只保留一块数据
+ * - MySQL流式结果集未读完前同一连接不能执行其他语句，关联查询在新事务（另一个连接）中执行
+ * - 输出经缓冲写入，由缓冲区满时自动刷出，不逐行刷新
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminExportServiceImpl implements AdminExportService {
+
+    /**
+     * 每块行数（关联数据按块批量查询）
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * 输出缓冲区大小（字符）
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final List<String> ARTICLE_COLUMNS = List.of("id", "title", "authorId", "authorName",
+            "categoryId", "categoryName", "status", "viewCount", "likeCount", "commentCount", "collectCount",
+            "createTime", "updateTime");
+
+    private static final List<String> USER_COLUMNS = List.of("id", "username", "nickname", "email", "phone",
+            "status", "articleCount", "commentCount", "createTime");
+
+    private static final List<String> COMMENT_COLUMNS = List.of("id", "articleId", "articleTitle", "userId",
+            "userNickname", "rootId", "parentId", "toUserId", "content", "likeCount", "status", "createTime");
+
+    private final ArticleMapper articleMapper;
+    private final UserMapper userMapper;
+    private final CommentMapper commentMapper;
+    private final CategoryMapper categoryMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportArticles(Format format, OutputStream out) {
+        return export(format, out, ARTICLE_COLUMNS, articleMapper::scanArticlesForExport, chunk -> {
+            Map<Long, String> authorNames = selectNicknames(chunk.stream().map(Article::getUserId));
+            Map<Long, String> categoryNames = selectCategoryNames(chunk.stream().map(Article::getCategoryId));
+            return chunk.stream()
+                    .map(article -> List.<Object>of(
+                            article.getId(),
+                            nullToEmpty(article.getTitle()),
+                            article.getUserId(),
+                            nullToEmpty(authorNames.get(article.getUserId())),
+                            nullToEmpty(article.getCategoryId()),
+                            nullToEmpty(categoryNames.get(article.getCategoryId())),
+                            nullToEmpty(article.getStatus()),
+                            nullToEmpty(article.getViewCount()),
+                            nullToEmpty(article.getLikeCount()),
+                            nullToEmpty(article.getCommentCount()),
+                            nullToEmpty(article.getCollectCount()),
+                            format(article.getCreateTime()),
+                            format(article.getUpdateTime())))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Override
+    public long exportUsers(Format format, OutputStream out) {
+        return export(format, out, USER_COLUMNS, userMapper::scanUsersForExport, chunk -> {
+            List<Long> userIds = chunk.stream().map(User::getId).collect(Collectors.toList());
+            Map<Long, Long> articleCounts = toCountMap(articleMapper.countGroupByUserIds(userIds));
+            Map<Long, Long> commentCounts = toCountMap(commentMapper.countGroupByUserIds(userIds));
+            return chunk.stream()
+                    .map(user -> List.<Object>of(
+                            user.getId(),
+                            nullToEmpty(user.getUsername()),
+                            nullToEmpty(user.getNickname()),
+                            nullToEmpty(user.getEmail()),
+                            nullToEmpty(user.getPhone()),
+                            nullToEmpty(user.getStatus()),
+                            articleCounts.getOrDefault(user.getId(), 0L),
+                            commentCounts.getOrDefault(user.getId(), 0L),
+                            format(user.getCreateTime())))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Override
+    public long exportComments(Format format, OutputStream out) {
+        return export(format, out, COMMENT_COLUMNS, commentMapper::scanCommentsForExport, chunk -> {
+            Map<Long, String> nicknames = selectNicknames(chunk.stream().map(Comment::getUserId));
+            Map<Long, String> articleTitles = selectArticleTitles(chunk.stream().map(Comment::getArticleId));
+            return chunk.stream()
+                    .map(comment -> List.<Object>of(
+                            comment.getId(),
+                            comment.getArticleId(),
+                            nullToEmpty(articleTitles.get(comment.getArticleId())),
+                            comment.getUserId(),
+                            nullToEmpty(nicknames.get(comment.getUserId())),
+                            nullToEmpty(comment.getRootId()),
+                            nullToEmpty(comment.getParentId()),
+                            nullToEmpty(comment.getToUserId()),
+                            nullToEmpty(comment.getContent()),
+                            nullToEmpty(comment.getLikeCount()),
+                            nullToEmpty(comment.getStatus()),
+                            format(comment.getCreateTime())))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * 游标逐行读取，按块解析关联数据后写出
+     *
+     * @param format      导出格式
+     * @param out         输出流
+     * @param columns     列名
+     * @param cursorQuery 主查询（流式游标）
+     * @param chunkMapper 一块实体 -> 一块行数据（在新事务中执行，可以查询关联数据）
+     * @return 导出行数
+     */
+    private <T> long export(Format format, OutputStream out, List<String> columns, Supplier<Cursor<T>> cursorQuery,
+                            Function<List<T>, List<List<Object>>> chunkMapper) {
+        long start = System.currentTimeMillis();
+        TransactionTemplate cursorTemplate = new TransactionTemplate(transactionManager);
+        cursorTemplate.setReadOnly(true);
+        TransactionTemplate lookupTemplate = new TransactionTemplate(transactionManager);
+        lookupTemplate.setReadOnly(true);
+        lookupTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Long total = cursorTemplate.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            try (Cursor<T> cursor = cursorQuery.get()) {
+                RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+                rowWriter.writeHeader(columns);
+                long count = 0;
+                List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+                for (T entity : cursor) {
+                    chunk.add(entity);
+                    if (chunk.size() >= CHUNK_SIZE) {
+                        count += writeChunk(rowWriter, columns, chunk, chunkMapper, lookupTemplate);
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    count += writeChunk(rowWriter, columns, chunk, chunkMapper, lookupTemplate);
+                }
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("数据导出完成: format={}, rows={}, 耗时 {} ms", format, total, System.currentTimeMillis() - start);
+        return total != null ? total : 0;
+    }
+
+    private <T> int writeChunk(RowWriter rowWriter, List<String> columns, List<T> chunk,
+                               Function<List<T>, List<List<Object>>> chunkMapper,
+                               TransactionTemplate lookupTemplate) throws IOException {
+        List<List<Object>> rows = lookupTemplate.execute(status -> chunkMapper.apply(chunk));
+        if (rows == null) {
+            return 0;
+        }
+        for (List<Object> row : rows) {
+            rowWriter.writeRow(columns, row);
+        }
+        return rows.size();
+    }
+
+    private Map<Long, String> selectNicknames(Stream<Long> userIds) {
+        List<Long> ids = userIds.filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> nicknames = new HashMap<>();
+        userMapper.selectList(new LambdaQueryWrapper<User>()
+                        .select(User::getId, User::getNickname)
+                        .in(User::getId, ids))
+                .forEach(user -> nicknames.put(user.getId(), user.getNickname()));
+        return nicknames;
+    }
+
+    private Map<Long, String> selectCategoryNames(Stream<Long> categoryIds) {
+        List<Long> ids = categoryIds.filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> names = new HashMap<>();
+        categoryMapper.selectList(new LambdaQueryWrapper<Category>()
+                        .select(Category::getId, Category::getName)
+                        .in(Category::getId, ids))
+                .forEach(category -> names.put(category.getId(), category.getName()));
+        return names;
+    }
+
+    private Map<Long, String> selectArticleTitles(Stream<Long> articleIds) {
+        List<Long> ids = articleIds.filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> titles = new HashMap<>();
+        articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                        .select(Article::getId, Article::getTitle)
+                        .in(Article::getId, ids))
+                .forEach(article -> titles.put(article.getId(), article.getTitle()));
+        return titles;
+    }
+
+    private static Map<Long, Long> toCountMap(List<IdCountDTO> counts) {
+        Map<Long, Long> map = new HashMap<>();
+        counts.forEach(count -> map.put(count.getId(), count.getCount()));
+        return map;
+    }
+
+    private static Object nullToEmpty(Object value) {
+        return value != null ? value : "";
+    }
+
+    private static String format(LocalDateTime time) {
+        return time != null ? time.format(DATE_TIME_FORMATTER) : "";
+    }
+
+    /**
+     * 行输出
+     */
+    private interface RowWriter {
+
+        void writeHeader(List<String> columns) throws IOException;
+
+        void writeRow(List<String> columns, List<Object> values) throws IOException;
+    }
+
+    /**
+     * CSV输出：带BOM便于Excel识别UTF-8，字段按 RFC 4180 转义；
+     * 以 = + - @ 开头的文本前加单引号，避免在表格软件中被当作公式执行
+     */
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader(List<String> columns) throws IOException {
+            writer.write('\uFEFF');
+            writeRow(columns, new ArrayList<>(columns));
+        }
+
+        @Override
+        public void writeRow(List<String> columns, List<Object> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values.get(i);
+                writer.write(value instanceof String ? escape((String) value) : String.valueOf(value));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            if (value.isEmpty()) {
+                return value;
+            }
+            char first = value.charAt(0);
+            if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * NDJSON输出：每行一个JSON对象，不输出表头
+     */
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader(List<String> columns) {
+        }
+
+        @Override
+        public void writeRow(List<String> columns, List<Object> values) throws IOException {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                Object value = values.get(i);
+                row.put(columns.get(i), "".equals(value) ? null : value);
+            }
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+}
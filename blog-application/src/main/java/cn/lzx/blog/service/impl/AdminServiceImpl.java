@@ -1,23 +1,38 @@
 package cn.lzx.blog.service.impl;
 
+import cn.lzx.blog.dto.ArticleStatsDTO;
+import cn.lzx.blog.dto.IdCountDTO;
+import cn.lzx.blog.dto.StatusCountDTO;
 import cn.lzx.blog.dto.admin.ArticleCategoryUpdateDTO;
+import cn.lzx.blog.dto.admin.ArticleStatusBatchUpdateDTO;
 import cn.lzx.blog.dto.admin.ArticleStatusUpdateDTO;
 import cn.lzx.blog.dto.admin.ArticleTagUpdateDTO;
 import cn.lzx.blog.dto.admin.CategoryManageDTO;
+import cn.lzx.blog.dto.admin.CommentBatchDeleteDTO;
+import cn.lzx.blog.dto.admin.CommentStatusBatchUpdateDTO;
 import cn.lzx.blog.dto.admin.CommentStatusUpdateDTO;
 import cn.lzx.blog.dto.admin.TagManageDTO;
+import cn.lzx.blog.dto.admin.UserStatusBatchUpdateDTO;
 import cn.lzx.blog.vo.CategoryVO;
 import cn.lzx.blog.vo.TagVO;
+import cn.lzx.blog.integration.es.ArticleIndexer;
 import cn.lzx.blog.mapper.*;
 import cn.lzx.blog.service.AdminService;
+import cn.lzx.blog.service.ArticleSearchService;
 import cn.lzx.blog.service.ArticleService;
+import cn.lzx.blog.service.CommentService;
+import cn.lzx.blog.service.DailyStatsService;
+import cn.lzx.blog.service.TagService;
 import cn.lzx.blog.vo.admin.CommentManageVO;
 import cn.lzx.blog.vo.admin.StatisticsVO;
 import cn.lzx.blog.vo.admin.UserManageVO;
 import cn.lzx.constants.CommonConstants;
 import cn.lzx.entity.*;
+import cn.lzx.enums.RedisKeyEnum;
 import cn.lzx.exception.BusinessException;
+import cn.lzx.utils.RedisUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +45,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -43,6 +60,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AdminServiceImpl implements AdminService {
 
+    /**
+     * 评论全文检索的最短关键词长度（与 MySQL ngram_token_size 默认值一致）
+     */
+    private static final int COMMENT_FULLTEXT_MIN_LENGTH = 2;
+
     private final ArticleMapper articleMapper;
     private final ArticleTagMapper articleTagMapper;
     private final CategoryMapper categoryMapper;
@@ -50,6 +72,12 @@ public class AdminServiceImpl implements AdminService {
     private final UserMapper userMapper;
     private final CommentMapper commentMapper;
     private final ArticleService articleService;
+    private final CommentService commentService;
+    private final ArticleIndexer articleIndexer;
+    private final TagService tagService;
+    private final RedisUtil redisUtil;
+    private final ArticleSearchService articleSearchService;
+    private final DailyStatsService dailyStatsService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -72,6 +100,7 @@ public class AdminServiceImpl implements AdminService {
                 .categoryId(dto.getCategoryId())
                 .build();
         articleMapper.updateById(updateArticle);
+        articleIndexer.enqueue(dto.getArticleId());
 
         log.info("管理员更新文章[{}]分类为[{}]成功", dto.getArticleId(), dto.getCategoryId());
     }
@@ -86,6 +115,7 @@ public class AdminServiceImpl implements AdminService {
         }
 
         // 2. 删除原有标签关联
+        List<Long> oldTagIds = selectTagIds(dto.getArticleId());
         LambdaQueryWrapper<ArticleTag> deleteWrapper = new LambdaQueryWrapper<>();
         deleteWrapper.eq(ArticleTag::getArticleId, dto.getArticleId());
         articleTagMapper.delete(deleteWrapper);
@@ -112,12 +142,23 @@ public class AdminServiceImpl implements AdminService {
                 articleTagMapper.insert(articleTag);
             }
         }
+        boolean published = article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED;
+        tagService.updateTagPopularity(published, oldTagIds, published, dto.getTagIds());
+        articleIndexer.enqueue(dto.getArticleId());
 
         log.info("管理员更新文章[{}]标签成功，新标签ID列表: {}", dto.getArticleId(), dto.getTagIds());
     }
 
     @Override
     public Page<cn.lzx.blog.vo.ArticleListVO> getArticleList(Long current, Long size, String keyword, Integer status) {
+        // 标题搜索走ES索引（包含草稿和屏蔽文章），ES不可用时退化为数据库模糊查询
+        if (StringUtils.hasText(keyword)) {
+            Page<Long> idPage = articleSearchService.searchArticleIdsForAdmin(keyword, status, current, size);
+            if (idPage != null) {
+                return toArticleListPage(idPage);
+            }
+        }
+
         Page<Article> page = new Page<>(current, size);
         LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
 
@@ -147,6 +188,24 @@ public class AdminServiceImpl implements AdminService {
         return voPage;
     }
 
+    /**
+     * 按ES命中顺序加载文章并转换（索引与数据库之间有短暂延迟，已删除的文章直接跳过）
+     */
+    private Page<cn.lzx.blog.vo.ArticleListVO> toArticleListPage(Page<Long> idPage) {
+        List<Article> articles = new ArrayList<>();
+        if (!idPage.getRecords().isEmpty()) {
+            Map<Long, Article> articleMap = articleMapper.selectBatchIds(idPage.getRecords()).stream()
+                    .collect(Collectors.toMap(Article::getId, article -> article));
+            idPage.getRecords().stream()
+                    .map(articleMap::get)
+                    .filter(java.util.Objects::nonNull)
+                    .forEach(articles::add);
+        }
+        Page<cn.lzx.blog.vo.ArticleListVO> voPage = new Page<>(idPage.getCurrent(), idPage.getSize(), idPage.getTotal());
+        voPage.setRecords(convertToArticleListVO(articles));
+        return voPage;
+    }
+
     /**
      * 转换为ArticleListVO列表（管理员用）
      */
@@ -241,11 +300,81 @@ public class AdminServiceImpl implements AdminService {
                 .status(dto.getStatus())
                 .build();
         articleMapper.updateById(updateArticle);
+        List<Long> tagIds = selectTagIds(dto.getArticleId());
+        tagService.updateTagPopularity(article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED, tagIds,
+                dto.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED, tagIds);
+        if (article.getStatus() != CommonConstants.ARTICLE_STATUS_PUBLISHED
+                && dto.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED) {
+            dailyStatsService.record(DailyStatsService.Metric.PUBLISH, 1);
+        }
+        articleIndexer.enqueue(dto.getArticleId());
+        redisUtil.delete(RedisKeyEnum.KEY_ARTICLE_CACHE.getKey(dto.getArticleId()));
 
         String statusText = dto.getStatus() == CommonConstants.ARTICLE_STATUS_BLOCKED ? "屏蔽" : "取消屏蔽";
         log.info("管理员{}文章[{}]成功", statusText, dto.getArticleId());
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void batchUpdateArticleStatus(ArticleStatusBatchUpdateDTO dto) {
+        // 验证状态值
+        if (!CommonConstants.ARTICLE_STATUS_DRAFT.equals(dto.getStatus())
+                && !CommonConstants.ARTICLE_STATUS_PUBLISHED.equals(dto.getStatus())
+                && !CommonConstants.ARTICLE_STATUS_BLOCKED.equals(dto.getStatus())) {
+            throw new BusinessException("状态值无效");
+        }
+
+        // 1. 查询当前状态，只处理状态有变化的文章
+        List<Article> articles = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getStatus)
+                .in(Article::getId, dto.getArticleIds()));
+        if (articles.isEmpty()) {
+            throw new BusinessException("文章不存在");
+        }
+        List<Article> changed = articles.stream()
+                .filter(article -> !dto.getStatus().equals(article.getStatus()))
+                .collect(Collectors.toList());
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> changedIds = changed.stream().map(Article::getId).collect(Collectors.toList());
+
+        // 2. 一条UPDATE更新全部状态
+        articleMapper.update(Article.builder().status(dto.getStatus()).build(),
+                new LambdaUpdateWrapper<Article>().in(Article::getId, changedIds));
+
+        // 3. 标签热度：离开/进入已发布状态的文章标签汇总后一次更新
+        boolean published = CommonConstants.ARTICLE_STATUS_PUBLISHED.equals(dto.getStatus());
+        Map<Long, List<Long>> tagIdsByArticle = articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                        .select(ArticleTag::getArticleId, ArticleTag::getTagId)
+                        .in(ArticleTag::getArticleId, changedIds))
+                .stream()
+                .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                        Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+        List<Long> unpublishedTagIds = new ArrayList<>();
+        List<Long> publishedTagIds = new ArrayList<>();
+        for (Article article : changed) {
+            boolean wasPublished = CommonConstants.ARTICLE_STATUS_PUBLISHED.equals(article.getStatus());
+            if (wasPublished != published) {
+                (wasPublished ? unpublishedTagIds : publishedTagIds)
+                        .addAll(tagIdsByArticle.getOrDefault(article.getId(), List.of()));
+            }
+        }
+        tagService.updateTagPopularity(true, unpublishedTagIds, true, publishedTagIds);
+        if (published) {
+            // changed 中的文章此前都不是已发布状态，全部计入当日发布数
+            dailyStatsService.record(DailyStatsService.Metric.PUBLISH, changed.size());
+        }
+
+        // 4. 一次登记索引（刷写时合并为一个bulk请求），一次删除全部详情缓存
+        articleIndexer.enqueueAll(changedIds);
+        redisUtil.delete(changedIds.stream()
+                .map(id -> RedisKeyEnum.KEY_ARTICLE_CACHE.getKey(id))
+                .collect(Collectors.toList()));
+
+        log.info("管理员批量更新文章状态为[{}]成功: {}", dto.getStatus(), changedIds);
+    }
+
     @Override
     public Page<UserManageVO> getUserList(Long current, Long size, String keyword) {
         Page<User> page = new Page<>(current, size);
@@ -263,18 +392,20 @@ public class AdminServiceImpl implements AdminService {
 
         IPage<User> userPage = userMapper.selectPage(page, wrapper);
 
+        // 按本页用户ID分组统计文章数和评论数（每页固定两条查询）
+        List<Long> userIds = userPage.getRecords().stream().map(User::getId).collect(Collectors.toList());
+        Map<Long, Long> articleCounts = new HashMap<>();
+        Map<Long, Long> commentCounts = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            articleMapper.countGroupByUserIds(userIds).forEach(c -> articleCounts.put(c.getId(), c.getCount()));
+            commentMapper.countGroupByUserIds(userIds).forEach(c -> commentCounts.put(c.getId(), c.getCount()));
+        }
+
         // 转换为VO
         List<UserManageVO> voList = userPage.getRecords().stream()
                 .map(user -> {
-                    // 查询用户的文章数
-                    LambdaQueryWrapper<Article> articleWrapper = new LambdaQueryWrapper<>();
-                    articleWrapper.eq(Article::getUserId, user.getId());
-                    Long articleCount = articleMapper.selectCount(articleWrapper).longValue();
-
-                    // 查询用户的评论数
-                    LambdaQueryWrapper<Comment> commentWrapper = new LambdaQueryWrapper<>();
-                    commentWrapper.eq(Comment::getUserId, user.getId());
-                    Long commentCount = commentMapper.selectCount(commentWrapper).longValue();
+                    Long articleCount = articleCounts.getOrDefault(user.getId(), 0L);
+                    Long commentCount = commentCounts.getOrDefault(user.getId(), 0L);
 
                     return UserManageVO.builder()
                             .id(user.getId())
@@ -322,6 +453,36 @@ public class AdminServiceImpl implements AdminService {
         log.info("管理员更新用户[{}]状态为[{}]成功", userId, status);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void batchUpdateUserStatus(UserStatusBatchUpdateDTO dto) {
+        // 验证状态值
+        if (!CommonConstants.USER_STATUS_NORMAL.equals(dto.getStatus())
+                && !CommonConstants.USER_STATUS_DISABLED.equals(dto.getStatus())) {
+            throw new BusinessException("状态值无效");
+        }
+
+        // 1. 只处理存在的用户
+        List<Long> userIds = userMapper.selectList(new LambdaQueryWrapper<User>()
+                        .select(User::getId)
+                        .in(User::getId, dto.getUserIds()))
+                .stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            throw new BusinessException("用户不存在");
+        }
+
+        // 2. 一条UPDATE更新全部状态，一次删除用户信息缓存
+        userMapper.update(User.builder().status(dto.getStatus()).build(),
+                new LambdaUpdateWrapper<User>().in(User::getId, userIds));
+        redisUtil.delete(userIds.stream()
+                .map(id -> RedisKeyEnum.KEY_USER_CACHE.getKey(id))
+                .collect(Collectors.toList()));
+
+        log.info("管理员批量更新用户状态为[{}]成功: {}", dto.getStatus(), userIds);
+    }
+
     @Override
     public Page<CommentManageVO> getCommentList(Long current, Long size, Integer status, String keyword) {
         Page<Comment> page = new Page<>(current, size);
@@ -332,9 +493,15 @@ public class AdminServiceImpl implements AdminService {
             wrapper.eq(Comment::getStatus, status);
         }
 
-        // 关键词搜索（评论内容）
+        // 关键词搜索（评论内容）：使用 ngram 全文索引按短语匹配，短于分词长度的关键词只能模糊查询
         if (StringUtils.hasText(keyword)) {
-            wrapper.like(Comment::getContent, keyword);
+            String trimmed = keyword.trim();
+            if (trimmed.length() >= COMMENT_FULLTEXT_MIN_LENGTH) {
+                wrapper.apply("MATCH(content) AGAINST({0} IN BOOLEAN MODE)",
+                        "\"" + trimmed.replace("\"", " ") + "\"");
+            } else {
+                wrapper.like(Comment::getContent, trimmed);
+            }
         }
 
         // 按创建时间倒序
@@ -422,9 +589,53 @@ public class AdminServiceImpl implements AdminService {
                 .build();
         commentMapper.updateById(updateComment);
 
+        // 增量更新文章评论缓存：隐藏则移除，恢复显示则加入
+        if (!dto.getStatus().equals(comment.getStatus())) {
+            comment.setStatus(dto.getStatus());
+            if (CommonConstants.COMMENT_STATUS_NORMAL.equals(dto.getStatus())) {
+                commentService.addToCommentCache(comment);
+            } else {
+                commentService.removeFromCommentCache(comment);
+            }
+        }
+
         log.info("管理员更新评论[{}]状态为[{}]成功", dto.getCommentId(), dto.getStatus());
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void batchUpdateCommentStatus(CommentStatusBatchUpdateDTO dto) {
+        // 验证状态值
+        if (!CommonConstants.COMMENT_STATUS_NORMAL.equals(dto.getStatus())
+                && !CommonConstants.COMMENT_STATUS_HIDDEN.equals(dto.getStatus())) {
+            throw new BusinessException("状态值无效");
+        }
+
+        // 1. 查询当前状态，只处理状态有变化的评论
+        List<Comment> comments = commentMapper.selectList(new LambdaQueryWrapper<Comment>()
+                .select(Comment::getId, Comment::getArticleId, Comment::getStatus)
+                .in(Comment::getId, dto.getCommentIds()));
+        if (comments.isEmpty()) {
+            throw new BusinessException("评论不存在");
+        }
+        List<Comment> changed = comments.stream()
+                .filter(comment -> !dto.getStatus().equals(comment.getStatus()))
+                .collect(Collectors.toList());
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> changedIds = changed.stream().map(Comment::getId).collect(Collectors.toList());
+
+        // 2. 一条UPDATE更新全部状态
+        commentMapper.update(Comment.builder().status(dto.getStatus()).build(),
+                new LambdaUpdateWrapper<Comment>().in(Comment::getId, changedIds));
+
+        // 3. 涉及文章的评论缓存在一次管道中淘汰（批量时逐条增量修改不划算）
+        commentService.evictCommentCache(changed.stream().map(Comment::getArticleId).collect(Collectors.toSet()));
+
+        log.info("管理员批量更新评论状态为[{}]成功: {}", dto.getStatus(), changedIds);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteComment(Long commentId) {
@@ -444,77 +655,76 @@ public class AdminServiceImpl implements AdminService {
         // 减少文章评论数
         articleService.decrementCommentCount(comment.getArticleId());
 
+        // 从文章评论缓存中移除（隐藏状态的评论本就不在缓存中）
+        if (CommonConstants.COMMENT_STATUS_NORMAL.equals(comment.getStatus())) {
+            commentService.removeFromCommentCache(comment);
+        }
+
         log.info("管理员删除评论[{}]成功", commentId);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void batchDeleteComments(CommentBatchDeleteDTO dto) {
+        // 1. 查询未删除的评论
+        List<Comment> comments = commentMapper.selectList(new LambdaQueryWrapper<Comment>()
+                .select(Comment::getId, Comment::getArticleId)
+                .in(Comment::getId, dto.getCommentIds()));
+        if (comments.isEmpty()) {
+            throw new BusinessException("评论不存在");
+        }
+        List<Long> commentIds = comments.stream().map(Comment::getId).collect(Collectors.toList());
+
+        // 2. 一条UPDATE逻辑删除
+        commentMapper.deleteBatchIds(commentIds);
+
+        // 3. 按文章汇总后一条UPDATE调整评论数（按文章ID排序，与评论批量落库的加锁顺序一致）
+        Map<Long, Long> deltas = comments.stream()
+                .collect(Collectors.groupingBy(Comment::getArticleId, TreeMap::new,
+                        Collectors.reducing(0L, comment -> -1L, Long::sum)));
+        articleService.adjustCommentCounts(deltas);
+
+        // 4. 涉及文章的评论缓存在一次管道中淘汰
+        commentService.evictCommentCache(deltas.keySet());
+
+        log.info("管理员批量删除评论成功: {}", commentIds);
+    }
+
     @Override
     public StatisticsVO getStatistics() {
-        // 文章统计
-        LambdaQueryWrapper<Article> articleWrapper = new LambdaQueryWrapper<>();
-        Long articleCount = articleMapper.selectCount(articleWrapper).longValue();
+        // 1. 读取统计快照（短TTL，后台频繁刷新时不重复聚合）
+        String cacheKey = RedisKeyEnum.KEY_ADMIN_STATISTICS.getKey();
+        Object cached = redisUtil.get(cacheKey);
+        if (cached instanceof StatisticsVO) {
+            return (StatisticsVO) cached;
+        }
 
-        LambdaQueryWrapper<Article> publishedWrapper = new LambdaQueryWrapper<>();
-        publishedWrapper.eq(Article::getStatus, CommonConstants.ARTICLE_STATUS_PUBLISHED);
-        Long publishedArticleCount = articleMapper.selectCount(publishedWrapper).longValue();
-
-        Long draftArticleCount = articleCount - publishedArticleCount;
-
-        // 用户统计
-        LambdaQueryWrapper<User> userWrapper = new LambdaQueryWrapper<>();
-        Long userCount = userMapper.selectCount(userWrapper).longValue();
-
-        LambdaQueryWrapper<User> normalUserWrapper = new LambdaQueryWrapper<>();
-        normalUserWrapper.eq(User::getStatus, CommonConstants.USER_STATUS_NORMAL);
-        Long normalUserCount = userMapper.selectCount(normalUserWrapper).longValue();
-
-        Long disabledUserCount = userCount - normalUserCount;
-
-        // 评论统计
-        LambdaQueryWrapper<Comment> commentWrapper = new LambdaQueryWrapper<>();
-        Long commentCount = commentMapper.selectCount(commentWrapper).longValue();
-
-        LambdaQueryWrapper<Comment> normalCommentWrapper = new LambdaQueryWrapper<>();
-        normalCommentWrapper.eq(Comment::getStatus, CommonConstants.COMMENT_STATUS_NORMAL);
-        Long normalCommentCount = commentMapper.selectCount(normalCommentWrapper).longValue();
-
-        Long hiddenCommentCount = commentCount - normalCommentCount;
-
-        // 访问量、点赞数、收藏数统计（需要查询所有文章）
-        List<Article> allArticles = articleMapper.selectList(new LambdaQueryWrapper<>());
-        Long totalViewCount = allArticles.stream()
-                .mapToLong(article -> article.getViewCount() != null ? article.getViewCount().longValue() : 0L)
-                .sum();
-        Long totalLikeCount = allArticles.stream()
-                .mapToLong(article -> article.getLikeCount() != null ? article.getLikeCount().longValue() : 0L)
-                .sum();
-        Long totalCollectCount = allArticles.stream()
-                .mapToLong(article -> article.getCollectCount() != null ? article.getCollectCount().longValue() : 0L)
-                .sum();
-
-        // 分类统计
-        LambdaQueryWrapper<Category> categoryWrapper = new LambdaQueryWrapper<>();
-        Long categoryCount = categoryMapper.selectCount(categoryWrapper).longValue();
-
-        // 标签统计
-        LambdaQueryWrapper<Tag> tagWrapper = new LambdaQueryWrapper<>();
-        Long tagCount = tagMapper.selectCount(tagWrapper).longValue();
-
-        return StatisticsVO.builder()
-                .articleCount(articleCount)
-                .publishedArticleCount(publishedArticleCount)
-                .draftArticleCount(draftArticleCount)
-                .userCount(userCount)
-                .normalUserCount(normalUserCount)
-                .disabledUserCount(disabledUserCount)
-                .commentCount(commentCount)
-                .normalCommentCount(normalCommentCount)
-                .hiddenCommentCount(hiddenCommentCount)
-                .totalViewCount(totalViewCount)
-                .totalLikeCount(totalLikeCount)
-                .totalCollectCount(totalCollectCount)
+        // 2. 每张表一条聚合查询
+        ArticleStatsDTO articleStats = articleMapper.selectArticleStats();
+        StatusCountDTO userStats = userMapper.countByStatus(CommonConstants.USER_STATUS_NORMAL);
+        StatusCountDTO commentStats = commentMapper.countByStatus(CommonConstants.COMMENT_STATUS_NORMAL);
+        Long categoryCount = categoryMapper.selectCount(new LambdaQueryWrapper<>());
+        Long tagCount = tagMapper.selectCount(new LambdaQueryWrapper<>());
+
+        StatisticsVO statistics = StatisticsVO.builder()
+                .articleCount(articleStats.getTotal())
+                .publishedArticleCount(articleStats.getPublished())
+                .draftArticleCount(articleStats.getTotal() - articleStats.getPublished())
+                .userCount(userStats.getTotal())
+                .normalUserCount(userStats.getNormal())
+                .disabledUserCount(userStats.getTotal() - userStats.getNormal())
+                .commentCount(commentStats.getTotal())
+                .normalCommentCount(commentStats.getNormal())
+                .hiddenCommentCount(commentStats.getTotal() - commentStats.getNormal())
+                .totalViewCount(articleStats.getViewCount())
+                .totalLikeCount(articleStats.getLikeCount())
+                .totalCollectCount(articleStats.getCollectCount())
                 .categoryCount(categoryCount)
                 .tagCount(tagCount)
                 .build();
+
+        redisUtil.set(cacheKey, statistics, RedisKeyEnum.KEY_ADMIN_STATISTICS.getExpire(), TimeUnit.SECONDS);
+        return statistics;
     }
 
     // ==================== 分类管理 ====================
@@ -525,12 +735,14 @@ public class AdminServiceImpl implements AdminService {
         wrapper.orderByAsc(Category::getSort);
         List<Category> categories = categoryMapper.selectList(wrapper);
 
-        // 查询每个分类的文章数
+        // 一次分组查询统计所有分类的文章数
+        Map<Long, Long> articleCounts = articleMapper.countGroupByCategory().stream()
+                .filter(c -> c.getId() != null)
+                .collect(Collectors.toMap(IdCountDTO::getId, IdCountDTO::getCount));
+
         return categories.stream()
                 .map(category -> {
-                    LambdaQueryWrapper<Article> articleWrapper = new LambdaQueryWrapper<>();
-                    articleWrapper.eq(Article::getCategoryId, category.getId());
-                    Long articleCount = articleMapper.selectCount(articleWrapper).longValue();
+                    Long articleCount = articleCounts.getOrDefault(category.getId(), 0L);
 
                     return CategoryVO.builder()
                             .id(category.getId())
@@ -588,6 +800,16 @@ public class AdminServiceImpl implements AdminService {
                 .build();
         categoryMapper.updateById(updateCategory);
 
+        // 分类名称冗余在ES文档中，改名后重建该分类下文章的索引
+        if (!category.getName().equals(dto.getName())) {
+            articleIndexer.enqueueAll(articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                            .select(Article::getId)
+                            .eq(Article::getCategoryId, dto.getId()))
+                    .stream()
+                    .map(Article::getId)
+                    .collect(Collectors.toList()));
+        }
+
         log.info("管理员更新分类成功: ID={}, name={}", dto.getId(), dto.getName());
     }
 
@@ -622,12 +844,13 @@ public class AdminServiceImpl implements AdminService {
         wrapper.orderByDesc(Tag::getCreateTime);
         List<Tag> tags = tagMapper.selectList(wrapper);
 
-        // 查询每个标签的文章数
+        // 一次分组查询统计所有标签的文章数
+        Map<Long, Long> articleCounts = articleTagMapper.countArticlesGroupByTag().stream()
+                .collect(Collectors.toMap(IdCountDTO::getId, IdCountDTO::getCount));
+
         return tags.stream()
                 .map(tag -> {
-                    LambdaQueryWrapper<ArticleTag> articleTagWrapper = new LambdaQueryWrapper<>();
-                    articleTagWrapper.eq(ArticleTag::getTagId, tag.getId());
-                    Long articleCount = articleTagMapper.selectCount(articleTagWrapper).longValue();
+                    Long articleCount = articleCounts.getOrDefault(tag.getId(), 0L);
 
                     return TagVO.builder()
                             .id(tag.getId())
@@ -682,6 +905,11 @@ public class AdminServiceImpl implements AdminService {
                 .build();
         tagMapper.updateById(updateTag);
 
+        // 标签名称冗余在ES文档中，改名后重建关联文章的索引
+        if (!tag.getName().equals(dto.getName())) {
+            articleIndexer.enqueueAll(selectArticleIdsByTag(dto.getId()));
+        }
+
         log.info("管理员更新标签成功: ID={}, name={}", dto.getId(), dto.getName());
     }
 
@@ -694,6 +922,9 @@ public class AdminServiceImpl implements AdminService {
             throw new BusinessException("标签不存在");
         }
 
+        // 删除关联前记下受影响的文章，删除后重建其索引（ES文档冗余了标签名称）
+        List<Long> articleIds = selectArticleIdsByTag(tagId);
+
         // 删除标签与文章的关联关系
         LambdaQueryWrapper<ArticleTag> articleTagWrapper = new LambdaQueryWrapper<>();
         articleTagWrapper.eq(ArticleTag::getTagId, tagId);
@@ -701,8 +932,33 @@ public class AdminServiceImpl implements AdminService {
 
         // 逻辑删除标签
         tagMapper.deleteById(tagId);
+        tagService.removeTagPopularity(tagId);
+        articleIndexer.enqueueAll(articleIds);
 
         log.info("管理员删除标签成功: ID={}", tagId);
     }
-}
 
+    /**
+     * 查询文章当前关联的标签ID
+     */
+    private List<Long> selectTagIds(Long articleId) {
+        return articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                        .select(ArticleTag::getTagId)
+                        .eq(ArticleTag::getArticleId, articleId))
+                .stream()
+                .map(ArticleTag::getTagId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 查询关联了指定标签的文章ID
+     */
+    private List<Long> selectArticleIdsByTag(Long tagId) {
+        return articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                        .select(ArticleTag::getArticleId)
+                        .eq(ArticleTag::getTagId, tagId))
+                .stream()
+                .map(ArticleTag::getArticleId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,340 @@
+package cn.lzx.blog.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.lzx.blog.config.es.ElasticsearchProperties;
+import cn.lzx.blog.integration.es.ArticleDocumentBuilder;
+import cn.lzx.blog.integration.es.ElasticsearchUtil;
+import cn.lzx.blog.integration.es.SearchResultCache;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.blog.service.ArticleReindexService;
+import cn.lzx.blog.service.ArticleSearchService;
+import cn.lzx.blog.vo.admin.ReindexProgressVO;
+import cn.lzx.entity.Article;
+import cn.lzx.entity.ArticleDocument;
+import cn.lzx.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 文章索引重建服务实现类
+ * 流程：创建新版本索引（关闭刷新和副本）→ 游标流式读取全部文章（含草稿和屏蔽文章）并行构建、分块bulk写入
+ * → 追平重建期间的改动 → 恢复索引设置 → 原子切换别名 → 再次追平并删除旧索引
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleReindexServiceImpl implements ArticleReindexService {
+
+    private static final String STATUS_IDLE = "IDLE";
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_SUCCESS = "SUCCESS";
+    private static final String STATUS_FAILED = "FAILED";
+
+    /**
+     * 追平改动时向前多取的时间（秒），容忍应用与数据库之间的时钟偏差
+     */
+    private static final long CATCH_UP_MARGIN_SECONDS = 60;
+
+    /**
+     * 等待构建线程结束的最长时间（分钟）
+     */
+    private static final long BUILD_TIMEOUT_MINUTES = 30;
+
+    private final ElasticsearchUtil elasticsearchUtil;
+    private final ElasticsearchProperties elasticsearchProperties;
+    private final ArticleSearchService articleSearchService;
+    private final ArticleDocumentBuilder articleDocumentBuilder;
+    private final ArticleMapper articleMapper;
+    private final SearchResultCache searchResultCache;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile ReindexTask currentTask;
+
+    @Override
+    public ReindexProgressVO startReindex() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("索引重建正在进行中");
+        }
+
+        ReindexTask task = new ReindexTask();
+        currentTask = task;
+        Thread worker = new Thread(() -> {
+            try {
+                runReindex(task);
+            } finally {
+                running.set(false);
+            }
+        }, "article-reindex");
+        worker.setDaemon(true);
+        worker.start();
+        return task.snapshot();
+    }
+
+    @Override
+    public ReindexProgressVO getReindexProgress() {
+        ReindexTask task = currentTask;
+        if (task == null) {
+            return ReindexProgressVO.builder().status(STATUS_IDLE).build();
+        }
+        return task.snapshot();
+    }
+
+    private void runReindex(ReindexTask task) {
+        String aliasName = elasticsearchProperties.getArticleIndex();
+        LocalDateTime reindexSince = task.startTime.minusSeconds(CATCH_UP_MARGIN_SECONDS);
+        String newIndex = null;
+        boolean switched = false;
+
+        try {
+            task.total = articleMapper.selectCount(new LambdaQueryWrapper<>());
+
+            // 1. 创建新版本索引，批量写入期间关闭刷新和副本
+            newIndex = articleSearchService.createVersionedArticleIndex();
+            if (newIndex == null) {
+                throw new IllegalStateException("创建新版本索引失败");
+            }
+            task.indexName = newIndex;
+            elasticsearchUtil.updateIndexSettings(newIndex, "-1", 0);
+            log.info("开始重建文章索引: alias={}, index={}, total={}", aliasName, newIndex, task.total);
+
+            // 2. 全量写入
+            bulkLoad(newIndex, task);
+
+            // 3. 追平重建期间的改动（此时写入仍指向旧索引）
+            LocalDateTime switchSince = LocalDateTime.now().minusSeconds(CATCH_UP_MARGIN_SECONDS);
+            catchUp(newIndex, articleMapper.selectIdsUpdatedSince(reindexSince), task);
+
+            // 写入失败超过阈值时放弃新索引（如重建期间ES不可用），旧索引和别名保持不变
+            int maxFailures = Math.max(0, elasticsearchProperties.getReindexMaxFailures());
+            if (task.failed.get() > maxFailures) {
+                throw new IllegalStateException("文档写入失败 " + task.failed.get() + " 篇，超过允许的 "
+                        + maxFailures + " 篇，已放弃新索引");
+            }
+
+            // 4. 恢复刷新和副本并刷新，使文档可被搜索
+            elasticsearchUtil.updateIndexSettings(newIndex, "1s", elasticsearchProperties.getNumberOfReplicas());
+            elasticsearchUtil.refreshIndex(newIndex);
+
+            // 5. 原子切换别名（首次迁移时同时删除与别名同名的旧物理索引）
+            Set<String> oldIndices = elasticsearchUtil.getAliasIndices(aliasName);
+            String concreteIndex = oldIndices.isEmpty() && elasticsearchUtil.indexExists(aliasName) ? aliasName : null;
+            if (!elasticsearchUtil.switchAlias(aliasName, newIndex, oldIndices, concreteIndex)) {
+                throw new IllegalStateException("别名切换失败");
+            }
+            switched = true;
+
+            // 6. 别名切换后再追平一次：覆盖步骤3之后写入旧索引的改动
+            List<Long> lateIds = articleMapper.selectIdsUpdatedSince(switchSince);
+            lateIds.forEach(articleSearchService::syncArticleToEs);
+            task.caughtUp.addAndGet(lateIds.size());
+            searchResultCache.bumpGeneration();
+
+            // 7. 删除旧版本索引
+            oldIndices.stream()
+                    .filter(index -> !index.equals(task.indexName))
+                    .forEach(elasticsearchUtil::deleteIndex);
+
+            task.status = STATUS_SUCCESS;
+            log.info("文章索引重建完成: alias={}, index={}, indexed={}, failed={}, caughtUp={}",
+                    aliasName, newIndex, task.indexed.get(), task.failed.get(), task.caughtUp.get());
+        } catch (Exception e) {
+            task.status = STATUS_FAILED;
+            task.message = e.getMessage();
+            log.error("文章索引重建失败: alias={}, index={}", aliasName, newIndex, e);
+            // 未切换别名时清理半成品索引，搜索继续使用旧索引
+            if (newIndex != null && !switched) {
+                elasticsearchUtil.deleteIndex(newIndex);
+            }
+        } finally {
+            task.endTime = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * 全量写入：主线程在只读事务中遍历游标，按批提交给构建线程；
+     * 在途批次数受信号量限制，避免游标读取速度远超写入速度时堆积内存
+     */
+    private void bulkLoad(String indexName, ReindexTask task) throws InterruptedException {
+        int threads = Math.max(1, elasticsearchProperties.getReindexThreads());
+        int batchSize = Math.max(1, elasticsearchProperties.getReindexBatchSize());
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                r -> new Thread(r, "article-reindex-build-" + threadIndex.incrementAndGet()));
+        Semaphore inFlight = new Semaphore(threads * 2);
+
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Cursor<Article> cursor = articleMapper.scanArticles()) {
+                    List<Article> batch = new ArrayList<>(batchSize);
+                    for (Article article : cursor) {
+                        batch.add(article);
+                        if (batch.size() >= batchSize) {
+                            submitBatch(executor, inFlight, indexName, batch, task);
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        submitBatch(executor, inFlight, indexName, batch, task);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("索引重建被中断", e);
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(BUILD_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+            throw new IllegalStateException("等待文档写入超时");
+        }
+    }
+
+    private void submitBatch(ExecutorService executor, Semaphore inFlight, String indexName,
+                             List<Article> batch, ReindexTask task) throws InterruptedException {
+        inFlight.acquire();
+        executor.execute(() -> {
+            try {
+                indexBatch(indexName, batch, task);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * 构建一批文档并按字节上限拆分为多个bulk请求写入
+     */
+    private void indexBatch(String indexName, List<Article> batch, ReindexTask task) {
+        try {
+            List<ArticleDocument> documents = articleDocumentBuilder.build(batch);
+            int maxBytes = Math.max(1, elasticsearchProperties.getReindexBulkMaxBytes());
+
+            Map<String, String> chunk = new LinkedHashMap<>();
+            long chunkBytes = 0;
+            for (ArticleDocument document : documents) {
+                String json = objectMapper.writeValueAsString(document);
+                int bytes = json.getBytes(StandardCharsets.UTF_8).length;
+                if (!chunk.isEmpty() && chunkBytes + bytes > maxBytes) {
+                    flushChunk(indexName, chunk, task);
+                    chunkBytes = 0;
+                }
+                chunk.put(String.valueOf(document.getId()), json);
+                chunkBytes += bytes;
+            }
+            flushChunk(indexName, chunk, task);
+        } catch (Exception e) {
+            log.error("文章索引批次写入失败: index={}, size={}", indexName, batch.size(), e);
+            task.failed.addAndGet(batch.size());
+        } finally {
+            task.processed.addAndGet(batch.size());
+        }
+    }
+
+    private void flushChunk(String indexName, Map<String, String> chunk, ReindexTask task) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int failed = elasticsearchUtil.bulkAddDocuments(indexName, chunk);
+        task.indexed.addAndGet(chunk.size() - failed);
+        task.failed.addAndGet(failed);
+        chunk.clear();
+    }
+
+    /**
+     * 将重建期间有改动的文章同步到新索引：未删除的重新写入，已删除的从新索引中移除
+     */
+    private void catchUp(String indexName, List<Long> articleIds, ReindexTask task) {
+        int batchSize = Math.max(1, elasticsearchProperties.getReindexBatchSize());
+        for (int from = 0; from < articleIds.size(); from += batchSize) {
+            List<Long> ids = articleIds.subList(from, Math.min(from + batchSize, articleIds.size()));
+            Map<Long, Article> existing = articleMapper.selectBatchIds(ids).stream()
+                    .collect(Collectors.toMap(Article::getId, article -> article));
+
+            Map<String, String> chunk = new LinkedHashMap<>();
+            for (ArticleDocument document : articleDocumentBuilder.build(new ArrayList<>(existing.values()))) {
+                try {
+                    chunk.put(String.valueOf(document.getId()), objectMapper.writeValueAsString(document));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            task.failed.addAndGet(elasticsearchUtil.bulkAddDocuments(indexName, chunk));
+            ids.stream()
+                    .filter(id -> !existing.containsKey(id))
+                    .forEach(id -> elasticsearchUtil.deleteDocument(indexName, String.valueOf(id)));
+            task.caughtUp.addAndGet(ids.size());
+        }
+    }
+
+    /**
+     * 重建任务的运行状态（构建线程并发更新计数）
+     */
+    private static class ReindexTask {
+        private final LocalDateTime startTime = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong indexed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong caughtUp = new AtomicLong();
+        private volatile String status = STATUS_RUNNING;
+        private volatile String indexName;
+        private volatile Long total;
+        private volatile LocalDateTime endTime;
+        private volatile String message;
+
+        private ReindexProgressVO snapshot() {
+            LocalDateTime end = endTime != null ? endTime : LocalDateTime.now();
+            long elapsedMillis = Duration.between(startTime, end).toMillis();
+            long processedCount = processed.get();
+            return ReindexProgressVO.builder()
+                    .status(status)
+                    .indexName(indexName)
+                    .total(total)
+                    .processed(processedCount)
+                    .indexed(indexed.get())
+                    .failed(failed.get())
+                    .caughtUp(caughtUp.get())
+                    .docsPerSecond(elapsedMillis > 0 ? processedCount * 1000.0 / elapsedMillis : 0D)
+                    .startTime(startTime)
+                    .endTime(endTime)
+                    .elapsedMillis(elapsedMillis)
+                    .message(message)
+                    .build();
+        }
+    }
+}
@@ -1,34 +1,58 @@
 package cn.lzx.blog.service.impl;
 
 import cn.lzx.blog.config.es.ElasticsearchProperties;
+import cn.lzx.blog.integration.es.ArticleDocumentBuilder;
 import cn.lzx.blog.integration.es.ElasticsearchUtil;
+import cn.lzx.blog.integration.es.SearchCircuitBreaker;
+import cn.lzx.blog.integration.es.SearchResultCache;
+import cn.lzx.blog.integration.es.SuggestionDictionary;
+import cn.lzx.blog.integration.lucene.LocalArticleSearch;
 import cn.lzx.blog.mapper.ArticleMapper;
-import cn.lzx.blog.mapper.TagMapper;
-import cn.lzx.blog.mapper.UserMapper;
 import cn.lzx.blog.service.ArticleSearchService;
-import cn.lzx.blog.service.CategoryService;
+import cn.lzx.blog.vo.ArticleCursorPageVO;
 import cn.lzx.blog.vo.ArticleListVO;
-import cn.lzx.blog.vo.CategoryVO;
+import cn.lzx.blog.vo.ArticleSearchFacetsVO;
+import cn.lzx.blog.vo.FacetBucketVO;
 import cn.lzx.blog.vo.TagVO;
 import cn.lzx.constants.ArticleOrderConstants;
 import cn.lzx.constants.CommonConstants;
 import cn.lzx.entity.Article;
 import cn.lzx.entity.ArticleDocument;
-import cn.lzx.entity.Tag;
-import cn.lzx.entity.User;
+import cn.lzx.exception.BusinessException;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.LongTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Highlight;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * 文章搜索服务实现类
- * 基于Elasticsearch实现全文搜索
+ * 基于Elasticsearch实现全文搜索，ES不可用时由熔断器切换到本地Lucene索引
  *
  * @author lzx
  * @since 2025-11-01
@@ -41,9 +65,68 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
     private final ElasticsearchUtil elasticsearchUtil;
     private final ElasticsearchProperties elasticsearchProperties;
     private final ArticleMapper articleMapper;
-    private final TagMapper tagMapper;
-    private final UserMapper userMapper;
-    private final CategoryService categoryService;
+    private final ArticleDocumentBuilder articleDocumentBuilder;
+    private final SuggestionDictionary suggestionDictionary;
+    private final SearchResultCache searchResultCache;
+    private final SearchCircuitBreaker searchCircuitBreaker;
+    private final LocalArticleSearch localArticleSearch;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 搜索建议ES查询线程池（有界队列，满时直接放弃ES补全，避免请求堆积）
+     */
+    private final ExecutorService suggestExecutor = createSuggestExecutor();
+
+    /**
+     * 版本索引名称后缀格式
+     */
+    private static final DateTimeFormatter INDEX_VERSION_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    /**
+     * 搜索结果不返回的字段（正文只用于检索和高亮）
+     */
+    private static final List<String> SOURCE_EXCLUDES = List.of("content", "suggest");
+
+    /**
+     * 卡片摘要高亮片段长度
+     */
+    private static final int CARD_FRAGMENT_SIZE = 120;
+
+    /**
+     * 游标搜索默认/最大每页数量
+     */
+    private static final int SEARCH_CURSOR_DEFAULT_SIZE = 10;
+    private static final int SEARCH_CURSOR_MAX_SIZE = 50;
+
+    /**
+     * 游标搜索PIT保持时间（每次翻页续期）
+     */
+    private static final String SEARCH_PIT_KEEP_ALIVE = "2m";
+
+    /**
+     * 分面统计聚合名称及返回的分类/标签数量
+     */
+    private static final String FACET_CATEGORIES = "categories";
+    private static final String FACET_TAGS = "tags";
+    private static final String FACET_BUCKETS = "buckets";
+    private static final int FACET_CATEGORY_SIZE = 20;
+    private static final int FACET_TAG_SIZE = 30;
+
+    /**
+     * 本地索引游标的PIT占位值
+     */
+    private static final String LOCAL_CURSOR_PIT = "local";
+
+    /**
+     * 搜索建议默认/最大返回数量
+     */
+    private static final int SUGGEST_DEFAULT_SIZE = 8;
+    private static final int SUGGEST_MAX_SIZE = 10;
+
+    /**
+     * 搜索建议前缀最大长度
+     */
+    private static final int SUGGEST_MAX_PREFIX_LENGTH = 50;
 
     /**
      * 文章索引映射配置（包含IK分词器）
@@ -88,6 +171,9 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
                   "tagIds": {
                     "type": "long"
                   },
+                  "tagNames": {
+                    "type": "keyword"
+                  },
                   "categoryId": {
                     "type": "long"
                   },
@@ -100,6 +186,10 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
                   "authorName": {
                     "type": "keyword"
                   },
+                  "authorAvatar": {
+                    "type": "keyword",
+                    "index": false
+                  },
                   "coverImage": {
                     "type": "keyword"
                   },
@@ -122,6 +212,16 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
                   "updateTime": {
                     "type": "date",
                     "format": "yyyy-MM-dd HH:mm:ss"
+                  },
+                  "suggest": {
+                    "type": "completion",
+                    "analyzer": "simple",
+                    "contexts": [
+                      {
+                        "name": "status",
+                        "type": "category"
+                      }
+                    ]
                   }
                 }
               }
@@ -130,83 +230,46 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
 
     @Override
     public void initArticleIndex() {
-        String indexName = elasticsearchProperties.getArticleIndex();
-        
-        if (elasticsearchUtil.indexExists(indexName)) {
-            log.info("文章索引已存在: {}", indexName);
+        String aliasName = elasticsearchProperties.getArticleIndex();
+
+        // 别名已存在，或是迁移到别名前创建的同名物理索引（下次重建索引时迁移）
+        if (elasticsearchUtil.aliasExists(aliasName) || elasticsearchUtil.indexExists(aliasName)) {
+            log.info("文章索引已存在: {}", aliasName);
+            // 补充新增字段的映射（已有字段的映射不会被修改）
+            elasticsearchUtil.putMapping(aliasName, extractMappings(ARTICLE_INDEX_MAPPING));
             return;
         }
 
-        boolean success = elasticsearchUtil.createIndex(indexName, ARTICLE_INDEX_MAPPING);
-        if (success) {
-            log.info("文章索引创建成功: {}", indexName);
+        String indexName = createVersionedArticleIndex();
+        if (indexName != null && elasticsearchUtil.switchAlias(aliasName, indexName, List.of(), null)) {
+            log.info("文章索引创建成功: {} -> {}", aliasName, indexName);
         } else {
-            log.error("文章索引创建失败: {}", indexName);
+            log.error("文章索引创建失败: {}", aliasName);
         }
     }
 
+    @Override
+    public String createVersionedArticleIndex() {
+        String indexName = elasticsearchProperties.getArticleIndex() + "_v"
+                + LocalDateTime.now().format(INDEX_VERSION_FORMATTER);
+        return elasticsearchUtil.createIndex(indexName, ARTICLE_INDEX_MAPPING) ? indexName : null;
+    }
+
     @Override
     public void syncArticleToEs(Long articleId) {
         try {
-            // 1. 查询文章
+            // 1. 查询文章，已删除的从ES中删除（草稿和屏蔽文章同样同步，供后台搜索）
             Article article = articleMapper.selectById(articleId);
             if (article == null) {
-                log.warn("文章不存在，无法同步到ES: articleId={}", articleId);
-                return;
-            }
-
-            // 2. 只同步已发布的文章
-            if (article.getStatus() != CommonConstants.ARTICLE_STATUS_PUBLISHED) {
-                log.debug("文章未发布，不同步到ES: articleId={}, status={}", articleId, article.getStatus());
-                // 如果文章不是已发布状态，从ES中删除
+                log.debug("文章不存在或已删除，从ES中删除: articleId={}", articleId);
                 deleteArticleFromEs(articleId);
                 return;
             }
 
-            // 3. 查询文章标签
-            List<Tag> tags = tagMapper.selectByArticleId(articleId);
-            List<String> tagNames = tags.stream()
-                    .map(Tag::getName)
-                    .collect(Collectors.toList());
-            List<Long> tagIds = tags.stream()
-                    .map(Tag::getId)
-                    .collect(Collectors.toList());
-
-            // 4. 查询分类
-            CategoryVO category = categoryService.getCategoryById(article.getCategoryId());
-
-            // 5. 查询作者
-            User author = userMapper.selectById(article.getUserId());
-
-            // 6. 构建ES文档实体
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            ArticleDocument document = ArticleDocument.builder()
-                    .id(article.getId())
-                    .title(article.getTitle())
-                    .content(article.getContent())
-                    .summary(article.getSummary())
-                    .tags(String.join(" ", tagNames)) // 标签名称用空格连接，用于搜索
-                    .tagIds(tagIds)
-                    .categoryId(article.getCategoryId())
-                    .categoryName(category != null ? category.getName() : null)
-                    .userId(article.getUserId())
-                    .authorName(author != null 
-                            ? (author.getNickname() != null ? author.getNickname() : author.getUsername()) 
-                            : null)
-                    .coverImage(article.getCoverImage())
-                    .viewCount(article.getViewCount())
-                    .likeCount(article.getLikeCount())
-                    .commentCount(article.getCommentCount())
-                    .status(article.getStatus())
-                    .createTime(article.getCreateTime() != null 
-                            ? article.getCreateTime().format(formatter) 
-                            : null)
-                    .updateTime(article.getUpdateTime() != null 
-                            ? article.getUpdateTime().format(formatter) 
-                            : null)
-                    .build();
+            // 2. 构建ES文档实体（标签、分类、作者）
+            ArticleDocument document = articleDocumentBuilder.build(article);
 
-            // 7. 添加到ES
+            // 3. 添加到ES
             String indexName = elasticsearchProperties.getArticleIndex();
             boolean success = elasticsearchUtil.addDocument(indexName, String.valueOf(articleId), document);
             
@@ -234,186 +297,616 @@ public class ArticleSearchServiceImpl implements ArticleSearchService {
     @Override
     public Page<ArticleListVO> searchArticles(String keyword, Long categoryId, Long tagId,
                                                 String orderBy, String orderType, Integer page, Integer size) {
-        String indexName = elasticsearchProperties.getArticleIndex();
-        
+        String normalizedKeyword = SearchResultCache.normalizeKeyword(keyword);
+
         // 如果没有关键词，返回空结果
-        if (!StringUtils.hasText(keyword)) {
+        if (normalizedKeyword.isEmpty()) {
             return new Page<>(page, size, 0);
         }
 
-        try {
-            // 构建搜索字段（标题、内容、摘要、标签）
-            String[] searchFields = {"title^3", "summary^2", "content", "tags^2"}; // 权重：标题3，摘要和标签2，内容1
-            String[] highlightFields = {"title", "summary", "content"}; // 高亮字段
+        // ES不可用或仅本地搜索时直接查本地索引（本地结果不缓存，ES恢复后立即使用ES结果）
+        if (!useElasticsearch()) {
+            return searchLocal(normalizedKeyword, categoryId, tagId, orderBy, orderType, page, size);
+        }
 
+        // 先查结果缓存
+        SearchResultCache.CachedPage cached = searchResultCache.get(
+                normalizedKeyword, categoryId, tagId, orderBy, orderType, page, size);
+        if (cached != null) {
+            return toPage(cached, page, size);
+        }
+
+        try {
             // 计算分页参数
             int from = (page - 1) * size;
 
-            // 执行搜索
-            ElasticsearchUtil.SearchResult searchResult = elasticsearchUtil.searchWithTotal(
-                    indexName, keyword, searchFields, highlightFields, from, size);
-
-            // 转换为ArticleListVO
-            List<ArticleListVO> articleList = convertToArticleListVO(searchResult.getResults(), categoryId, tagId);
-
-            // 如果指定了分类或标签筛选，需要过滤结果
-            if (categoryId != null || tagId != null) {
-                articleList = articleList.stream()
-                        .filter(article -> {
-                            if (categoryId != null && !categoryId.equals(article.getCategoryId())) {
-                                return false;
-                            }
-                            if (tagId != null) {
-                                boolean hasTag = article.getTags() != null && 
-                                        article.getTags().stream()
-                                                .anyMatch(tag -> tagId.equals(tag.getId()));
-                                if (!hasTag) {
-                                    return false;
-                                }
-                            }
-                            return true;
-                        })
-                        .collect(Collectors.toList());
+            // 执行搜索（筛选、排序、总数全部由ES完成，返回结果不包含正文）
+            SearchRequest request = SearchRequest.of(s -> s
+                    .index(elasticsearchProperties.getArticleIndex())
+                    .query(buildSearchQuery(normalizedKeyword, categoryId, tagId))
+                    .sort(buildSearchSorts(orderBy, orderType))
+                    .from(from)
+                    .size(size)
+                    .trackTotalHits(t -> t.enabled(true))
+                    .source(src -> src.filter(f -> f.excludes(SOURCE_EXCLUDES)))
+                    .highlight(buildCardHighlight()));
+            ElasticsearchUtil.DocumentSearchResult<ArticleDocument> searchResult =
+                    elasticsearchUtil.searchDocuments(request, ArticleDocument.class);
+            searchCircuitBreaker.recordSuccess();
+
+            // 直接由ES文档渲染列表卡片
+            List<ArticleListVO> articleList = searchResult.getHits().stream()
+                    .map(this::convertToArticleListVO)
+                    .collect(Collectors.toList());
+
+            SearchResultCache.CachedPage result = new SearchResultCache.CachedPage(articleList, searchResult.getTotal());
+            searchResultCache.put(normalizedKeyword, categoryId, tagId, orderBy, orderType, page, size, result);
+            return toPage(result, page, size);
+        } catch (Exception e) {
+            searchCircuitBreaker.recordFailure();
+            log.error("ES搜索文章异常，改用本地索引: keyword={}", keyword, e);
+            return searchLocal(normalizedKeyword, categoryId, tagId, orderBy, orderType, page, size);
+        }
+    }
+
+    /**
+     * 是否使用ES搜索（仅本地搜索模式或熔断打开时返回false）
+     * 熔断半开时会占用探测名额，调用方必须记录本次ES请求的成功或失败
+     */
+    private boolean useElasticsearch() {
+        return !Boolean.TRUE.equals(elasticsearchProperties.getLocalSearchOnly())
+                && searchCircuitBreaker.allowRequest();
+    }
+
+    /**
+     * 查询本地降级索引
+     */
+    private Page<ArticleListVO> searchLocal(String keyword, Long categoryId, Long tagId,
+                                            String orderBy, String orderType, Integer page, Integer size) {
+        try {
+            ElasticsearchUtil.DocumentSearchResult<ArticleDocument> searchResult = localArticleSearch.search(
+                    keyword, categoryId, tagId, resolveSortField(orderBy),
+                    ArticleOrderConstants.OrderType.ASC.equalsIgnoreCase(orderType), (page - 1) * size, size);
+            return toPage(new SearchResultCache.CachedPage(searchResult.getHits().stream()
+                    .map(this::convertToArticleListVO)
+                    .collect(Collectors.toList()), searchResult.getTotal()), page, size);
+        } catch (Exception e) {
+            log.error("本地索引搜索文章异常: keyword={}", keyword, e);
+            return new Page<>(page, size, 0);
+        }
+    }
+
+    private Page<ArticleListVO> toPage(SearchResultCache.CachedPage result, Integer page, Integer size) {
+        Page<ArticleListVO> resultPage = new Page<>(page, size);
+        resultPage.setRecords(result.getRecords());
+        resultPage.setTotal(result.getTotal());
+        return resultPage;
+    }
+
+    @Override
+    public ArticleCursorPageVO searchArticlesByCursor(String keyword, Long categoryId, Long tagId,
+                                                      String orderBy, String orderType, String cursor, Integer size) {
+        String normalizedKeyword = SearchResultCache.normalizeKeyword(keyword);
+        if (normalizedKeyword.isEmpty()) {
+            return emptyCursorPage();
+        }
+        int pageSize = size == null || size <= 0 ? SEARCH_CURSOR_DEFAULT_SIZE : Math.min(size, SEARCH_CURSOR_MAX_SIZE);
+        String queryHash = DigestUtils.md5DigestAsHex(String.join("|", normalizedKeyword, String.valueOf(categoryId),
+                String.valueOf(tagId), String.valueOf(orderBy), String.valueOf(orderType))
+                .getBytes(StandardCharsets.UTF_8));
+
+        // 1. 解析游标；ES不可用时走本地索引（本地游标为偏移量，已有的ES游标无法在本地继续）
+        SearchCursor pageCursor = decodeSearchCursor(cursor, queryHash);
+        boolean localCursor = pageCursor != null && LOCAL_CURSOR_PIT.equals(pageCursor.getPit());
+        if (localCursor || !useElasticsearch()) {
+            if (pageCursor != null && !localCursor) {
+                log.warn("ES不可用，无法继续ES游标分页: keyword={}", normalizedKeyword);
+                return emptyCursorPage();
             }
+            return searchLocalByCursor(normalizedKeyword, categoryId, tagId, orderBy, orderType,
+                    queryHash, pageCursor, pageSize);
+        }
 
-            // 排序（ES已经按相关性排序，这里可以按其他字段排序）
-            if (orderBy != null && !ArticleOrderConstants.OrderBy.CREATE_TIME.equals(orderBy)) {
-                Comparator<ArticleListVO> comparator = null;
-                if (ArticleOrderConstants.OrderBy.VIEW_COUNT.equals(orderBy)) {
-                    comparator = Comparator.comparing(ArticleListVO::getViewCount);
-                } else if (ArticleOrderConstants.OrderBy.LIKE_COUNT.equals(orderBy)) {
-                    comparator = Comparator.comparing(ArticleListVO::getLikeCount);
+        // 2. 第一页打开新的PIT
+        String indexName = elasticsearchProperties.getArticleIndex();
+        String pitId = null;
+        try {
+            pitId = pageCursor != null ? pageCursor.getPit() : elasticsearchUtil.openPointInTime(indexName, SEARCH_PIT_KEEP_ALIVE);
+
+            // 3. 多取一条判断是否还有下一页；只有第一页统计总数，分面统计未缓存时在同一次查询中聚合
+            ArticleSearchFacetsVO facets = pageCursor == null
+                    ? searchResultCache.getFacets(normalizedKeyword, categoryId, tagId)
+                    : null;
+            boolean aggregateFacets = pageCursor == null && facets == null;
+            ElasticsearchUtil.DocumentSearchResult<ArticleDocument> searchResult;
+            try {
+                searchResult = searchAfter(normalizedKeyword, categoryId, tagId, orderBy, orderType,
+                        pitId, pageCursor, pageSize + 1, aggregateFacets);
+            } catch (ElasticsearchException e) {
+                if (pageCursor == null || e.status() != 404) {
+                    throw e;
                 }
+                // PIT已过期：在新快照上从游标位置继续
+                log.debug("搜索PIT已过期，重新打开: keyword={}", normalizedKeyword);
+                pitId = elasticsearchUtil.openPointInTime(indexName, SEARCH_PIT_KEEP_ALIVE);
+                searchResult = searchAfter(normalizedKeyword, categoryId, tagId, orderBy, orderType,
+                        pitId, pageCursor, pageSize + 1, false);
+            }
+            if (searchResult.getPitId() != null) {
+                pitId = searchResult.getPitId();
+            }
 
-                if (comparator != null) {
-                    if (ArticleOrderConstants.OrderType.DESC.equalsIgnoreCase(orderType)) {
-                        comparator = comparator.reversed();
-                    }
-                    articleList.sort(comparator);
-                }
+            searchCircuitBreaker.recordSuccess();
+            if (aggregateFacets) {
+                facets = buildFacets(searchResult.getAggregations());
+                searchResultCache.putFacets(normalizedKeyword, categoryId, tagId, facets);
             }
 
-            // 构建分页结果
-            Page<ArticleListVO> resultPage = new Page<>(page, size);
-            resultPage.setRecords(articleList);
-            resultPage.setTotal(searchResult.getTotal());
+            // 4. 组装结果，最后一条的排序值作为下一页游标
+            List<ElasticsearchUtil.DocumentHit<ArticleDocument>> hits = searchResult.getHits();
+            boolean hasMore = hits.size() > pageSize;
+            if (hasMore) {
+                hits = hits.subList(0, pageSize);
+            }
+            long total = pageCursor != null ? pageCursor.getTotal() : searchResult.getTotal();
+            String nextCursor = null;
+            if (hasMore) {
+                nextCursor = encodeSearchCursor(new SearchCursor(queryHash, pitId,
+                        hits.get(hits.size() - 1).getSortValues().stream()
+                                .map(FieldValue::_get)
+                                .collect(Collectors.toList()),
+                        total));
+            } else {
+                elasticsearchUtil.closePointInTime(pitId);
+            }
 
-            return resultPage;
+            return ArticleCursorPageVO.builder()
+                    .records(hits.stream().map(this::convertToArticleListVO).collect(Collectors.toList()))
+                    .nextCursor(nextCursor)
+                    .hasMore(hasMore)
+                    .total(total)
+                    .facets(facets)
+                    .build();
         } catch (Exception e) {
-            log.error("ES搜索文章异常: keyword={}", keyword, e);
-            return new Page<>(page, size, 0);
+            searchCircuitBreaker.recordFailure();
+            log.error("ES游标搜索文章异常: keyword={}", keyword, e);
+            if (pitId != null) {
+                elasticsearchUtil.closePointInTime(pitId);
+            }
+            // 第一页可以改由本地索引从头分页
+            return pageCursor == null
+                    ? searchLocalByCursor(normalizedKeyword, categoryId, tagId, orderBy, orderType, queryHash, null, pageSize)
+                    : emptyCursorPage();
         }
     }
 
     /**
-     * 将ES搜索结果转换为ArticleListVO
+     * 本地索引游标分页（游标记录偏移量，本地索引规模小，偏移分页足够）
      */
-    private List<ArticleListVO> convertToArticleListVO(List<Map<String, Object>> searchResults, 
-                                                        Long filterCategoryId, Long filterTagId) {
-        if (searchResults == null || searchResults.isEmpty()) {
-            return new ArrayList<>();
+    private ArticleCursorPageVO searchLocalByCursor(String keyword, Long categoryId, Long tagId,
+                                                    String orderBy, String orderType, String queryHash,
+                                                    SearchCursor pageCursor, int pageSize) {
+        int offset = pageCursor != null ? ((Number) pageCursor.getAfter().get(0)).intValue() : 0;
+        try {
+            ElasticsearchUtil.DocumentSearchResult<ArticleDocument> searchResult = localArticleSearch.search(
+                    keyword, categoryId, tagId, resolveSortField(orderBy),
+                    ArticleOrderConstants.OrderType.ASC.equalsIgnoreCase(orderType), offset, pageSize);
+            int nextOffset = offset + searchResult.getHits().size();
+            boolean hasMore = nextOffset < searchResult.getTotal();
+            return ArticleCursorPageVO.builder()
+                    .records(searchResult.getHits().stream()
+                            .map(this::convertToArticleListVO)
+                            .collect(Collectors.toList()))
+                    .nextCursor(hasMore
+                            ? encodeSearchCursor(new SearchCursor(queryHash, LOCAL_CURSOR_PIT,
+                                    List.of(nextOffset), searchResult.getTotal()))
+                            : null)
+                    .hasMore(hasMore)
+                    .total(searchResult.getTotal())
+                    .build();
+        } catch (Exception e) {
+            log.error("本地索引游标搜索文章异常: keyword={}", keyword, e);
+            return emptyCursorPage();
         }
+    }
 
-        // 提取文章ID列表
-        List<Long> articleIds = searchResults.stream()
-                .map(result -> {
-                    Object id = result.get("id");
-                    if (id instanceof Number) {
-                        return ((Number) id).longValue();
-                    }
-                    return null;
-                })
-                .filter(Objects::nonNull)
+    /**
+     * 在PIT快照上执行一页 search_after 查询
+     * 排序以文档ID结尾，游标位置唯一确定。
+     * 需要分面统计时分类、标签筛选改为 post_filter（命中结果不变），
+     * 分类聚合只应用标签筛选、标签聚合只应用分类筛选，用户可以直接看到切换到其他分类/标签后的命中数
+     */
+    private ElasticsearchUtil.DocumentSearchResult<ArticleDocument> searchAfter(
+            String keyword, Long categoryId, Long tagId, String orderBy, String orderType,
+            String pitId, SearchCursor pageCursor, int fetchSize, boolean aggregateFacets) throws IOException {
+        SearchRequest request = SearchRequest.of(s -> {
+            if (aggregateFacets) {
+                s.query(buildSearchQuery(keyword, null, null));
+                if (categoryId != null || tagId != null) {
+                    s.postFilter(q -> q.bool(b -> b
+                            .filter(facetFilter("categoryId", categoryId))
+                            .filter(facetFilter("tagIds", tagId))));
+                }
+                s.aggregations(FACET_CATEGORIES, a -> a
+                        .filter(facetFilter("tagIds", tagId))
+                        .aggregations(FACET_BUCKETS, t -> t.terms(tt -> tt.field("categoryId").size(FACET_CATEGORY_SIZE))));
+                s.aggregations(FACET_TAGS, a -> a
+                        .filter(facetFilter("categoryId", categoryId))
+                        .aggregations(FACET_BUCKETS, t -> t.terms(tt -> tt.field("tagIds").size(FACET_TAG_SIZE))));
+            } else {
+                s.query(buildSearchQuery(keyword, categoryId, tagId));
+            }
+            s.pit(p -> p.id(pitId).keepAlive(t -> t.time(SEARCH_PIT_KEEP_ALIVE)))
+                    .sort(buildSearchSorts(orderBy, orderType))
+                    .size(fetchSize)
+                    .trackTotalHits(t -> t.enabled(pageCursor == null))
+                    .source(src -> src.filter(f -> f.excludes(SOURCE_EXCLUDES)))
+                    .highlight(buildCardHighlight());
+            if (pageCursor != null) {
+                s.searchAfter(pageCursor.getAfter().stream()
+                        .map(this::toFieldValue)
+                        .collect(Collectors.toList()));
+            }
+            return s;
+        });
+        return elasticsearchUtil.searchDocuments(request, ArticleDocument.class);
+    }
+
+    /**
+     * 分面筛选条件（未选择时匹配全部）
+     */
+    private static Query facetFilter(String field, Long value) {
+        if (value == null) {
+            return Query.of(q -> q.matchAll(m -> m));
+        }
+        return Query.of(q -> q.term(t -> t.field(field).value(value)));
+    }
+
+    /**
+     * 解析分面聚合结果，分类、标签名称由内存词典解析（已删除的分类、标签不返回）
+     */
+    private ArticleSearchFacetsVO buildFacets(Map<String, Aggregate> aggregations) {
+        Map<Long, Long> categoryCounts = readFacetBuckets(aggregations.get(FACET_CATEGORIES));
+        Map<Long, Long> tagCounts = readFacetBuckets(aggregations.get(FACET_TAGS));
+        return ArticleSearchFacetsVO.builder()
+                .categories(toFacetBuckets(categoryCounts, suggestionDictionary.getCategoryNames(categoryCounts.keySet())))
+                .tags(toFacetBuckets(tagCounts, suggestionDictionary.getTagNames(tagCounts.keySet())))
+                .build();
+    }
+
+    private static Map<Long, Long> readFacetBuckets(Aggregate aggregate) {
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        if (aggregate == null || !aggregate.isFilter()) {
+            return counts;
+        }
+        Aggregate terms = aggregate.filter().aggregations().get(FACET_BUCKETS);
+        if (terms == null || !terms.isLterms()) {
+            return counts;
+        }
+        for (LongTermsBucket bucket : terms.lterms().buckets().array()) {
+            counts.put(Long.parseLong(bucket.key()), bucket.docCount());
+        }
+        return counts;
+    }
+
+    private static List<FacetBucketVO> toFacetBuckets(Map<Long, Long> counts, Map<Long, String> names) {
+        return counts.entrySet().stream()
+                .filter(entry -> names.containsKey(entry.getKey()))
+                .map(entry -> FacetBucketVO.builder()
+                        .id(entry.getKey())
+                        .name(names.get(entry.getKey()))
+                        .count(entry.getValue())
+                        .build())
                 .collect(Collectors.toList());
+    }
 
-        if (articleIds.isEmpty()) {
+    private FieldValue toFieldValue(Object value) {
+        if (value == null) {
+            return FieldValue.NULL;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return FieldValue.of(((Number) value).longValue());
+        }
+        if (value instanceof Number) {
+            return FieldValue.of(((Number) value).doubleValue());
+        }
+        if (value instanceof Boolean) {
+            return FieldValue.of((Boolean) value);
+        }
+        return FieldValue.of(value.toString());
+    }
+
+    /**
+     * 编码搜索游标：JSON -> Base64URL（对客户端不透明）
+     */
+    private String encodeSearchCursor(SearchCursor searchCursor) throws IOException {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(searchCursor));
+    }
+
+    /**
+     * 解码搜索游标，游标与当前查询条件不符时视为无效
+     *
+     * @return 游标位置，第一页返回null
+     */
+    private SearchCursor decodeSearchCursor(String cursor, String queryHash) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            SearchCursor searchCursor = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), SearchCursor.class);
+            if (queryHash.equals(searchCursor.getQuery()) && StringUtils.hasText(searchCursor.getPit())
+                    && searchCursor.getAfter() != null && !searchCursor.getAfter().isEmpty()) {
+                return searchCursor;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("搜索游标解析失败: {}", e.getMessage());
+        }
+        throw new BusinessException("无效的分页游标");
+    }
+
+    private static ArticleCursorPageVO emptyCursorPage() {
+        return ArticleCursorPageVO.builder()
+                .records(new ArrayList<>())
+                .hasMore(false)
+                .total(0L)
+                .build();
+    }
+
+    @Override
+    public List<String> suggest(String prefix, Integer size) {
+        if (!StringUtils.hasText(prefix)) {
             return new ArrayList<>();
         }
+        String normalized = prefix.trim();
+        if (normalized.length() > SUGGEST_MAX_PREFIX_LENGTH) {
+            normalized = normalized.substring(0, SUGGEST_MAX_PREFIX_LENGTH);
+        }
+        int limit = size == null || size <= 0 ? SUGGEST_DEFAULT_SIZE : Math.min(size, SUGGEST_MAX_SIZE);
 
-        // 批量查询文章详细信息（从数据库）
-        List<Article> articles = articleMapper.selectBatchIds(articleIds);
-        Map<Long, Article> articleMap = articles.stream()
-                .collect(Collectors.toMap(Article::getId, a -> a));
+        // 1. 本地前缀树（标题、标签、分类），足够时直接返回
+        Set<String> suggestions = new LinkedHashSet<>(suggestionDictionary.suggest(normalized, limit));
+        if (suggestions.size() >= limit) {
+            return new ArrayList<>(suggestions);
+        }
 
-        // 批量查询分类
-        List<Long> categoryIds = articles.stream()
-                .map(Article::getCategoryId)
-                .distinct()
-                .collect(Collectors.toList());
-        Map<Long, CategoryVO> categoryMap = categoryService.getCategoryMapByIds(categoryIds);
+        // 2. ES completion 补全，超出时间预算则只返回本地结果；ES不可用时不再尝试
+        if (Boolean.TRUE.equals(elasticsearchProperties.getLocalSearchOnly()) || searchCircuitBreaker.isOpen()) {
+            return new ArrayList<>(suggestions);
+        }
+        String keyword = normalized;
+        Future<List<String>> future = null;
+        try {
+            future = suggestExecutor.submit(() -> elasticsearchUtil.completionSuggest(
+                    elasticsearchProperties.getArticleIndex(), "suggest", keyword, limit,
+                    ArticleDocumentBuilder.SUGGEST_CONTEXT_STATUS,
+                    String.valueOf(CommonConstants.ARTICLE_STATUS_PUBLISHED)));
+            for (String suggestion : future.get(elasticsearchProperties.getSuggestTimeout(), TimeUnit.MILLISECONDS)) {
+                if (suggestions.size() >= limit) {
+                    break;
+                }
+                suggestions.add(suggestion);
+            }
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.debug("ES搜索建议超时，仅返回本地结果: prefix={}", keyword);
+        } catch (RejectedExecutionException e) {
+            log.debug("ES搜索建议繁忙，仅返回本地结果: prefix={}", keyword);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("ES搜索建议异常: prefix={}", keyword, e);
+        }
+        return new ArrayList<>(suggestions);
+    }
 
-        // 批量查询标签
-        Map<Long, List<Tag>> articleTagsMap = new HashMap<>();
-        for (Long articleId : articleIds) {
-            List<Tag> tags = tagMapper.selectByArticleId(articleId);
-            articleTagsMap.put(articleId, tags);
+    @Override
+    public Page<Long> searchArticleIdsForAdmin(String keyword, Integer status, Long current, Long size) {
+        String normalizedKeyword = SearchResultCache.normalizeKeyword(keyword);
+        if (normalizedKeyword.isEmpty() || !useElasticsearch()) {
+            return null;
+        }
+        try {
+            // 标题需包含全部分词；不加状态过滤，草稿和屏蔽文章同样可以搜到
+            SearchRequest request = SearchRequest.of(s -> s
+                    .index(elasticsearchProperties.getArticleIndex())
+                    .query(q -> q.bool(b -> {
+                        b.must(m -> m.match(mt -> mt
+                                .field("title")
+                                .query(normalizedKeyword)
+                                .operator(Operator.And)));
+                        if (status != null) {
+                            b.filter(f -> f.term(t -> t.field("status").value(status)));
+                        }
+                        return b;
+                    }))
+                    .sort(so -> so.field(f -> f.field("createTime").order(SortOrder.Desc)))
+                    .sort(so -> so.field(f -> f.field("id").order(SortOrder.Desc)))
+                    .from((int) ((current - 1) * size))
+                    .size(size.intValue())
+                    .trackTotalHits(t -> t.enabled(true))
+                    .source(src -> src.filter(f -> f.includes("id"))));
+            ElasticsearchUtil.DocumentSearchResult<ArticleDocument> searchResult =
+                    elasticsearchUtil.searchDocuments(request, ArticleDocument.class);
+            searchCircuitBreaker.recordSuccess();
+
+            Page<Long> result = new Page<>(current, size, searchResult.getTotal());
+            result.setRecords(searchResult.getHits().stream()
+                    .map(hit -> hit.getSource().getId())
+                    .collect(Collectors.toList()));
+            return result;
+        } catch (Exception e) {
+            searchCircuitBreaker.recordFailure();
+            log.error("ES后台文章搜索异常，改用数据库查询: keyword={}", keyword, e);
+            return null;
         }
+    }
 
-        // 批量查询作者
-        List<Long> userIds = articles.stream()
-                .map(Article::getUserId)
-                .distinct()
-                .collect(Collectors.toList());
-        List<User> users = userMapper.selectBatchIds(userIds);
-        Map<Long, User> userMap = users.stream()
-                .collect(Collectors.toMap(User::getId, u -> u));
-
-        // 转换为VO（保持ES搜索结果的顺序）
-        List<ArticleListVO> result = new ArrayList<>();
-        for (Map<String, Object> searchResult : searchResults) {
-            Object idObj = searchResult.get("id");
-            if (idObj == null) {
-                continue;
+    private static ExecutorService createSuggestExecutor() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(32), r -> {
+            Thread thread = new Thread(r, "article-suggest-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdownSuggestExecutor() {
+        suggestExecutor.shutdownNow();
+    }
+
+    /**
+     * 构建搜索条件
+     * 关键词匹配参与评分，分类、标签、状态作为filter不参与评分且可被ES缓存
+     */
+    private Query buildSearchQuery(String keyword, Long categoryId, Long tagId) {
+        return Query.of(q -> q.bool(b -> {
+            // 搜索字段权重：标题3，摘要和标签2，内容1
+            b.must(m -> m.multiMatch(mm -> mm
+                    .query(keyword)
+                    .fields(List.of("title^3", "summary^2", "content", "tags^2"))));
+            b.filter(f -> f.term(t -> t.field("status").value(CommonConstants.ARTICLE_STATUS_PUBLISHED)));
+            if (categoryId != null) {
+                b.filter(f -> f.term(t -> t.field("categoryId").value(categoryId)));
             }
-            Long articleId = ((Number) idObj).longValue();
-            Article article = articleMap.get(articleId);
-            if (article == null) {
-                continue;
+            if (tagId != null) {
+                b.filter(f -> f.term(t -> t.field("tagIds").value(tagId)));
             }
+            return b;
+        }));
+    }
+
+    /**
+     * 构建排序规则
+     * 按指定字段排序时以相关度作为次级排序，最后以文章ID兜底保证分页稳定
+     */
+    private List<SortOptions> buildSearchSorts(String orderBy, String orderType) {
+        SortOrder order = ArticleOrderConstants.OrderType.ASC.equalsIgnoreCase(orderType)
+                ? SortOrder.Asc : SortOrder.Desc;
+
+        List<SortOptions> sorts = new ArrayList<>();
+        String sortField = resolveSortField(orderBy);
+        if (sortField != null) {
+            sorts.add(SortOptions.of(s -> s.field(f -> f.field(sortField).order(order))));
+        }
+        sorts.add(SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))));
+        sorts.add(SortOptions.of(s -> s.field(f -> f.field("id").order(SortOrder.Desc))));
+        return sorts;
+    }
+
+    /**
+     * 排序参数对应的文档字段（按相关度排序时返回null）
+     */
+    private String resolveSortField(String orderBy) {
+        if (ArticleOrderConstants.OrderBy.VIEW_COUNT.equals(orderBy)) {
+            return "viewCount";
+        } else if (ArticleOrderConstants.OrderBy.LIKE_COUNT.equals(orderBy)) {
+            return "likeCount";
+        } else if (ArticleOrderConstants.OrderBy.CREATE_TIME.equals(orderBy)) {
+            return "createTime";
+        }
+        return null;
+    }
 
-            // 只返回已发布的文章
-            if (article.getStatus() != CommonConstants.ARTICLE_STATUS_PUBLISHED) {
-                continue;
+    /**
+     * 构建列表卡片的高亮配置
+     * 标题整体高亮；摘要和正文只取一个卡片长度的片段，摘要未命中时用正文片段代替
+     */
+    private Highlight buildCardHighlight() {
+        return Highlight.of(h -> h
+                .preTags(ElasticsearchUtil.HIGHLIGHT_PRE_TAG)
+                .postTags(ElasticsearchUtil.HIGHLIGHT_POST_TAG)
+                .fields("title", f -> f.numberOfFragments(0))
+                .fields("summary", f -> f.fragmentSize(CARD_FRAGMENT_SIZE).numberOfFragments(1))
+                .fields("content", f -> f.fragmentSize(CARD_FRAGMENT_SIZE).numberOfFragments(1)));
+    }
+
+    /**
+     * 将ES命中文档转换为ArticleListVO
+     */
+    private ArticleListVO convertToArticleListVO(ElasticsearchUtil.DocumentHit<ArticleDocument> hit) {
+        ArticleDocument document = hit.getSource();
+
+        // 处理高亮标题和摘要
+        String title = hit.getHighlight("title");
+        String summary = hit.getHighlight("summary");
+        if (summary == null) {
+            summary = hit.getHighlight("content");
+        }
+
+        List<TagVO> tags = new ArrayList<>();
+        List<Long> tagIds = document.getTagIds();
+        List<String> tagNames = document.getTagNames();
+        if (tagIds != null && tagNames != null) {
+            for (int i = 0; i < Math.min(tagIds.size(), tagNames.size()); i++) {
+                tags.add(TagVO.builder()
+                        .id(tagIds.get(i))
+                        .name(tagNames.get(i))
+                        .build());
             }
+        }
 
-            CategoryVO category = categoryMap.get(article.getCategoryId());
-            List<Tag> tags = articleTagsMap.getOrDefault(articleId, new ArrayList<>());
-            User author = userMap.get(article.getUserId());
-
-            // 处理高亮标题和摘要
-            String title = (String) searchResult.get("title");
-            String summary = (String) searchResult.get("summary");
-
-            ArticleListVO vo = ArticleListVO.builder()
-                    .id(article.getId())
-                    .title(title != null ? title : article.getTitle())
-                    .summary(summary != null ? summary : article.getSummary())
-                    .coverImage(article.getCoverImage())
-                    .categoryId(article.getCategoryId())
-                    .categoryName(category != null ? category.getName() : null)
-                    .tags(tags.stream()
-                            .map(tag -> TagVO.builder()
-                                    .id(tag.getId())
-                                    .name(tag.getName())
-                                    .build())
-                            .collect(Collectors.toList()))
-                    .authorId(article.getUserId())
-                    .authorName(author != null
-                            ? (author.getNickname() != null ? author.getNickname() : author.getUsername())
-                            : null)
-                    .authorAvatar(author != null ? author.getAvatar() : null)
-                    .viewCount(article.getViewCount())
-                    .likeCount(article.getLikeCount())
-                    .commentCount(article.getCommentCount())
-                    .status(article.getStatus())
-                    .createTime(article.getCreateTime())
-                    .updateTime(article.getUpdateTime())
-                    .build();
+        return ArticleListVO.builder()
+                .id(document.getId())
+                .title(title != null ? title : document.getTitle())
+                .summary(summary != null ? summary : document.getSummary())
+                .coverImage(document.getCoverImage())
+                .categoryId(document.getCategoryId())
+                .categoryName(document.getCategoryName())
+                .tags(tags)
+                .authorId(document.getUserId())
+                .authorName(document.getAuthorName())
+                .authorAvatar(document.getAuthorAvatar())
+                .viewCount(document.getViewCount())
+                .likeCount(document.getLikeCount())
+                .commentCount(document.getCommentCount())
+                .status(document.getStatus())
+                .createTime(parseDateTime(document.getCreateTime()))
+                .updateTime(parseDateTime(document.getUpdateTime()))
+                .build();
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        return StringUtils.hasText(value) ? LocalDateTime.parse(value, ArticleDocumentBuilder.DATE_TIME_FORMATTER) : null;
+    }
 
-            result.add(vo);
+    /**
+     * 提取索引配置中的 mappings 节点
+     */
+    private String extractMappings(String indexMapping) {
+        try {
+            return objectMapper.readTree(indexMapping).get("mappings").toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("文章索引映射配置解析失败", e);
         }
+    }
 
-        return result;
+    /**
+     * 搜索游标内容
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    private static class SearchCursor {
+
+        /**
+         * 查询条件摘要（游标只能用于生成它的查询）
+         */
+        private String query;
+
+        /**
+         * PIT ID
+         */
+        private String pit;
+
+        /**
+         * 上一页最后一条的排序值
+         */
+        private List<Object> after;
+
+        /**
+         * 首页统计的命中总数
+         */
+        private long total;
     }
 }
-
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -17,6 +18,11 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
 import cn.lzx.blog.dto.ArticlePublishDTO;
 import cn.lzx.blog.dto.ArticleQueryDTO;
+import cn.lzx.blog.dto.IdCountDTO;
+import cn.lzx.blog.event.ArticleCounterEvent;
+import cn.lzx.blog.integration.es.ArticleIndexer;
+import cn.lzx.blog.integration.es.RelatedArticleRecommender;
+import cn.lzx.blog.integration.es.SearchResultCache;
 import cn.lzx.blog.mapper.ArticleMapper;
 import cn.lzx.blog.mapper.ArticleTagMapper;
 import cn.lzx.blog.mapper.CollectMapper;
@@ -25,8 +31,10 @@ import cn.lzx.blog.mapper.TagMapper;
 import cn.lzx.blog.mapper.UserMapper;
 import cn.lzx.blog.service.ArticleSearchService;
 import cn.lzx.blog.service.ArticleService;
+import cn.lzx.blog.service.DailyStatsService;
 import cn.lzx.blog.service.CategoryService;
 import cn.lzx.blog.service.TagService;
+import cn.lzx.blog.task.TrendingArticleTask;
 import cn.lzx.blog.vo.ArticleDetailVO;
 import cn.lzx.blog.vo.ArticleListVO;
 import cn.lzx.blog.vo.CategoryVO;
@@ -66,9 +74,13 @@ public class ArticleServiceImpl implements ArticleService {
     private final CollectMapper collectMapper;
     private final CategoryService categoryService;
     private final TagService tagService;
+    private final DailyStatsService dailyStatsService;
     private final ArticleSearchService articleSearchService;
+    private final ArticleIndexer articleIndexer;
+    private final SearchResultCache searchResultCache;
     private final cn.lzx.blog.integration.ai.ZhipuAIService zhipuAIService;
     private final RedisUtil redisUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -112,10 +124,13 @@ public class ArticleServiceImpl implements ArticleService {
         if (!tagIds.isEmpty()) {
             saveArticleTags(article.getId(), tagIds);
         }
+        tagService.updateTagPopularity(false, List.of(),
+                article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED, tagIds);
 
-        // 5. 同步文章到ES（如果已发布）
+        // 5. 登记ES索引（草稿也写入，供后台搜索；事务提交后异步写入）
+        articleIndexer.enqueue(article.getId());
         if (article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED) {
-            articleSearchService.syncArticleToEs(article.getId());
+            dailyStatsService.record(DailyStatsService.Metric.PUBLISH, 1);
         }
 
         // 6. 清除文章缓存（如果存在）
@@ -149,6 +164,7 @@ public class ArticleServiceImpl implements ArticleService {
         Long categoryId = resolveCategoryId(dto.getCategoryId(), dto.getCategoryName());
 
         // 4. 更新文章
+        boolean wasPublished = article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED;
         article.setTitle(dto.getTitle());
         article.setContent(dto.getContent());
         article.setSummary(dto.getSummary());
@@ -167,6 +183,7 @@ public class ArticleServiceImpl implements ArticleService {
         List<Long> tagIds = resolveTagIds(dto.getTagIds(), dto.getTagNames());
 
         // 6. 更新文章标签关联（先删除旧的，再插入新的）
+        List<Long> oldTagIds = selectTagIds(articleId);
         LambdaQueryWrapper<ArticleTag> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(ArticleTag::getArticleId, articleId);
         articleTagMapper.delete(wrapper);
@@ -174,15 +191,15 @@ public class ArticleServiceImpl implements ArticleService {
         if (!tagIds.isEmpty()) {
             saveArticleTags(articleId, tagIds);
         }
-
-        // 7. 同步文章到ES（如果已发布）
-        if (article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED) {
-            articleSearchService.syncArticleToEs(articleId);
-        } else {
-            // 如果不是已发布状态，从ES中删除
-            articleSearchService.deleteArticleFromEs(articleId);
+        tagService.updateTagPopularity(wasPublished, oldTagIds,
+                article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED, tagIds);
+        if (!wasPublished && article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED) {
+            dailyStatsService.record(DailyStatsService.Metric.PUBLISH, 1);
         }
 
+        // 7. 登记ES索引（事务提交后异步写入，非已发布状态会从ES中删除）
+        articleIndexer.enqueue(articleId);
+
         // 8. 清除文章缓存
         String cacheKey = RedisKeyEnum.KEY_ARTICLE_CACHE.getKey(articleId);
         redisUtil.delete(cacheKey);
@@ -211,12 +228,15 @@ public class ArticleServiceImpl implements ArticleService {
         }
 
         // 4. 删除文章标签关联
+        List<Long> oldTagIds = selectTagIds(articleId);
         LambdaQueryWrapper<ArticleTag> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(ArticleTag::getArticleId, articleId);
         articleTagMapper.delete(wrapper);
+        tagService.updateTagPopularity(article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED, oldTagIds,
+                false, List.of());
 
-        // 5. 从ES中删除文章
-        articleSearchService.deleteArticleFromEs(articleId);
+        // 5. 登记ES索引（事务提交后异步从ES中删除）
+        articleIndexer.enqueue(articleId);
 
         // 6. 清除文章缓存
         String cacheKey = RedisKeyEnum.KEY_ARTICLE_CACHE.getKey(articleId);
@@ -230,7 +250,7 @@ public class ArticleServiceImpl implements ArticleService {
         // 如果有关键词，使用ES搜索；否则使用数据库查询
         if (StringUtils.hasText(queryDTO.getKeyword())) {
             // 使用Elasticsearch全文搜索
-            return articleSearchService.searchArticles(
+            Page<ArticleListVO> result = articleSearchService.searchArticles(
                     queryDTO.getKeyword(),
                     queryDTO.getCategoryId(),
                     queryDTO.getTagId(),
@@ -238,6 +258,11 @@ public class ArticleServiceImpl implements ArticleService {
                     queryDTO.getOrderType(),
                     queryDTO.getPage(),
                     queryDTO.getSize());
+            // 有结果的首页查询计入热门搜索词（翻页不重复计数）
+            if (queryDTO.getPage() == 1 && result.getTotal() > 0) {
+                searchResultCache.recordQuery(SearchResultCache.normalizeKeyword(queryDTO.getKeyword()));
+            }
+            return result;
         }
 
         // 无关键词时，使用数据库查询
@@ -313,6 +338,7 @@ public class ArticleServiceImpl implements ArticleService {
             
             // 增加浏览量（异步更新到数据库，这里先更新内存中的值）
             articleMapper.incrementViewCount(articleId);
+            eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.VIEW, 1));
             if (articleDetail.getViewCount() != null) {
                 articleDetail.setViewCount(articleDetail.getViewCount() + 1);
             }
@@ -336,6 +362,7 @@ public class ArticleServiceImpl implements ArticleService {
             // 3. 增加浏览量（草稿和屏蔽文章不增加浏览量）
             if (article.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED) {
                 articleMapper.incrementViewCount(articleId);
+                eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.VIEW, 1));
                 article.setViewCount(article.getViewCount() + 1);
             }
 
@@ -391,8 +418,9 @@ public class ArticleServiceImpl implements ArticleService {
                     .updateTime(article.getUpdateTime())
                     .build();
             
-            // 9. 如果是已发布的文章，存入缓存（10分钟过期）
+            // 9. 如果是已发布的文章，读取预计算的相关文章并存入缓存（10分钟过期）
             if (useCache) {
+                articleDetail.setRelatedArticles(getRelatedArticles(articleId));
                 redisUtil.set(cacheKey, articleDetail, RedisKeyEnum.KEY_ARTICLE_CACHE.getExpire(), TimeUnit.SECONDS);
                 log.debug("文章详情已存入缓存: articleId={}", articleId);
             }
@@ -539,6 +567,18 @@ public class ArticleServiceImpl implements ArticleService {
         return result;
     }
 
+    /**
+     * 查询文章当前关联的标签ID
+     */
+    private List<Long> selectTagIds(Long articleId) {
+        return articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                        .select(ArticleTag::getTagId)
+                        .eq(ArticleTag::getArticleId, articleId))
+                .stream()
+                .map(ArticleTag::getTagId)
+                .collect(Collectors.toList());
+    }
+
     /**
      * 保存文章标签关联
      */
@@ -677,11 +717,27 @@ public class ArticleServiceImpl implements ArticleService {
     @Override
     public void incrementCommentCount(Long articleId) {
         articleMapper.incrementCommentCount(articleId);
+        eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.COMMENT, 1));
     }
 
     @Override
     public void decrementCommentCount(Long articleId) {
         articleMapper.decrementCommentCount(articleId);
+        eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.COMMENT, -1));
+    }
+
+    @Override
+    public void adjustCommentCounts(Map<Long, Long> deltas) {
+        List<IdCountDTO> changes = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new IdCountDTO(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        if (changes.isEmpty()) {
+            return;
+        }
+        articleMapper.addCommentCounts(changes);
+        changes.forEach(change -> eventPublisher.publishEvent(new ArticleCounterEvent(
+                change.getId(), ArticleCounterEvent.CounterType.COMMENT, change.getCount())));
     }
 
     @Override
@@ -693,7 +749,7 @@ public class ArticleServiceImpl implements ArticleService {
             limit = 100; // 最多返回100篇
         }
 
-        // 1. 从Redis ZSet中获取热门文章ID（按浏览量降序）
+        // 1. 从Redis ZSet中获取热门文章ID（按时间衰减热度降序）
         String hotArticlesKey = RedisKeyEnum.KEY_HOT_ARTICLES.getKey();
         Set<Object> articleIdSet = redisUtil.zReverseRange(hotArticlesKey, 0, limit - 1);
 
@@ -735,7 +791,76 @@ public class ArticleServiceImpl implements ArticleService {
                 .filter(a -> a != null && a.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED)
                 .collect(Collectors.toList());
 
-        // 5. 转换为ArticleListVO
+        // 5. 已删除或下线的文章移出排行榜，避免占用名额
+        if (sortedArticles.size() < articleIds.size()) {
+            Set<Long> visibleIds = sortedArticles.stream().map(Article::getId).collect(Collectors.toSet());
+            Object[] staleIds = articleIds.stream()
+                    .filter(id -> !visibleIds.contains(id))
+                    .map(String::valueOf)
+                    .toArray();
+            redisUtil.zRemove(hotArticlesKey, staleIds);
+        }
+
+        // 6. 转换为ArticleListVO
+        return convertToArticleListVO(sortedArticles, null);
+    }
+
+    /**
+     * 读取预计算的相关文章（由 RelatedArticleRecommender 写入Redis，这里只做批量加载）
+     */
+    private List<ArticleListVO> getRelatedArticles(Long articleId) {
+        String relatedKey = RedisKeyEnum.KEY_ARTICLE_RELATED.getKey(articleId);
+        List<Object> relatedIds = redisUtil.lRange(relatedKey, 0, RelatedArticleRecommender.RELATED_SIZE - 1);
+        if (relatedIds == null || relatedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return listPublishedInOrder(relatedIds.stream()
+                .filter(id -> id instanceof Number)
+                .map(id -> ((Number) id).longValue())
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<ArticleListVO> getTrendingArticles(String window, Long categoryId, Integer limit) {
+        if (window == null || window.isEmpty()) {
+            window = ArticleOrderConstants.TrendingWindow.DAY;
+        }
+        if (!ArticleOrderConstants.TrendingWindow.isValid(window)) {
+            throw new BusinessException("不支持的时间窗口: " + window);
+        }
+        if (limit == null || limit <= 0) {
+            limit = 10;
+        }
+        limit = Math.min(limit, TrendingArticleTask.TRENDING_SIZE);
+
+        // 读取定时任务合并好的文章ID列表（按窗口内热度降序）
+        String cacheKey = RedisKeyEnum.KEY_TRENDING_CACHE.getKey(window,
+                categoryId != null ? categoryId : TrendingArticleTask.ALL_CATEGORIES);
+        Object cached = redisUtil.get(cacheKey);
+        if (!(cached instanceof List)) {
+            return new ArrayList<>();
+        }
+        return listPublishedInOrder(((List<?>) cached).stream()
+                .filter(id -> id instanceof Number)
+                .map(id -> ((Number) id).longValue())
+                .limit(limit)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 按给定顺序批量加载文章列表，过滤已下线的文章
+     */
+    private List<ArticleListVO> listPublishedInOrder(List<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Article> articleMap = articleMapper.selectBatchIds(articleIds).stream()
+                .collect(Collectors.toMap(Article::getId, a -> a));
+        List<Article> sortedArticles = articleIds.stream()
+                .map(articleMap::get)
+                .filter(a -> a != null && a.getStatus() == CommonConstants.ARTICLE_STATUS_PUBLISHED)
+                .collect(Collectors.toList());
         return convertToArticleListVO(sortedArticles, null);
     }
 }
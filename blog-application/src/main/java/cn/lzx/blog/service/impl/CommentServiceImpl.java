@@ -1,28 +1,57 @@
 package cn.lzx.blog.service.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 
+import cn.lzx.blog.config.comment.CommentProperties;
 import cn.lzx.blog.dto.CommentCreateDTO;
+import cn.lzx.blog.dto.IdCountDTO;
+import cn.lzx.blog.event.ArticleCounterEvent;
+import cn.lzx.blog.integration.mq.CommentIngestionPipeline;
 import cn.lzx.blog.mapper.ArticleMapper;
 import cn.lzx.blog.mapper.CommentMapper;
 import cn.lzx.blog.mapper.LikeRecordMapper;
 import cn.lzx.blog.mapper.UserMapper;
 import cn.lzx.blog.service.ArticleService;
 import cn.lzx.blog.service.CommentService;
+import cn.lzx.blog.vo.CommentCreateVO;
+import cn.lzx.blog.vo.CommentPageVO;
 import cn.lzx.blog.vo.CommentVO;
 import cn.lzx.constants.CommonConstants;
 import cn.lzx.entity.Article;
 import cn.lzx.entity.Comment;
+import cn.lzx.entity.LikeRecord;
 import cn.lzx.entity.User;
+import cn.lzx.enums.RedisKeyEnum;
 import cn.lzx.exception.BusinessException;
+import cn.lzx.utils.RedisUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,60 +71,69 @@ public class CommentServiceImpl implements CommentService {
     private final ArticleService articleService;
     private final UserMapper userMapper;
     private final LikeRecordMapper likeRecordMapper;
+    private final RedisUtil redisUtil;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CommentProperties commentProperties;
+    private final CommentIngestionPipeline commentIngestionPipeline;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 评论缓存并发更新冲突时的最大重试次数
+     */
+    private static final int CACHE_PATCH_MAX_RETRIES = 3;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public Long createComment(Long userId, CommentCreateDTO dto) {
+    public CommentCreateVO createComment(Long userId, CommentCreateDTO dto) {
         // 1. 验证文章是否存在
         Article article = articleMapper.selectById(dto.getArticleId());
         if (article == null) {
             throw new BusinessException("文章不存在");
         }
 
-        // 2. 处理父评论和根评论
-        Long parentId = dto.getParentId() != null ? dto.getParentId() : 0L;
-        Long rootId = 0L;
-        Long toUserId = dto.getToUserId();
-
-        if (parentId > 0) {
-            // 回复评论：验证父评论是否存在
-            Comment parentComment = commentMapper.selectById(parentId);
-            if (parentComment == null || parentComment.getDeleted() == 1) {
-                throw new BusinessException("父评论不存在");
-            }
-
-            // 验证父评论是否属于同一篇文章
-            if (!parentComment.getArticleId().equals(dto.getArticleId())) {
-                throw new BusinessException("父评论不属于该文章");
-            }
-
-            // 确定根评论ID
-            rootId = parentComment.getRootId() > 0 ? parentComment.getRootId() : parentComment.getId();
-
-            // 验证评论深度（限制不能太深）
-            int currentDepth = calculateDepth(parentId, rootId);
-            if (currentDepth >= CommonConstants.COMMENT_MAX_DEPTH) {
-                throw new BusinessException("评论深度不能超过" + CommonConstants.COMMENT_MAX_DEPTH + "层");
-            }
-
-            // 如果没有指定toUserId，默认回复父评论的作者
-            if (toUserId == null) {
-                toUserId = parentComment.getUserId();
-            }
-        }
-
-        // 3. 创建评论
+        // 2. 创建评论（默认为一级评论）
         Comment comment = Comment.builder()
                 .articleId(dto.getArticleId())
                 .userId(userId)
                 .content(dto.getContent())
-                .parentId(parentId)
-                .rootId(rootId)
-                .toUserId(toUserId)
+                .parentId(0L)
+                .rootId(0L)
+                .depth(0)
+                .path("/")
+                .toUserId(dto.getToUserId())
                 .likeCount(0)
                 .status(CommonConstants.COMMENT_STATUS_NORMAL)
+                // 显式设置创建时间（秒级，与数据库datetime一致），用于增量更新评论缓存
+                .createTime(LocalDateTime.now().withNano(0))
                 .build();
 
+        // 3. 处理父评论：按ID或客户端令牌查找，令牌对应的评论可能仍在排队
+        if (StringUtils.hasText(dto.getParentToken())) {
+            Comment parentComment = commentMapper.selectOne(new LambdaQueryWrapper<Comment>()
+                    .eq(Comment::getClientToken, dto.getParentToken()));
+            if (parentComment != null) {
+                attachToParent(comment, parentComment);
+            } else {
+                attachToPendingParent(comment, dto.getParentToken());
+            }
+        } else if (dto.getParentId() != null && dto.getParentId() > 0) {
+            Comment parentComment = commentMapper.selectById(dto.getParentId());
+            if (parentComment == null) {
+                throw new BusinessException("父评论不存在");
+            }
+            attachToParent(comment, parentComment);
+        }
+
+        // 异步提交：校验通过后立即返回客户端令牌，由后台批量落库并分配评论ID
+        if (commentProperties.isAsyncEnabled()) {
+            String clientToken = commentIngestionPipeline.submit(comment);
+            log.info("用户[{}]在文章[{}]下提交评论[{}]，等待异步落库", userId, dto.getArticleId(), clientToken);
+            return CommentCreateVO.builder().clientToken(clientToken).pending(true).build();
+        }
+        if (comment.getParentToken() != null) {
+            throw new BusinessException("回复的评论尚未发布完成，请稍后重试");
+        }
+
         int result = commentMapper.insert(comment);
         if (result <= 0) {
             throw new BusinessException("评论失败");
@@ -105,43 +143,121 @@ public class CommentServiceImpl implements CommentService {
         // TODO: 这些数据存储redis
         articleService.incrementCommentCount(dto.getArticleId());
 
+        // 5. 事务提交后将新评论追加到评论缓存
+        addToCommentCache(comment);
+
         log.info("用户[{}]在文章[{}]下创建评论[{}]成功", userId, dto.getArticleId(), comment.getId());
-        return comment.getId();
+        return CommentCreateVO.builder().id(comment.getId()).pending(false).build();
     }
 
     /**
-     * 计算评论深度
-     * 从父评论开始向上查找，直到根评论
-     *
-     * @param parentId 父评论ID
-     * @param rootId   根评论ID
-     * @return 深度（从1开始，1表示根评论的直接回复）
+     * 挂到已落库的父评论下：根评论ID、深度和路径由父评论直接推出
      */
-    private int calculateDepth(Long parentId, Long rootId) {
-        if (parentId == 0 || parentId.equals(rootId)) {
-            return 1; // 根评论的直接回复，深度为1
+    private void attachToParent(Comment comment, Comment parentComment) {
+        // 验证父评论是否属于同一篇文章
+        if (!parentComment.getArticleId().equals(comment.getArticleId())) {
+            throw new BusinessException("父评论不属于该文章");
+        }
+        int depth = parentComment.getDepth() + 1;
+        if (depth >= CommonConstants.COMMENT_MAX_DEPTH) {
+            throw new BusinessException("评论深度不能超过" + CommonConstants.COMMENT_MAX_DEPTH + "层");
         }
+        comment.setParentId(parentComment.getId());
+        comment.setRootId(parentComment.getRootId() > 0 ? parentComment.getRootId() : parentComment.getId());
+        comment.setDepth(depth);
+        comment.setPath(parentComment.getPath() + parentComment.getId() + "/");
+        comment.setParentToken(null);
+        // 如果没有指定toUserId，默认回复父评论的作者
+        if (comment.getToUserId() == null) {
+            comment.setToUserId(parentComment.getUserId());
+        }
+    }
 
-        int depth = 1;
-        Long currentId = parentId;
+    /**
+     * 挂到排队中的父评论下：先校验并记下父评论令牌，父评论ID、根评论ID和路径在落库时解析
+     */
+    private void attachToPendingParent(Comment comment, String parentToken) {
+        Comment pending = commentIngestionPipeline.findPending(parentToken);
+        if (pending == null) {
+            throw new BusinessException("父评论不存在");
+        }
+        if (!pending.getArticleId().equals(comment.getArticleId())) {
+            throw new BusinessException("父评论不属于该文章");
+        }
+        int depth = pending.getDepth() + 1;
+        if (depth >= CommonConstants.COMMENT_MAX_DEPTH) {
+            throw new BusinessException("评论深度不能超过" + CommonConstants.COMMENT_MAX_DEPTH + "层");
+        }
+        comment.setDepth(depth);
+        comment.setParentToken(parentToken);
+        if (comment.getToUserId() == null) {
+            comment.setToUserId(pending.getUserId());
+        }
+    }
 
-        // 向上查找父评论链，直到根评论
-        while (currentId != null && !currentId.equals(rootId) && currentId > 0) {
-            Comment currentComment = commentMapper.selectById(currentId);
-            if (currentComment == null || currentComment.getDeleted() == 1) {
-                break;
-            }
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void saveCommentBatch(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return;
+        }
+        List<String> clientTokens = comments.stream().map(Comment::getClientToken).collect(Collectors.toList());
 
-            depth++;
-            currentId = currentComment.getParentId();
+        // 1. 过滤已落库的评论（消息重复投递时保证幂等）
+        Set<String> existingTokens = new HashSet<>(commentMapper.selectExistingClientTokens(clientTokens));
+        List<Comment> newComments = comments.stream()
+                .filter(c -> !existingTokens.contains(c.getClientToken()))
+                .collect(Collectors.toList());
 
-            // 防止无限循环，最多查找COMMENT_MAX_DEPTH次
-            if (depth > CommonConstants.COMMENT_MAX_DEPTH) {
-                break;
+        // 2. 按提交顺序批量插入；回复同批中尚未插入的评论时先插入已积攒的部分，以便解析父评论ID
+        Map<String, Comment> saved = new HashMap<>();
+        List<Comment> chunk = new ArrayList<>();
+        Set<String> chunkTokens = new HashSet<>();
+        for (Comment comment : newComments) {
+            String parentToken = comment.getParentToken();
+            if (parentToken != null) {
+                if (chunkTokens.contains(parentToken)) {
+                    insertChunk(chunk, saved);
+                    chunkTokens.clear();
+                }
+                Comment parentComment = saved.containsKey(parentToken)
+                        ? saved.get(parentToken)
+                        : commentMapper.selectOne(new LambdaQueryWrapper<Comment>()
+                                .eq(Comment::getClientToken, parentToken));
+                if (parentComment == null) {
+                    log.error("父评论未落库或已删除，丢弃回复: clientToken={}, parentToken={}",
+                            comment.getClientToken(), parentToken);
+                    continue;
+                }
+                attachToParent(comment, parentComment);
             }
+            chunk.add(comment);
+            chunkTokens.add(comment.getClientToken());
         }
+        insertChunk(chunk, saved);
+
+        // 3. 按文章聚合更新评论数（按文章ID排序加锁，避免并发批次间死锁）
+        Map<Long, Long> countByArticle = saved.values().stream()
+                .collect(Collectors.groupingBy(Comment::getArticleId, TreeMap::new, Collectors.counting()));
+        countByArticle.forEach((articleId, delta) -> {
+            articleMapper.addCommentCount(articleId, delta);
+            eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.COMMENT, delta));
+        });
+
+        // 4. 事务提交后按顺序追加到评论缓存，并取消排队登记
+        newComments.stream().filter(c -> saved.containsKey(c.getClientToken())).forEach(this::addToCommentCache);
+        runAfterCommit(() -> commentIngestionPipeline.complete(clientTokens));
+
+        log.info("批量落库评论{}条，涉及文章{}篇", saved.size(), countByArticle.size());
+    }
 
-        return depth;
+    private void insertChunk(List<Comment> chunk, Map<String, Comment> saved) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        commentMapper.insertBatch(chunk);
+        chunk.forEach(comment -> saved.put(comment.getClientToken(), comment));
+        chunk.clear();
     }
 
     @Override
@@ -167,91 +283,500 @@ public class CommentServiceImpl implements CommentService {
         // 4. 减少文章评论数
         articleService.decrementCommentCount(comment.getArticleId());
 
+        // 5. 从评论缓存中移除（隐藏状态的评论本就不在缓存中）
+        if (CommonConstants.COMMENT_STATUS_NORMAL.equals(comment.getStatus())) {
+            removeFromCommentCache(comment);
+        }
+
         log.info("用户[{}]删除评论[{}]成功", userId, commentId);
     }
 
     @Override
-    public List<CommentVO> getCommentList(Long articleId, Long userId) {
-        // 1. 查询根评论列表（一级评论）
-        List<Comment> rootComments = commentMapper.selectRootCommentsByArticleId(articleId);
+    public CommentPageVO getCommentPage(Long articleId, Long userId, String cursor, Integer size) {
+        int pageSize = normalizePageSize(size);
+
+        // 默认大小的第一页走缓存（匿名视角），其余页直接查询
+        CommentPageVO page;
+        if (!StringUtils.hasText(cursor) && pageSize == CommonConstants.COMMENT_PAGE_SIZE) {
+            page = getCachedFirstPage(articleId);
+        } else {
+            page = buildCommentPage(articleId, decodeCursor(cursor), pageSize);
+        }
+
+        // 叠加当前用户的点赞状态
+        overlayLikeFlags(page, userId);
+        return page;
+    }
+
+    @Override
+    public CommentPageVO getReplyPage(Long rootId, Long userId, String cursor, Integer size) {
+        Comment rootComment = commentMapper.selectById(rootId);
+        if (rootComment == null || rootComment.getParentId() != 0
+                || !CommonConstants.COMMENT_STATUS_NORMAL.equals(rootComment.getStatus())) {
+            throw new BusinessException("评论不存在");
+        }
+
+        int pageSize = normalizePageSize(size);
+        CommentCursor pageCursor = decodeCursor(cursor);
+
+        List<Comment> replies = commentMapper.selectReplyPage(rootId,
+                pageCursor != null ? pageCursor.createTime : null,
+                pageCursor != null ? pageCursor.id : null,
+                pageSize + 1);
+        boolean hasMore = replies.size() > pageSize;
+        if (hasMore) {
+            replies = new ArrayList<>(replies.subList(0, pageSize));
+        }
+        if (replies.isEmpty()) {
+            return emptyPage();
+        }
+
+        Map<Long, User> userMap = getUserMap(replies);
+        List<CommentVO> records = replies.stream()
+                .map(reply -> buildCommentVO(reply, userMap))
+                .collect(Collectors.toList());
+
+        Comment last = replies.get(replies.size() - 1);
+        CommentPageVO page = CommentPageVO.builder()
+                .records(records)
+                .nextCursor(hasMore ? encodeCursor(last.getCreateTime(), last.getId()) : null)
+                .hasMore(hasMore)
+                .build();
+        overlayLikeFlags(page, userId);
+        return page;
+    }
+
+    @Override
+    public void addToCommentCache(Comment comment) {
+        runAfterCommit(() -> {
+            if (comment.getParentId() == 0) {
+                // 根评论：连同其内联回复一起构建（恢复显示的根评论可能已有回复）
+                List<CommentVO> vos = buildRootCommentVOs(Collections.singletonList(comment));
+                patchCommentCache(comment.getArticleId(), page -> insertRoot(page, vos.get(0)));
+            } else {
+                CommentVO vo = buildCommentVO(comment, getUserMap(Collections.singletonList(comment)));
+                patchCommentCache(comment.getArticleId(), page -> insertReply(page, vo));
+            }
+        });
+    }
+
+    @Override
+    public void removeFromCommentCache(Comment comment) {
+        runAfterCommit(() -> patchCommentCache(comment.getArticleId(),
+                page -> comment.getParentId() == 0 ? removeRoot(page, comment.getId()) : removeReply(page, comment)));
+    }
+
+    @Override
+    public void evictCommentCache(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new HashSet<>(articleIds));
+        runAfterCommit(() -> {
+            try {
+                // 自增版本号使进行中的回填失效，再删除缓存页；全部命令在一次管道中发送
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings({ "unchecked", "rawtypes" })
+                    public Object execute(RedisOperations operations) throws DataAccessException {
+                        for (Long articleId : ids) {
+                            String versionKey = RedisKeyEnum.KEY_COMMENT_CACHE_VERSION.getKey(articleId);
+                            operations.opsForValue().increment(versionKey);
+                            operations.expire(versionKey, RedisKeyEnum.KEY_COMMENT_CACHE_VERSION.getExpire(),
+                                    TimeUnit.SECONDS);
+                            operations.delete(RedisKeyEnum.KEY_COMMENT_PAGE_CACHE.getKey(articleId));
+                        }
+                        return null;
+                    }
+                });
+            } catch (Exception e) {
+                log.error("批量淘汰评论缓存失败: articleIds={}", ids, e);
+            }
+        });
+    }
+
+    /**
+     * 构建一页根评论（匿名视角，不含点赞状态）
+     *
+     * @param articleId  文章ID
+     * @param pageCursor 游标（为空表示第一页）
+     * @param pageSize   每页条数
+     * @return 评论分页
+     */
+    private CommentPageVO buildCommentPage(Long articleId, CommentCursor pageCursor, int pageSize) {
+        // 1. 游标分页查询根评论（多查一条用于判断是否还有下一页）
+        List<Comment> rootComments = commentMapper.selectRootCommentPage(articleId,
+                pageCursor != null ? pageCursor.createTime : null,
+                pageCursor != null ? pageCursor.id : null,
+                pageSize + 1);
+        boolean hasMore = rootComments.size() > pageSize;
+        if (hasMore) {
+            rootComments = new ArrayList<>(rootComments.subList(0, pageSize));
+        }
         if (rootComments.isEmpty()) {
-            return new ArrayList<>();
+            return emptyPage();
         }
 
-        // 2. 查询所有根评论的回复
+        // 2. 组装根评论及内联回复
+        List<CommentVO> records = buildRootCommentVOs(rootComments);
+
+        Comment last = rootComments.get(rootComments.size() - 1);
+        return CommentPageVO.builder()
+                .records(records)
+                .nextCursor(hasMore ? encodeCursor(last.getCreateTime(), last.getId()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * 批量构建根评论VO（内联前几条回复，并附带回复总数和剩余回复游标）
+     *
+     * @param rootComments 根评论列表
+     * @return 根评论VO列表
+     */
+    private List<CommentVO> buildRootCommentVOs(List<Comment> rootComments) {
+        // 1. 批量查询每条根评论的前几条回复和回复总数
         List<Long> rootIds = rootComments.stream()
                 .map(Comment::getId)
                 .collect(Collectors.toList());
+        List<Comment> inlineReplies = commentMapper.selectTopRepliesByRootIds(rootIds,
+                CommonConstants.COMMENT_INLINE_REPLY_SIZE);
+        Map<Long, List<Comment>> repliesByRoot = inlineReplies.stream()
+                .collect(Collectors.groupingBy(Comment::getRootId));
+        Map<Long, Long> replyCountMap = commentMapper.countRepliesByRootIds(rootIds).stream()
+                .collect(Collectors.toMap(IdCountDTO::getId, IdCountDTO::getCount));
+
+        // 2. 批量获取用户信息
+        List<Comment> allComments = new ArrayList<>(rootComments);
+        allComments.addAll(inlineReplies);
+        Map<Long, User> userMap = getUserMap(allComments);
+
+        // 3. 组装
+        return rootComments.stream()
+                .map(rootComment -> {
+                    List<Comment> replies = repliesByRoot.getOrDefault(rootComment.getId(), Collections.emptyList());
+                    long replyCount = replyCountMap.getOrDefault(rootComment.getId(), 0L);
+
+                    CommentVO vo = buildCommentVO(rootComment, userMap);
+                    vo.setReplies(replies.stream()
+                            .map(reply -> buildCommentVO(reply, userMap))
+                            .collect(Collectors.toList()));
+                    vo.setReplyCount((int) replyCount);
+                    if (replyCount > replies.size() && !replies.isEmpty()) {
+                        Comment lastReply = replies.get(replies.size() - 1);
+                        vo.setReplyCursor(encodeCursor(lastReply.getCreateTime(), lastReply.getId()));
+                    }
+                    return vo;
+                })
+                .collect(Collectors.toList());
+    }
 
-        List<Comment> allReplies = new ArrayList<>();
-        for (Long rootId : rootIds) {
-            List<Comment> replies = commentMapper.selectRepliesByRootId(rootId);
-            allReplies.addAll(replies);
+    /**
+     * 获取文章评论第一页（优先读缓存，未命中时查库并回填）
+     */
+    private CommentPageVO getCachedFirstPage(Long articleId) {
+        String pageKey = RedisKeyEnum.KEY_COMMENT_PAGE_CACHE.getKey(articleId);
+        Object cached = redisUtil.get(pageKey);
+        if (cached instanceof CommentPageVO) {
+            return (CommentPageVO) cached;
         }
 
-        // 3. 获取所有评论的用户信息
-        List<Long> allUserIds = new ArrayList<>();
-        rootComments.forEach(c -> {
-            allUserIds.add(c.getUserId());
-            if (c.getToUserId() != null) {
-                allUserIds.add(c.getToUserId());
+        // 查库前记录版本号，回填时若版本已变化（期间有增量更新）则放弃回填
+        long version = getCommentCacheVersion(articleId);
+        CommentPageVO page = buildCommentPage(articleId, null, CommonConstants.COMMENT_PAGE_SIZE);
+        putCommentCacheIfUnchanged(articleId, page, version);
+        return page;
+    }
+
+    /**
+     * 叠加当前用户的点赞状态（缓存中的评论均为匿名视角）
+     */
+    private void overlayLikeFlags(CommentPageVO page, Long userId) {
+        List<CommentVO> allVOs = new ArrayList<>();
+        for (CommentVO vo : page.getRecords()) {
+            allVOs.add(vo);
+            if (vo.getReplies() != null) {
+                allVOs.addAll(vo.getReplies());
             }
-        });
-        allReplies.forEach(c -> {
-            allUserIds.add(c.getUserId());
+        }
+
+        Set<Long> likedCommentIds = getLikedCommentIds(userId,
+                allVOs.stream().map(CommentVO::getId).collect(Collectors.toList()));
+        allVOs.forEach(vo -> vo.setIsLiked(likedCommentIds.contains(vo.getId())));
+    }
+
+    // ==================== 评论缓存增量更新 ====================
+
+    /**
+     * 将根评论插入缓存页（按创建时间、ID倒序），超出页大小时挤出最后一条
+     */
+    private CommentPageVO insertRoot(CommentPageVO page, CommentVO vo) {
+        List<CommentVO> records = page.getRecords();
+        if (records.stream().anyMatch(r -> r.getId().equals(vo.getId()))) {
+            return page;
+        }
+
+        int index = 0;
+        while (index < records.size() && isBefore(vo, records.get(index))) {
+            index++;
+        }
+        // 排在缓存页最后一条之后且还有下一页，说明属于后续页，由游标分页查询
+        if (index == records.size() && Boolean.TRUE.equals(page.getHasMore())) {
+            return page;
+        }
+
+        records.add(index, vo);
+        if (records.size() > CommonConstants.COMMENT_PAGE_SIZE) {
+            records.remove(records.size() - 1);
+            CommentVO last = records.get(records.size() - 1);
+            page.setHasMore(true);
+            page.setNextCursor(encodeCursor(last.getCreateTime(), last.getId()));
+        }
+        return page;
+    }
+
+    /**
+     * 将回复插入缓存页中对应根评论的内联回复（按创建时间、ID正序）
+     */
+    private CommentPageVO insertReply(CommentPageVO page, CommentVO vo) {
+        CommentVO root = findRoot(page, vo.getRootId());
+        if (root == null) {
+            return page;
+        }
+        if (root.getReplies() == null) {
+            root.setReplies(new ArrayList<>());
+        }
+        List<CommentVO> replies = root.getReplies();
+        if (replies.stream().anyMatch(r -> r.getId().equals(vo.getId()))) {
+            return page;
+        }
+
+        root.setReplyCount((root.getReplyCount() != null ? root.getReplyCount() : 0) + 1);
+
+        int index = 0;
+        while (index < replies.size() && isBefore(replies.get(index), vo)) {
+            index++;
+        }
+        // 排在剩余回复游标之后，由回复分页接口加载
+        if (root.getReplyCursor() != null && index == replies.size()) {
+            return page;
+        }
+
+        replies.add(index, vo);
+        if (replies.size() > CommonConstants.COMMENT_INLINE_REPLY_SIZE) {
+            replies.remove(replies.size() - 1);
+            CommentVO last = replies.get(replies.size() - 1);
+            root.setReplyCursor(encodeCursor(last.getCreateTime(), last.getId()));
+        }
+        return page;
+    }
+
+    /**
+     * 从缓存页移除根评论，页面被删空时返回null（整体淘汰）
+     */
+    private CommentPageVO removeRoot(CommentPageVO page, Long commentId) {
+        page.getRecords().removeIf(r -> r.getId().equals(commentId));
+        if (page.getRecords().isEmpty() && Boolean.TRUE.equals(page.getHasMore())) {
+            return null;
+        }
+        return page;
+    }
+
+    /**
+     * 从缓存页移除回复并修正回复总数
+     */
+    private CommentPageVO removeReply(CommentPageVO page, Comment comment) {
+        CommentVO root = findRoot(page, comment.getRootId());
+        if (root == null) {
+            return page;
+        }
+
+        List<CommentVO> replies = root.getReplies() != null ? root.getReplies() : new ArrayList<>();
+        replies.removeIf(r -> r.getId().equals(comment.getId()));
+        int replyCount = Math.max(0, (root.getReplyCount() != null ? root.getReplyCount() : 0) - 1);
+        root.setReplyCount(replyCount);
+        if (replyCount <= replies.size()) {
+            root.setReplyCursor(null);
+        }
+        return page;
+    }
+
+    private CommentVO findRoot(CommentPageVO page, Long rootId) {
+        return page.getRecords().stream()
+                .filter(r -> r.getId().equals(rootId))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * 按 (create_time, id) 比较：a 是否排在 b 之前（正序）
+     */
+    private boolean isBefore(CommentVO a, CommentVO b) {
+        int cmp = a.getCreateTime().compareTo(b.getCreateTime());
+        return cmp < 0 || (cmp == 0 && a.getId() < b.getId());
+    }
+
+    /**
+     * 以 WATCH/MULTI 乐观锁方式修改文章评论缓存，冲突时重试，仍失败则淘汰缓存
+     *
+     * @param articleId 文章ID
+     * @param patch     修改函数（返回null表示淘汰缓存）
+     */
+    private void patchCommentCache(Long articleId, UnaryOperator<CommentPageVO> patch) {
+        String pageKey = RedisKeyEnum.KEY_COMMENT_PAGE_CACHE.getKey(articleId);
+        String versionKey = RedisKeyEnum.KEY_COMMENT_CACHE_VERSION.getKey(articleId);
+        try {
+            for (int i = 0; i < CACHE_PATCH_MAX_RETRIES; i++) {
+                List<Object> results = redisTemplate.execute(new SessionCallback<List<Object>>() {
+                    @Override
+                    @SuppressWarnings({ "unchecked", "rawtypes" })
+                    public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                        operations.watch(Arrays.asList(pageKey, versionKey));
+                        Object cached = operations.opsForValue().get(pageKey);
+                        CommentPageVO patched = cached instanceof CommentPageVO
+                                ? patch.apply((CommentPageVO) cached)
+                                : null;
+
+                        operations.multi();
+                        operations.opsForValue().increment(versionKey);
+                        operations.expire(versionKey, RedisKeyEnum.KEY_COMMENT_CACHE_VERSION.getExpire(),
+                                TimeUnit.SECONDS);
+                        if (cached != null) {
+                            if (patched != null) {
+                                operations.opsForValue().set(pageKey, patched,
+                                        RedisKeyEnum.KEY_COMMENT_PAGE_CACHE.getExpire(), TimeUnit.SECONDS);
+                            } else {
+                                operations.delete(pageKey);
+                            }
+                        }
+                        return operations.exec();
+                    }
+                });
+                if (results != null && !results.isEmpty()) {
+                    return;
+                }
+            }
+            log.warn("评论缓存并发更新冲突，淘汰缓存: articleId={}", articleId);
+        } catch (Exception e) {
+            log.warn("评论缓存增量更新失败，淘汰缓存: articleId={}", articleId, e);
+        }
+
+        try {
+            redisUtil.increment(versionKey);
+            redisUtil.delete(pageKey);
+        } catch (Exception e) {
+            log.error("淘汰评论缓存失败: articleId={}", articleId, e);
+        }
+    }
+
+    /**
+     * 版本号未变化时回填评论缓存
+     */
+    private void putCommentCacheIfUnchanged(Long articleId, CommentPageVO page, long version) {
+        String pageKey = RedisKeyEnum.KEY_COMMENT_PAGE_CACHE.getKey(articleId);
+        String versionKey = RedisKeyEnum.KEY_COMMENT_CACHE_VERSION.getKey(articleId);
+        try {
+            redisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                public List<Object> execute(RedisOperations operations) throws DataAccessException {
+                    operations.watch(versionKey);
+                    if (toLong(operations.opsForValue().get(versionKey)) != version) {
+                        operations.unwatch();
+                        return null;
+                    }
+                    operations.multi();
+                    operations.opsForValue().set(pageKey, page,
+                            RedisKeyEnum.KEY_COMMENT_PAGE_CACHE.getExpire(), TimeUnit.SECONDS);
+                    return operations.exec();
+                }
+            });
+        } catch (Exception e) {
+            log.warn("回填评论缓存失败: articleId={}", articleId, e);
+        }
+    }
+
+    private long getCommentCacheVersion(Long articleId) {
+        return toLong(redisUtil.get(RedisKeyEnum.KEY_COMMENT_CACHE_VERSION.getKey(articleId)));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * 在当前事务提交后执行（无事务时立即执行），避免缓存中出现回滚的数据
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 批量获取评论作者及被回复用户信息
+     *
+     * @param comments 评论列表
+     * @return 用户ID -> 用户
+     */
+    private Map<Long, User> getUserMap(List<Comment> comments) {
+        Set<Long> userIds = new HashSet<>();
+        comments.forEach(c -> {
+            userIds.add(c.getUserId());
             if (c.getToUserId() != null) {
-                allUserIds.add(c.getToUserId());
+                userIds.add(c.getToUserId());
             }
         });
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
-        List<User> users = userMapper.selectBatchIds(allUserIds.stream().distinct().collect(Collectors.toList()));
-        Map<Long, User> userMap = users.stream()
+        return userMapper.selectBatchIds(userIds).stream()
                 .collect(Collectors.toMap(User::getId, user -> user));
+    }
 
-        // 4. 获取当前用户点赞的评论ID列表（如果已登录）
-        List<Long> likedCommentIds = new ArrayList<>();
-        if (userId != null) {
-            // 这里需要查询like_record表，但LikeRecordMapper没有批量查询方法
-            // 暂时使用循环查询，后续可以优化
-            // TODO: 可优化
-            List<Long> allCommentIds = new ArrayList<>();
-            rootComments.forEach(c -> allCommentIds.add(c.getId()));
-            allReplies.forEach(c -> allCommentIds.add(c.getId()));
-
-            for (Long commentId : allCommentIds) {
-                LambdaQueryWrapper<cn.lzx.entity.LikeRecord> likeWrapper = new LambdaQueryWrapper<>();
-                likeWrapper.eq(cn.lzx.entity.LikeRecord::getUserId, userId)
-                        .eq(cn.lzx.entity.LikeRecord::getTargetId, commentId)
-                        .eq(cn.lzx.entity.LikeRecord::getType, 2); // 2表示评论点赞
-                if (likeRecordMapper.selectCount(likeWrapper) > 0) {
-                    likedCommentIds.add(commentId);
-                }
-            }
+    /**
+     * 批量查询当前用户点赞过的评论ID
+     *
+     * @param userId     当前用户ID（为空表示未登录）
+     * @param commentIds 评论ID列表
+     * @return 已点赞的评论ID集合
+     */
+    private Set<Long> getLikedCommentIds(Long userId, List<Long> commentIds) {
+        if (userId == null || commentIds.isEmpty()) {
+            return Collections.emptySet();
         }
 
-        // 5. 构建评论树形结构
-        List<CommentVO> rootCommentVOs = rootComments.stream()
-                .map(rootComment -> buildCommentVO(rootComment, userMap, likedCommentIds, allReplies))
-                .collect(Collectors.toList());
+        LambdaQueryWrapper<LikeRecord> likeWrapper = new LambdaQueryWrapper<>();
+        likeWrapper.select(LikeRecord::getTargetId)
+                .eq(LikeRecord::getUserId, userId)
+                .eq(LikeRecord::getType, 2) // 2表示评论点赞
+                .in(LikeRecord::getTargetId, commentIds);
 
-        return rootCommentVOs;
+        return likeRecordMapper.selectList(likeWrapper).stream()
+                .map(LikeRecord::getTargetId)
+                .collect(Collectors.toSet());
     }
 
     /**
-     * 构建评论VO（包括子评论）
+     * 构建评论VO（不含子评论，点赞状态由 overlayLikeFlags 叠加）
      *
-     * @param comment         评论实体
-     * @param userMap         用户信息Map
-     * @param likedCommentIds 已点赞的评论ID列表
-     * @param allReplies      所有回复列表
+     * @param comment 评论实体
+     * @param userMap 用户信息Map
      * @return 评论VO
      */
-    private CommentVO buildCommentVO(Comment comment, Map<Long, User> userMap,
-            List<Long> likedCommentIds, List<Comment> allReplies) {
+    private CommentVO buildCommentVO(Comment comment, Map<Long, User> userMap) {
         User user = userMap.get(comment.getUserId());
         User toUser = comment.getToUserId() != null ? userMap.get(comment.getToUserId()) : null;
 
-        CommentVO.CommentVOBuilder builder = CommentVO.builder()
+        return CommentVO.builder()
                 .id(comment.getId())
                 .articleId(comment.getArticleId())
                 .userId(comment.getUserId())
@@ -266,22 +791,63 @@ public class CommentServiceImpl implements CommentService {
                         toUser != null ? (toUser.getNickname() != null ? toUser.getNickname() : toUser.getUsername())
                                 : null)
                 .likeCount(comment.getLikeCount())
-                .isLiked(likedCommentIds.contains(comment.getId()))
-                .createTime(comment.getCreateTime());
+                .isLiked(false)
+                .createTime(comment.getCreateTime())
+                .build();
+    }
 
-        // 如果是根评论，查找其所有子评论
-        if (comment.getParentId() == 0) {
-            List<Comment> replies = allReplies.stream()
-                    .filter(reply -> reply.getRootId().equals(comment.getId()))
-                    .collect(Collectors.toList());
+    private CommentPageVO emptyPage() {
+        return CommentPageVO.builder()
+                .records(new ArrayList<>())
+                .hasMore(false)
+                .build();
+    }
 
-            List<CommentVO> replyVOs = replies.stream()
-                    .map(reply -> buildCommentVO(reply, userMap, likedCommentIds, new ArrayList<>()))
-                    .collect(Collectors.toList());
+    private int normalizePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return CommonConstants.COMMENT_PAGE_SIZE;
+        }
+        return Math.min(size, CommonConstants.COMMENT_PAGE_MAX_SIZE);
+    }
 
-            builder.replies(replyVOs);
+    /**
+     * 编码分页游标：(create_time, id) -> Base64URL
+     */
+    private String encodeCursor(LocalDateTime createTime, Long id) {
+        String raw = createTime + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码分页游标
+     *
+     * @param cursor 游标（为空表示第一页）
+     * @return 游标位置，第一页返回null
+     */
+    private CommentCursor decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
         }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf('_');
+            return new CommentCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 评论分页游标位置
+     */
+    private static final class CommentCursor {
+        private final LocalDateTime createTime;
+        private final Long id;
 
-        return builder.build();
+        private CommentCursor(LocalDateTime createTime, Long id) {
+            this.createTime = createTime;
+            this.id = id;
+        }
     }
 }
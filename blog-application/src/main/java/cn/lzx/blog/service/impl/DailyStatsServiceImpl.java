@@ -0,0 +1,200 @@
+package cn.lzx.blog.service.impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+import cn.lzx.blog.event.ArticleCounterEvent;
+import cn.lzx.blog.mapper.DailyStatsMapper;
+import cn.lzx.blog.service.DailyStatsService;
+import cn.lzx.blog.vo.admin.DailyStatsVO;
+import cn.lzx.entity.DailyStats;
+import cn.lzx.enums.RedisKeyEnum;
+import cn.lzx.utils.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 每日统计Service实现类
+ * - 浏览、点赞、评论、收藏随计数事件累加（只计新增，取消点赞、删除评论等不回退当天的数据）
+ * - 注册、发布由业务方在事务内调用 record 登记
+ * - 统计桶保留3天，每晚落库前一天；落库为覆盖写入，重复执行不影响结果
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyStatsServiceImpl implements DailyStatsService {
+
+    /**
+     * 统计桶保留的天数（含当天），范围内的日期优先读取Redis
+     */
+    private static final int BUCKET_RETENTION_DAYS = 3;
+
+    /**
+     * 累加统计桶字段并设置过期时间（一次往返）
+     * KEYS[1]: 统计桶key；ARGV[1]: 字段名（参数按JSON序列化，需解码为与Hash字段一致的原始字符串），
+     * ARGV[2]: 增量，ARGV[3]: 过期秒数
+     */
+    private static final RedisScript<Long> INCREMENT_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local value = redis.call('HINCRBY', KEYS[1], cjson.decode(ARGV[1]), ARGV[2]) "
+                    + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+                    + "return value",
+            Long.class);
+
+    private final RedisUtil redisUtil;
+    private final DailyStatsMapper dailyStatsMapper;
+
+    @Override
+    public void record(Metric metric, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        runAfterCommit(() -> increment(metric, delta));
+    }
+
+    /**
+     * 互动计入当天统计（事务提交后执行，无事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(ArticleCounterEvent event) {
+        if (event.getDelta() <= 0) {
+            return;
+        }
+        increment(metricOf(event.getType()), event.getDelta());
+    }
+
+    @Override
+    public void persist(LocalDate date) {
+        Map<Object, Object> bucket = redisUtil.hGetAll(RedisKeyEnum.KEY_DAILY_STATS.getKey(date));
+        if (bucket == null || bucket.isEmpty()) {
+            log.debug("每日统计桶为空，跳过落库: date={}", date);
+            return;
+        }
+        DailyStats stats = DailyStats.builder()
+                .statDate(date)
+                .viewCount(valueOf(bucket, Metric.VIEW))
+                .likeCount(valueOf(bucket, Metric.LIKE))
+                .commentCount(valueOf(bucket, Metric.COMMENT))
+                .collectCount(valueOf(bucket, Metric.COLLECT))
+                .registerCount(valueOf(bucket, Metric.REGISTER))
+                .publishCount(valueOf(bucket, Metric.PUBLISH))
+                .build();
+        dailyStatsMapper.upsert(stats);
+        log.info("每日统计落库完成: {}", stats);
+    }
+
+    @Override
+    public List<DailyStatsVO> listDailyStats(LocalDate startDate, LocalDate endDate) {
+        // 1. 已落库的日期一次查询
+        Map<LocalDate, DailyStats> persisted = dailyStatsMapper.selectList(new LambdaQueryWrapper<DailyStats>()
+                        .between(DailyStats::getStatDate, startDate, endDate))
+                .stream()
+                .collect(Collectors.toMap(DailyStats::getStatDate, Function.identity()));
+
+        // 2. 统计桶仍在的日期以Redis为准（当天尚未落库，前两天可能还没到落库时间）
+        LocalDate bucketSince = LocalDate.now().minusDays(BUCKET_RETENTION_DAYS - 1);
+        List<DailyStatsVO> result = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            DailyStatsVO vo = null;
+            if (!date.isBefore(bucketSince)) {
+                vo = readBucket(date);
+            }
+            if (vo == null) {
+                vo = toVO(date, persisted.get(date));
+            }
+            result.add(vo);
+        }
+        return result;
+    }
+
+    private void increment(Metric metric, long delta) {
+        String key = RedisKeyEnum.KEY_DAILY_STATS.getKey(LocalDate.now());
+        try {
+            redisUtil.execute(INCREMENT_BUCKET_SCRIPT, List.of(key),
+                    metric.getField(), delta, RedisKeyEnum.KEY_DAILY_STATS.getExpire());
+        } catch (Exception e) {
+            log.warn("记录每日统计失败: metric={}, delta={}", metric, delta, e);
+        }
+    }
+
+    private DailyStatsVO readBucket(LocalDate date) {
+        Map<Object, Object> bucket = redisUtil.hGetAll(RedisKeyEnum.KEY_DAILY_STATS.getKey(date));
+        if (bucket == null || bucket.isEmpty()) {
+            return null;
+        }
+        return DailyStatsVO.builder()
+                .date(date)
+                .viewCount(valueOf(bucket, Metric.VIEW))
+                .likeCount(valueOf(bucket, Metric.LIKE))
+                .commentCount(valueOf(bucket, Metric.COMMENT))
+                .collectCount(valueOf(bucket, Metric.COLLECT))
+                .registerCount(valueOf(bucket, Metric.REGISTER))
+                .publishCount(valueOf(bucket, Metric.PUBLISH))
+                .build();
+    }
+
+    private static DailyStatsVO toVO(LocalDate date, DailyStats stats) {
+        return DailyStatsVO.builder()
+                .date(date)
+                .viewCount(stats != null ? stats.getViewCount() : 0L)
+                .likeCount(stats != null ? stats.getLikeCount() : 0L)
+                .commentCount(stats != null ? stats.getCommentCount() : 0L)
+                .collectCount(stats != null ? stats.getCollectCount() : 0L)
+                .registerCount(stats != null ? stats.getRegisterCount() : 0L)
+                .publishCount(stats != null ? stats.getPublishCount() : 0L)
+                .build();
+    }
+
+    private static long valueOf(Map<Object, Object> bucket, Metric metric) {
+        Object value = bucket.get(metric.getField());
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return value != null ? Long.parseLong(value.toString()) : 0L;
+    }
+
+    private static Metric metricOf(ArticleCounterEvent.CounterType type) {
+        switch (type) {
+            case LIKE:
+                return Metric.LIKE;
+            case COMMENT:
+                return Metric.COMMENT;
+            case COLLECT:
+                return Metric.COLLECT;
+            case VIEW:
+            default:
+                return Metric.VIEW;
+        }
+    }
+
+    /**
+     * 在当前事务提交后执行（无事务时立即执行），回滚的注册、发布不计入统计
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
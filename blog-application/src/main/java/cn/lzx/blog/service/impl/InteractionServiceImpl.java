@@ -4,12 +4,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
+import cn.lzx.blog.event.ArticleCounterEvent;
 import cn.lzx.blog.mapper.ArticleMapper;
 import cn.lzx.blog.mapper.CategoryMapper;
 import cn.lzx.blog.mapper.CollectMapper;
@@ -52,6 +54,7 @@ public class InteractionServiceImpl implements InteractionService {
     private final TagMapper tagMapper;
     private final UserMapper userMapper;
     private final RedisUtil redisUtil;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -118,6 +121,7 @@ public class InteractionServiceImpl implements InteractionService {
 
         // 5. 增加文章点赞数
         articleMapper.incrementLikeCount(articleId);
+        eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.LIKE, 1));
     }
 
     @Override
@@ -152,6 +156,7 @@ public class InteractionServiceImpl implements InteractionService {
 
         // 4. 减少文章点赞数
         articleMapper.decrementLikeCount(articleId);
+        eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.LIKE, -1));
 
         log.info("用户[{}]取消点赞文章[{}]成功", userId, articleId);
     }
@@ -196,6 +201,7 @@ public class InteractionServiceImpl implements InteractionService {
 
         // 3. 增加文章收藏数
         articleMapper.incrementCollectCount(articleId);
+        eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.COLLECT, 1));
     }
 
     @Override
@@ -220,6 +226,7 @@ public class InteractionServiceImpl implements InteractionService {
         // 3. 减少文章收藏数
         // TODO: 存放到redis中,通过定时任务更新数据库
         articleMapper.decrementCollectCount(articleId);
+        eventPublisher.publishEvent(new ArticleCounterEvent(articleId, ArticleCounterEvent.CounterType.COLLECT, -1));
 
         log.info("用户[{}]取消收藏文章[{}]成功", userId, articleId);
     }
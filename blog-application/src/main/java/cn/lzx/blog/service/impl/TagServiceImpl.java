@@ -1,17 +1,30 @@
 package cn.lzx.blog.service.impl;
 
+import cn.hutool.core.util.IdUtil;
+import cn.lzx.blog.dto.IdCountDTO;
+import cn.lzx.blog.mapper.ArticleTagMapper;
 import cn.lzx.blog.mapper.TagMapper;
 import cn.lzx.blog.service.TagService;
 import cn.lzx.blog.vo.TagVO;
 import cn.lzx.entity.Tag;
+import cn.lzx.enums.RedisKeyEnum;
+import cn.lzx.utils.RedisUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +39,8 @@ import java.util.stream.Collectors;
 public class TagServiceImpl implements TagService {
 
     private final TagMapper tagMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final RedisUtil redisUtil;
 
     @Override
     public List<TagVO> getTagList() {
@@ -48,12 +63,27 @@ public class TagServiceImpl implements TagService {
             limit = 10;
         }
 
-        List<Tag> tags = tagMapper.selectHotTags(limit);
+        // 1. 从标签热度ZSet读取（应用启动时构建，请求路径上不查询数据库）
+        String popularityKey = RedisKeyEnum.KEY_TAG_POPULARITY.getKey();
+        Set<ZSetOperations.TypedTuple<Object>> ranked = redisUtil.zReverseRangeWithScores(popularityKey, 0, limit - 1);
+        if (ranked == null || ranked.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Integer> articleCounts = new LinkedHashMap<>();
+        for (ZSetOperations.TypedTuple<Object> tuple : ranked) {
+            articleCounts.put(Long.valueOf(String.valueOf(tuple.getValue())),
+                    tuple.getScore() != null ? tuple.getScore().intValue() : 0);
+        }
 
-        return tags.stream()
-                .map(tag -> TagVO.builder()
-                        .id(tag.getId())
-                        .name(tag.getName())
+        // 2. 按主键批量查询标签名称，保持热度顺序
+        Map<Long, Tag> tagMap = tagMapper.selectBatchIds(articleCounts.keySet()).stream()
+                .collect(Collectors.toMap(Tag::getId, tag -> tag));
+        return articleCounts.entrySet().stream()
+                .filter(entry -> tagMap.containsKey(entry.getKey()))
+                .map(entry -> TagVO.builder()
+                        .id(entry.getKey())
+                        .name(tagMap.get(entry.getKey()).getName())
+                        .articleCount(entry.getValue())
                         .build())
                 .collect(Collectors.toList());
     }
@@ -101,4 +131,74 @@ public class TagServiceImpl implements TagService {
 
         return tagIds;
     }
+
+    @Override
+    public void updateTagPopularity(boolean wasPublished, Collection<Long> oldTagIds,
+                                    boolean isPublished, Collection<Long> newTagIds) {
+        // 变更前计入的标签 -1，变更后计入的标签 +1，两边都有的相互抵消
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (wasPublished && oldTagIds != null) {
+            oldTagIds.forEach(tagId -> deltas.merge(tagId, -1, Integer::sum));
+        }
+        if (isPublished && newTagIds != null) {
+            newTagIds.forEach(tagId -> deltas.merge(tagId, 1, Integer::sum));
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        runAfterCommit(() -> {
+            String popularityKey = RedisKeyEnum.KEY_TAG_POPULARITY.getKey();
+            try {
+                deltas.forEach((tagId, delta) -> redisUtil.zIncrementScore(popularityKey, tagId.toString(), delta));
+                redisUtil.zRemoveRangeByScore(popularityKey, Double.NEGATIVE_INFINITY, 0);
+            } catch (Exception e) {
+                log.warn("更新标签热度失败，等待每晚校准: {}", deltas, e);
+            }
+        });
+    }
+
+    @Override
+    public void removeTagPopularity(Long tagId) {
+        runAfterCommit(() -> {
+            try {
+                redisUtil.zRemove(RedisKeyEnum.KEY_TAG_POPULARITY.getKey(), tagId.toString());
+            } catch (Exception e) {
+                log.warn("移除标签热度失败: tagId={}", tagId, e);
+            }
+        });
+    }
+
+    @Override
+    public void rebuildTagPopularity() {
+        // 先写入临时key再整体替换，重建期间读取不到空排行
+        Map<Object, Double> scores = new HashMap<>();
+        for (IdCountDTO count : articleTagMapper.countPublishedArticlesGroupByTag()) {
+            scores.put(count.getId().toString(), count.getCount().doubleValue());
+        }
+        String popularityKey = RedisKeyEnum.KEY_TAG_POPULARITY.getKey();
+        if (scores.isEmpty()) {
+            redisUtil.delete(popularityKey);
+            return;
+        }
+        // 每次重建使用独立的临时key，并发重建不会互相覆盖或重命名失败
+        String rebuildKey = RedisKeyEnum.KEY_TAG_POPULARITY_REBUILD.getKey(IdUtil.fastSimpleUUID());
+        redisUtil.zAddAll(rebuildKey, scores);
+        redisUtil.rename(rebuildKey, popularityKey);
+        log.info("标签热度重建完成: {} 个标签", scores.size());
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
@@ -3,6 +3,7 @@ package cn.lzx.blog.service.impl;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -15,9 +16,11 @@ import cn.lzx.blog.dto.PasswordUpdateDTO;
 import cn.lzx.blog.dto.UserLoginDTO;
 import cn.lzx.blog.dto.UserRegisterDTO;
 import cn.lzx.blog.dto.UserUpdateDTO;
+import cn.lzx.blog.integration.es.ArticleIndexer;
 import cn.lzx.blog.mapper.ArticleMapper;
 import cn.lzx.blog.mapper.CollectMapper;
 import cn.lzx.blog.mapper.UserMapper;
+import cn.lzx.blog.service.DailyStatsService;
 import cn.lzx.blog.service.FileUploadService;
 import cn.lzx.blog.service.UserService;
 import cn.lzx.blog.vo.UserInfoVO;
@@ -50,6 +53,8 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
     private final FileUploadService fileUploadService;
+    private final DailyStatsService dailyStatsService;
+    private final ArticleIndexer articleIndexer;
 
     @Override
     public void sendEmailCode(String email) {
@@ -107,6 +112,7 @@ public class UserServiceImpl implements UserService {
                 .build();
 
         userMapper.insert(user);
+        dailyStatsService.record(DailyStatsService.Metric.REGISTER, 1);
 
         // 7. 验证码使用后删除
         redisUtil.delete(key);
@@ -196,6 +202,11 @@ public class UserServiceImpl implements UserService {
 
         userMapper.updateById(updateUser);
 
+        // 作者昵称冗余在ES文档中，变更后重建其文章的索引
+        if (dto.getNickname() != null && !dto.getNickname().equals(user.getNickname())) {
+            reindexArticlesOf(userId);
+        }
+
         // 清除用户信息缓存
         String cacheKey = RedisKeyEnum.KEY_USER_CACHE.getKey(userId);
         redisUtil.delete(cacheKey);
@@ -230,6 +241,11 @@ public class UserServiceImpl implements UserService {
 
         userMapper.updateById(updateUser);
 
+        // 作者头像冗余在ES文档中，变更后重建其文章的索引
+        if (avatarUrl != null && !avatarUrl.equals(user.getAvatar())) {
+            reindexArticlesOf(userId);
+        }
+
         // 清除用户信息缓存
         String cacheKey = RedisKeyEnum.KEY_USER_CACHE.getKey(userId);
         redisUtil.delete(cacheKey);
@@ -308,4 +324,16 @@ public class UserServiceImpl implements UserService {
                 .collectCount(collectCount)
                 .build();
     }
+
+    /**
+     * 登记用户全部文章重建索引（作者昵称、头像冗余在ES文档中）
+     */
+    private void reindexArticlesOf(Long userId) {
+        LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(Article::getId)
+                .eq(Article::getUserId, userId);
+        articleIndexer.enqueueAll(articleMapper.selectList(wrapper).stream()
+                .map(Article::getId)
+                .collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,187 @@
+package cn.lzx.blog.task;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+import cn.lzx.blog.event.ArticleCounterEvent;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.constants.CommonConstants;
+import cn.lzx.entity.Article;
+import cn.lzx.enums.RedisKeyEnum;
+import cn.lzx.utils.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 热门文章排行任务
+ * 热度随互动实时增加、随时间衰减：
+ * - 浏览、点赞、评论、收藏事件提交后按权重 ZINCRBY 到排行榜，新文章可以立即上榜
+ * - 定时把全部分数按经过的时间等比缩小（半衰期衰减），相当于每次互动的贡献随时间指数衰减
+ * - 衰减后移除分数过低的文章并只保留前N名；排行榜始终原地更新，不会出现清空后重建的空窗
+ * 排行榜为空时（首次部署或Redis数据丢失）按数据库中的累计互动数初始化一次
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotArticleRankTask implements ApplicationRunner {
+
+    /**
+     * 各类互动的热度权重
+     */
+    private static final double VIEW_WEIGHT = 1;
+    private static final double LIKE_WEIGHT = 5;
+    private static final double COMMENT_WEIGHT = 8;
+    private static final double COLLECT_WEIGHT = 10;
+
+    /**
+     * 热度半衰期（毫秒）：12小时前的一次互动只计一半
+     */
+    private static final long HALF_LIFE_MILLIS = 12 * 60 * 60 * 1000L;
+
+    /**
+     * 衰减间隔（毫秒）
+     */
+    private static final long DECAY_INTERVAL_MILLIS = 10 * 60 * 1000L;
+
+    /**
+     * 排行榜保留的文章数量
+     */
+    private static final int RANK_MAX_SIZE = 500;
+
+    /**
+     * 低于该热度的文章移出排行榜
+     */
+    private static final double MIN_SCORE = 0.1;
+
+    /**
+     * 原子地检查并更新上次衰减时间（多实例同时触发时只有一个能拿到衰减权）
+     * KEYS[1]: 上次衰减时间key；ARGV[1]: 当前时间，ARGV[2]: 最小衰减间隔
+     * 返回距上次衰减的毫秒数；首次执行只记录时间返回0，间隔过短返回-1
+     */
+    private static final RedisScript<Long> CLAIM_DECAY_SCRIPT = new DefaultRedisScript<>(
+            "local last = tonumber(redis.call('GET', KEYS[1])) "
+                    + "if last == nil then redis.call('SET', KEYS[1], ARGV[1]) return 0 end "
+                    + "local elapsed = tonumber(ARGV[1]) - last "
+                    + "if elapsed < tonumber(ARGV[2]) then return -1 end "
+                    + "redis.call('SET', KEYS[1], ARGV[1]) "
+                    + "return elapsed",
+            Long.class);
+
+    private final RedisUtil redisUtil;
+    private final ArticleMapper articleMapper;
+
+    /**
+     * 按互动增加热度（事务提交后执行，无事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(ArticleCounterEvent event) {
+        double delta = weightOf(event.getType()) * event.getDelta();
+        if (delta == 0) {
+            return;
+        }
+        try {
+            redisUtil.zIncrementScore(RedisKeyEnum.KEY_HOT_ARTICLES.getKey(), event.getArticleId().toString(), delta);
+        } catch (Exception e) {
+            log.warn("更新文章热度失败: articleId={}", event.getArticleId(), e);
+        }
+    }
+
+    /**
+     * 热度衰减
+     * 按距上次衰减的实际时间计算缩放系数；检查和更新衰减时间在一个脚本中完成，多实例部署时间隔过短的重复衰减会被跳过
+     */
+    @Scheduled(fixedDelay = DECAY_INTERVAL_MILLIS)
+    public void decayHotArticlesRank() {
+        String rankKey = RedisKeyEnum.KEY_HOT_ARTICLES.getKey();
+        String decayAtKey = RedisKeyEnum.KEY_HOT_ARTICLES_DECAY_AT.getKey();
+        try {
+            Long elapsed = redisUtil.execute(CLAIM_DECAY_SCRIPT, List.of(decayAtKey),
+                    System.currentTimeMillis(), DECAY_INTERVAL_MILLIS / 2);
+            if (elapsed == null || elapsed <= 0) {
+                return;
+            }
+
+            double factor = Math.pow(0.5, (double) elapsed / HALF_LIFE_MILLIS);
+            redisUtil.zMultiplyScores(rankKey, factor);
+            redisUtil.zRemoveRangeByScore(rankKey, Double.NEGATIVE_INFINITY, MIN_SCORE);
+            redisUtil.zRemoveRange(rankKey, 0, -(RANK_MAX_SIZE + 1L));
+            log.debug("热门文章热度衰减完成: factor={}", factor);
+        } catch (Exception e) {
+            log.error("热门文章热度衰减失败", e);
+        }
+    }
+
+    /**
+     * 排行榜为空时按累计互动数初始化
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        String rankKey = RedisKeyEnum.KEY_HOT_ARTICLES.getKey();
+        try {
+            Long size = redisUtil.zSize(rankKey);
+            if (size != null && size > 0) {
+                return;
+            }
+
+            List<Article> articles = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                    .select(Article::getId, Article::getViewCount, Article::getLikeCount,
+                            Article::getCommentCount, Article::getCollectCount)
+                    .eq(Article::getStatus, CommonConstants.ARTICLE_STATUS_PUBLISHED)
+                    .last("ORDER BY view_count + like_count * 5 + comment_count * 8 + collect_count * 10 DESC"
+                            + " LIMIT " + RANK_MAX_SIZE));
+            Map<Object, Double> scores = new HashMap<>();
+            for (Article article : articles) {
+                double score = VIEW_WEIGHT * valueOf(article.getViewCount())
+                        + LIKE_WEIGHT * valueOf(article.getLikeCount())
+                        + COMMENT_WEIGHT * valueOf(article.getCommentCount())
+                        + COLLECT_WEIGHT * valueOf(article.getCollectCount());
+                if (score > 0) {
+                    scores.put(article.getId().toString(), score);
+                }
+            }
+            if (!scores.isEmpty()) {
+                redisUtil.zAddAll(rankKey, scores);
+            }
+            redisUtil.set(RedisKeyEnum.KEY_HOT_ARTICLES_DECAY_AT.getKey(), System.currentTimeMillis());
+            log.info("热门文章排行榜初始化完成: {} 篇文章", scores.size());
+        } catch (Exception e) {
+            log.error("热门文章排行榜初始化失败", e);
+        }
+    }
+
+    /**
+     * 互动类型对应的热度权重（趋势榜共用）
+     */
+    static double weightOf(ArticleCounterEvent.CounterType type) {
+        switch (type) {
+            case VIEW:
+                return VIEW_WEIGHT;
+            case LIKE:
+                return LIKE_WEIGHT;
+            case COMMENT:
+                return COMMENT_WEIGHT;
+            case COLLECT:
+                return COLLECT_WEIGHT;
+            default:
+                return 0;
+        }
+    }
+
+    private static long valueOf(Integer count) {
+        return count != null ? count : 0;
+    }
+}
@@ -1,10 +1,13 @@
 package cn.lzx.blog.task;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -15,6 +18,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 
 import cn.lzx.blog.integration.storage.MinioUtil;
 import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.blog.service.DailyStatsService;
+import cn.lzx.blog.service.TagService;
 import cn.lzx.entity.Article;
 import cn.lzx.enums.RedisKeyEnum;
 import cn.lzx.utils.RedisUtil;
@@ -24,7 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * 定时任务类
- * 实现缓存清理和热门文章排行功能
+ * 实现缓存清理、临时文件清理、标签热度校准和每日统计落库功能（热门文章排行见 HotArticleRankTask）
  *
  * @author lzx
  * @since 2025-11-04
@@ -32,12 +37,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class ScheduledTask {
+public class ScheduledTask implements ApplicationRunner {
 
-    private final RedisUtil redisUtil;
     private final ArticleMapper articleMapper;
     private final StringRedisTemplate stringRedisTemplate;
     private final MinioUtil minioUtil;
+    private final TagService tagService;
+    private final DailyStatsService dailyStatsService;
+    private final RedisUtil redisUtil;
 
     /**
      * 临时文件命名模式：covers/user_{userId}_temp_{timestamp}.{ext}
@@ -174,42 +181,46 @@ public class ScheduledTask {
     }
 
     /**
-     * 热门文章排行任务
-     * 每天凌晨1点执行，统计文章浏览量并生成热门文章排行榜
+     * 应用启动时标签热度不存在则构建一次（首次部署或Redis数据丢失），请求路径上不再构建
      */
-    @Scheduled(cron = "0 0 1 * * ?")
-    public void updateHotArticlesRank() {
-        log.info("开始执行热门文章排行任务...");
-        long startTime = System.currentTimeMillis();
-
+    @Override
+    public void run(ApplicationArguments args) {
         try {
-            String hotArticlesKey = RedisKeyEnum.KEY_HOT_ARTICLES.getKey();
-
-            // 1. 清空旧的排行榜
-            redisUtil.delete(hotArticlesKey);
-            log.debug("已清空旧的排行榜");
-
-            // 2. 查询所有已发布的文章（按浏览量降序）
-            LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
-            wrapper.eq(Article::getStatus, 1) // 只查询已发布的文章
-                    .orderByDesc(Article::getViewCount)
-                    .last("LIMIT 100"); // 只取前100篇热门文章
-
-            java.util.List<Article> articles = articleMapper.selectList(wrapper);
-
-            // 3. 将文章ID和浏览量存入Redis ZSet
-            int count = 0;
-            for (Article article : articles) {
-                if (article.getViewCount() != null && article.getViewCount() > 0) {
-                    redisUtil.zAdd(hotArticlesKey, article.getId().toString(), article.getViewCount().doubleValue());
-                    count++;
-                }
+            if (!Boolean.TRUE.equals(redisUtil.hasKey(RedisKeyEnum.KEY_TAG_POPULARITY.getKey()))) {
+                tagService.rebuildTagPopularity();
             }
+        } catch (Exception e) {
+            log.error("标签热度初始化失败，等待每晚校准", e);
+        }
+    }
 
-            long endTime = System.currentTimeMillis();
-            log.info("热门文章排行任务完成，更新了 {} 篇文章到排行榜，耗时 {} ms", count, (endTime - startTime));
+    /**
+     * 标签热度校准任务
+     * 每天凌晨3点30分执行，按数据库重建标签热度，校正增量更新遗漏（如Redis写入失败）造成的偏差
+     */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void reconcileTagPopularity() {
+        try {
+            tagService.rebuildTagPopularity();
         } catch (Exception e) {
-            log.error("热门文章排行任务执行失败", e);
+            log.error("标签热度校准任务执行失败", e);
+        }
+    }
+
+    /**
+     * 每日统计落库任务
+     * 每天凌晨0点10分执行，将前一天的统计桶写入每日统计表；前两天一并重写，补上漏跑的日期
+     */
+    @Scheduled(cron = "0 10 0 * * ?")
+    public void persistDailyStats() {
+        LocalDate today = LocalDate.now();
+        for (int days = 2; days >= 1; days--) {
+            LocalDate date = today.minusDays(days);
+            try {
+                dailyStatsService.persist(date);
+            } catch (Exception e) {
+                log.error("每日统计落库失败: date={}", date, e);
+            }
         }
     }
 
@@ -0,0 +1,78 @@
+package cn.lzx.blog.task;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import cn.lzx.blog.config.es.ElasticsearchProperties;
+import cn.lzx.blog.dto.ArticleQueryDTO;
+import cn.lzx.blog.integration.es.SearchResultCache;
+import cn.lzx.blog.service.ArticleSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 搜索结果缓存预热任务
+ * 按热门搜索词以默认排序、默认分页预先执行搜索，使最常见的查询在索引变化或缓存过期后
+ * 仍能直接命中缓存；每天衰减一次搜索词热度
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchCacheWarmTask {
+
+    /**
+     * 热度衰减系数（每天减半）
+     */
+    private static final double KEYWORD_DECAY_FACTOR = 0.5;
+
+    /**
+     * 排行中保留的搜索词数量
+     */
+    private static final int KEYWORD_RANK_MAX_SIZE = 1000;
+
+    private final SearchResultCache searchResultCache;
+    private final ArticleSearchService articleSearchService;
+    private final ElasticsearchProperties elasticsearchProperties;
+
+    /**
+     * 预热热门搜索词的首页结果（已缓存的直接命中，不会重复查询ES）
+     */
+    @Scheduled(fixedDelayString = "${spring.elasticsearch.search-cache-warm-interval:30000}")
+    public void warmPopularSearches() {
+        List<String> keywords = searchResultCache.getPopularKeywords(elasticsearchProperties.getSearchCacheWarmSize());
+        if (keywords.isEmpty()) {
+            return;
+        }
+
+        // 与列表页默认查询参数保持一致
+        ArticleQueryDTO defaults = new ArticleQueryDTO();
+        for (String keyword : keywords) {
+            try {
+                articleSearchService.searchArticles(keyword, null, null, defaults.getOrderBy(),
+                        defaults.getOrderType(), defaults.getPage(), defaults.getSize());
+            } catch (Exception e) {
+                log.warn("预热搜索缓存失败: keyword={}", keyword, e);
+            }
+        }
+        log.debug("搜索缓存预热完成: {} 个关键词", keywords.size());
+    }
+
+    /**
+     * 热门搜索词热度衰减
+     * 每天凌晨4点执行，使排行反映近期热度并裁剪长尾
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void decayKeywordPopularity() {
+        try {
+            searchResultCache.decayPopularity(KEYWORD_DECAY_FACTOR, KEYWORD_RANK_MAX_SIZE);
+            log.info("热门搜索词热度衰减完成");
+        } catch (Exception e) {
+            log.error("热门搜索词热度衰减失败", e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package cn.lzx.blog.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+
+import cn.lzx.blog.event.ArticleCounterEvent;
+import cn.lzx.blog.mapper.ArticleMapper;
+import cn.lzx.constants.ArticleOrderConstants;
+import cn.lzx.constants.CommonConstants;
+import cn.lzx.entity.Article;
+import cn.lzx.enums.RedisKeyEnum;
+import cn.lzx.utils.RedisUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 趋势文章任务（最近一小时/一天）
+ * - 互动事件按热门排行的权重同时计入当前分钟桶和当前小时桶，桶带过期时间自动淘汰
+ * - 每分钟用 ZUNIONSTORE 合并窗口内的桶：小时窗口合并最近60个分钟桶，天窗口合并最近24个小时桶
+ * - 合并结果按全站和各分类拆分成文章ID列表缓存，读取时不再做任何合并计算
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingArticleTask {
+
+    /**
+     * 全站列表的分类占位值
+     */
+    public static final String ALL_CATEGORIES = "all";
+
+    /**
+     * 每个列表缓存的文章数量
+     */
+    public static final int TRENDING_SIZE = 50;
+
+    /**
+     * 合并结果中参与拆分的候选文章数量
+     */
+    private static final int CANDIDATE_SIZE = 1000;
+
+    private static final long MINUTE_MILLIS = 60 * 1000L;
+    private static final long HOUR_MILLIS = 60 * MINUTE_MILLIS;
+
+    /**
+     * 同时累加分钟桶、小时桶并设置过期时间（一次往返）
+     * KEYS: 桶key；ARGV[1]: 增量，ARGV[2]: 文章ID，ARGV[2 + i]: 第i个桶的过期秒数
+     */
+    private static final RedisScript<Long> INCREMENT_BUCKETS_SCRIPT = new DefaultRedisScript<>(
+            "for i, key in ipairs(KEYS) do "
+                    + "redis.call('ZINCRBY', key, ARGV[1], ARGV[2]) "
+                    + "redis.call('EXPIRE', key, ARGV[i + 2]) "
+                    + "end "
+                    + "return #KEYS",
+            Long.class);
+
+    private final RedisUtil redisUtil;
+    private final ArticleMapper articleMapper;
+
+    /**
+     * 互动计入当前分钟桶和小时桶（事务提交后执行，无事务时立即执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCounterChanged(ArticleCounterEvent event) {
+        double delta = HotArticleRankTask.weightOf(event.getType()) * event.getDelta();
+        if (delta == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            redisUtil.execute(INCREMENT_BUCKETS_SCRIPT,
+                    List.of(RedisKeyEnum.KEY_TRENDING_MINUTE_BUCKET.getKey(now / MINUTE_MILLIS),
+                            RedisKeyEnum.KEY_TRENDING_HOUR_BUCKET.getKey(now / HOUR_MILLIS)),
+                    delta, event.getArticleId().toString(),
+                    RedisKeyEnum.KEY_TRENDING_MINUTE_BUCKET.getExpire(),
+                    RedisKeyEnum.KEY_TRENDING_HOUR_BUCKET.getExpire());
+        } catch (Exception e) {
+            log.warn("记录文章趋势失败: articleId={}", event.getArticleId(), e);
+        }
+    }
+
+    /**
+     * 每分钟合并各窗口并刷新趋势列表缓存
+     */
+    @Scheduled(fixedDelay = MINUTE_MILLIS)
+    public void refreshTrending() {
+        long now = System.currentTimeMillis();
+        refreshWindow(ArticleOrderConstants.TrendingWindow.HOUR,
+                bucketKeys(RedisKeyEnum.KEY_TRENDING_MINUTE_BUCKET, now / MINUTE_MILLIS, 60));
+        refreshWindow(ArticleOrderConstants.TrendingWindow.DAY,
+                bucketKeys(RedisKeyEnum.KEY_TRENDING_HOUR_BUCKET, now / HOUR_MILLIS, 24));
+    }
+
+    private void refreshWindow(String window, List<String> bucketKeys) {
+        try {
+            // 1. 合并窗口内的桶
+            String windowKey = RedisKeyEnum.KEY_TRENDING_WINDOW.getKey(window);
+            redisUtil.zUnionAndStore(bucketKeys, windowKey);
+            redisUtil.expire(windowKey, RedisKeyEnum.KEY_TRENDING_WINDOW.getExpire(), TimeUnit.SECONDS);
+            Set<Object> members = redisUtil.zReverseRange(windowKey, 0, CANDIDATE_SIZE - 1);
+            List<Long> candidateIds = members == null ? List.of() : members.stream()
+                    .map(member -> Long.valueOf(member.toString()))
+                    .collect(Collectors.toList());
+
+            // 2. 过滤未发布的文章，按分类拆分（保持热度顺序）
+            Map<Long, Long> categoryOf = new HashMap<>();
+            if (!candidateIds.isEmpty()) {
+                articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                                .select(Article::getId, Article::getCategoryId)
+                                .in(Article::getId, candidateIds)
+                                .eq(Article::getStatus, CommonConstants.ARTICLE_STATUS_PUBLISHED))
+                        .forEach(article -> categoryOf.put(article.getId(), article.getCategoryId()));
+            }
+            List<Long> allIds = new ArrayList<>();
+            Map<Long, List<Long>> categoryIds = new LinkedHashMap<>();
+            for (Long articleId : candidateIds) {
+                if (!categoryOf.containsKey(articleId)) {
+                    continue;
+                }
+                if (allIds.size() < TRENDING_SIZE) {
+                    allIds.add(articleId);
+                }
+                Long categoryId = categoryOf.get(articleId);
+                if (categoryId != null) {
+                    List<Long> ids = categoryIds.computeIfAbsent(categoryId, id -> new ArrayList<>());
+                    if (ids.size() < TRENDING_SIZE) {
+                        ids.add(articleId);
+                    }
+                }
+            }
+
+            // 3. 写入列表缓存（没有趋势文章的分类随缓存过期自然消失）
+            long expire = RedisKeyEnum.KEY_TRENDING_CACHE.getExpire();
+            redisUtil.set(RedisKeyEnum.KEY_TRENDING_CACHE.getKey(window, ALL_CATEGORIES), allIds, expire, TimeUnit.SECONDS);
+            for (Map.Entry<Long, List<Long>> entry : categoryIds.entrySet()) {
+                redisUtil.set(RedisKeyEnum.KEY_TRENDING_CACHE.getKey(window, entry.getKey()), entry.getValue(),
+                        expire, TimeUnit.SECONDS);
+            }
+            log.debug("趋势文章刷新完成: window={}, articles={}, categories={}", window, allIds.size(), categoryIds.size());
+        } catch (Exception e) {
+            log.error("趋势文章刷新失败: window={}", window, e);
+        }
+    }
+
+    /**
+     * 窗口内的桶key（包含当前桶）
+     */
+    private static List<String> bucketKeys(RedisKeyEnum bucketKey, long current, int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (long bucket = current - count + 1; bucket <= current; bucket++) {
+            keys.add(bucketKey.getKey(bucket));
+        }
+        return keys;
+    }
+}
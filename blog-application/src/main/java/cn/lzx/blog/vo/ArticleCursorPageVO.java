@@ -0,0 +1,46 @@
+package cn.lzx.blog.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 文章搜索游标分页VO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleCursorPageVO {
+
+    /**
+     * 当前页文章列表
+     */
+    private List<ArticleListVO> records;
+
+    /**
+     * 下一页游标（为空表示没有更多）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多
+     */
+    private Boolean hasMore;
+
+    /**
+     * 命中总数（首页统计，后续页沿用）
+     */
+    private Long total;
+
+    /**
+     * 分类、标签分面统计（仅首页返回）
+     */
+    private ArticleSearchFacetsVO facets;
+}
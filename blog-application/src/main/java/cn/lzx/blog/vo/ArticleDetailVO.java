@@ -119,4 +119,9 @@ public class ArticleDetailVO {
      * 更新时间
      */
     private LocalDateTime updateTime;
+
+    /**
+     * 相关文章（预计算）
+     */
+    private List<ArticleListVO> relatedArticles;
 }
@@ -0,0 +1,32 @@
+package cn.lzx.blog.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 文章搜索分面统计VO
+ * 分类统计已应用标签筛选、标签统计已应用分类筛选，各自不受本维度当前选择影响，便于切换
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSearchFacetsVO {
+
+    /**
+     * 各分类命中数（按命中数降序）
+     */
+    private List<FacetBucketVO> categories;
+
+    /**
+     * 各标签命中数（按命中数降序）
+     */
+    private List<FacetBucketVO> tags;
+}
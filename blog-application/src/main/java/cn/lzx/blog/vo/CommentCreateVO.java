@@ -0,0 +1,34 @@
+package cn.lzx.blog.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 评论创建结果VO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentCreateVO {
+
+    /**
+     * 评论ID（异步提交时尚未落库，为空）
+     */
+    private Long id;
+
+    /**
+     * 客户端令牌（异步提交时返回，回复该评论时作为 parentToken 传入）
+     */
+    private String clientToken;
+
+    /**
+     * 是否排队等待落库
+     */
+    private Boolean pending;
+}
@@ -0,0 +1,36 @@
+package cn.lzx.blog.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 评论游标分页VO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPageVO {
+
+    /**
+     * 当前页评论列表
+     */
+    private List<CommentVO> records;
+
+    /**
+     * 下一页游标（为空表示没有更多）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多
+     */
+    private Boolean hasMore;
+}
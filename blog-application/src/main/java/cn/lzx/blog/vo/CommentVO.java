@@ -86,8 +86,18 @@ public class CommentVO {
     private LocalDateTime createTime;
 
     /**
-     * 子评论列表（回复）
+     * 子评论列表（回复，根评论只内联前几条）
      */
     private List<CommentVO> replies;
+
+    /**
+     * 回复总数（仅根评论）
+     */
+    private Integer replyCount;
+
+    /**
+     * 加载剩余回复的游标（仅根评论，为空表示回复已全部内联）
+     */
+    private String replyCursor;
 }
 
@@ -0,0 +1,34 @@
+package cn.lzx.blog.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 搜索分面统计项VO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucketVO {
+
+    /**
+     * 分类/标签ID
+     */
+    private Long id;
+
+    /**
+     * 分类/标签名称
+     */
+    private String name;
+
+    /**
+     * 命中文章数
+     */
+    private Long count;
+}
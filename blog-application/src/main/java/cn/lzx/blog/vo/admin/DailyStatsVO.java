@@ -0,0 +1,56 @@
+package cn.lzx.blog.vo.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 每日统计VO（后台趋势图的一个数据点）
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStatsVO {
+
+    /**
+     * 统计日期
+     */
+    private LocalDate date;
+
+    /**
+     * 浏览数
+     */
+    private Long viewCount;
+
+    /**
+     * 点赞数
+     */
+    private Long likeCount;
+
+    /**
+     * 评论数
+     */
+    private Long commentCount;
+
+    /**
+     * 收藏数
+     */
+    private Long collectCount;
+
+    /**
+     * 注册用户数
+     */
+    private Long registerCount;
+
+    /**
+     * 发布文章数
+     */
+    private Long publishCount;
+}
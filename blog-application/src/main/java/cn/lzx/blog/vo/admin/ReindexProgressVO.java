@@ -0,0 +1,81 @@
+package cn.lzx.blog.vo.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章索引重建进度VO
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReindexProgressVO {
+
+    /**
+     * 任务状态：IDLE未执行，RUNNING执行中，SUCCESS成功，FAILED失败
+     */
+    private String status;
+
+    /**
+     * 本次写入的版本索引名称
+     */
+    private String indexName;
+
+    /**
+     * 待索引的文章总数
+     */
+    private Long total;
+
+    /**
+     * 已处理文章数
+     */
+    private Long processed;
+
+    /**
+     * 写入成功的文章数
+     */
+    private Long indexed;
+
+    /**
+     * 写入失败的文章数
+     */
+    private Long failed;
+
+    /**
+     * 重建期间更新、在切换前后追平的文章数
+     */
+    private Long caughtUp;
+
+    /**
+     * 吞吐量（篇/秒）
+     */
+    private Double docsPerSecond;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * 耗时（毫秒）
+     */
+    private Long elapsedMillis;
+
+    /**
+     * 失败原因
+     */
+    private String message;
+}
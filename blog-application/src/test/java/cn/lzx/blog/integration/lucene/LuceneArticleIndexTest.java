@@ -0,0 +1,166 @@
+package cn.lzx.blog.integration.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cn.lzx.blog.integration.es.ElasticsearchUtil;
+import cn.lzx.entity.ArticleDocument;
+
+/**
+ * 本地Lucene索引测试（内存目录，不依赖Spring和ES）
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+class LuceneArticleIndexTest {
+
+    private static final String PRE_TAG = ElasticsearchUtil.HIGHLIGHT_PRE_TAG;
+    private static final String POST_TAG = ElasticsearchUtil.HIGHLIGHT_POST_TAG;
+
+    private LuceneArticleIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new LuceneArticleIndex(new ByteBuffersDirectory(), new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void indexAndSearchReturnsCardFields() throws IOException {
+        index.index(List.of(
+                article(1L, "Redis caching patterns", "cache aside and write through", "redis content"),
+                article(2L, "Spring transactions", "propagation levels", "transaction content")));
+
+        ElasticsearchUtil.DocumentSearchResult<ArticleDocument> result = search("redis");
+
+        assertThat(result.getTotal()).isEqualTo(1);
+        ArticleDocument source = result.getHits().get(0).getSource();
+        assertThat(source.getId()).isEqualTo(1L);
+        assertThat(source.getTitle()).isEqualTo("Redis caching patterns");
+        assertThat(source.getAuthorName()).isEqualTo("author");
+        // 卡片JSON不包含正文
+        assertThat(source.getContent()).isNull();
+    }
+
+    @Test
+    void titleMatchOutranksSummaryAndContentMatch() throws IOException {
+        index.index(List.of(
+                article(1L, "Deployment notes", "general notes", "we use redis for sessions"),
+                article(2L, "Caching guide", "redis cluster setup", "cluster content"),
+                article(3L, "Redis internals", "data structures", "skiplist content")));
+
+        List<Long> ids = search("redis").getHits().stream()
+                .map(hit -> hit.getSource().getId())
+                .collect(Collectors.toList());
+
+        assertThat(ids).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void highlightsTitleAndContentFragment() throws IOException {
+        index.index(List.of(article(1L, "Redis caching patterns", "cache aside",
+                "Start with a local cache. Then add redis as the shared layer.")));
+
+        ElasticsearchUtil.DocumentHit<ArticleDocument> hit = search("redis").getHits().get(0);
+
+        // 标题整体返回，高亮保留原文大小写
+        assertThat(hit.getHighlight(LuceneArticleIndex.FIELD_TITLE))
+                .isEqualTo(PRE_TAG + "Redis" + POST_TAG + " caching patterns");
+        assertThat(hit.getHighlight(LuceneArticleIndex.FIELD_CONTENT)).contains(PRE_TAG + "redis" + POST_TAG);
+        assertThat(hit.getHighlight(LuceneArticleIndex.FIELD_SUMMARY)).isNull();
+    }
+
+    @Test
+    void matchesFullContentButHighlightsOnlyStoredPrefix() throws IOException {
+        String content = "filler ".repeat(LuceneArticleIndex.CONTENT_HIGHLIGHT_MAX_CHARS) + "redis";
+        index.index(List.of(article(1L, "Deployment notes", "general notes", content)));
+
+        ElasticsearchUtil.DocumentSearchResult<ArticleDocument> result = search("redis");
+
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getHits().get(0).getHighlight(LuceneArticleIndex.FIELD_CONTENT)).isNull();
+    }
+
+    @Test
+    void deleteRemovesDocument() throws IOException {
+        index.index(List.of(
+                article(1L, "Redis caching patterns", "cache aside", "redis content"),
+                article(2L, "Redis internals", "data structures", "redis content")));
+
+        index.delete(List.of(1L));
+
+        List<ElasticsearchUtil.DocumentHit<ArticleDocument>> hits = search("redis").getHits();
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).getSource().getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void reindexingSameIdReplacesDocument() throws IOException {
+        index.index(List.of(article(1L, "Redis caching patterns", "cache aside", "redis content")));
+        index.index(List.of(article(1L, "Spring transactions", "propagation", "transaction content")));
+
+        assertThat(search("redis").getTotal()).isZero();
+        assertThat(search("spring").getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void counterUpdatesOverrideStoredCounts() throws IOException {
+        index.index(List.of(article(1L, "Redis caching patterns", "cache aside", "redis content")));
+
+        index.updateCounters(1L, 42, 7, 3);
+        index.refresh();
+
+        ArticleDocument source = search("redis").getHits().get(0).getSource();
+        assertThat(source.getViewCount()).isEqualTo(42);
+        assertThat(source.getLikeCount()).isEqualTo(7);
+        assertThat(source.getCommentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void filtersByCategory() throws IOException {
+        ArticleDocument inCategory = article(1L, "Redis caching patterns", "cache aside", "redis content");
+        inCategory.setCategoryId(10L);
+        ArticleDocument otherCategory = article(2L, "Redis internals", "data structures", "redis content");
+        otherCategory.setCategoryId(20L);
+        index.index(List.of(inCategory, otherCategory));
+
+        ElasticsearchUtil.DocumentSearchResult<ArticleDocument> result =
+                index.search("redis", 10L, null, null, false, 0, 10);
+
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getHits().get(0).getSource().getId()).isEqualTo(1L);
+    }
+
+    private ElasticsearchUtil.DocumentSearchResult<ArticleDocument> search(String keyword) throws IOException {
+        return index.search(keyword, null, null, null, false, 0, 10);
+    }
+
+    private static ArticleDocument article(Long id, String title, String summary, String content) {
+        return ArticleDocument.builder()
+                .id(id)
+                .title(title)
+                .summary(summary)
+                .content(content)
+                .authorName("author")
+                .viewCount(0)
+                .likeCount(0)
+                .commentCount(0)
+                .status(1)
+                .createTime("2026-10-19 10:00:00")
+                .build();
+    }
+}
@@ -14,6 +14,10 @@ public final class ArticleOrderConstants {
         public static final String CREATE_TIME = "create_time";
         public static final String VIEW_COUNT = "view_count";
         public static final String LIKE_COUNT = "like_count";
+        /**
+         * 按相关度排序（仅关键词搜索时生效，其余场景按创建时间排序）
+         */
+        public static final String RELEVANCE = "relevance";
 
         private OrderBy() {
         }
@@ -26,4 +30,19 @@ public final class ArticleOrderConstants {
         private OrderType() {
         }
     }
+
+    /**
+     * 趋势文章时间窗口
+     */
+    public static final class TrendingWindow {
+        public static final String HOUR = "hour";
+        public static final String DAY = "day";
+
+        private TrendingWindow() {
+        }
+
+        public static boolean isValid(String window) {
+            return HOUR.equals(window) || DAY.equals(window);
+        }
+    }
 }
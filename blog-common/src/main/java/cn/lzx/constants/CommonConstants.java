@@ -87,6 +87,21 @@ public class CommonConstants {
      */
     public static final int COMMENT_MAX_DEPTH = 3;
 
+    /**
+     * 评论分页：默认每页根评论数
+     */
+    public static final int COMMENT_PAGE_SIZE = 10;
+
+    /**
+     * 评论分页：每页最大条数
+     */
+    public static final int COMMENT_PAGE_MAX_SIZE = 50;
+
+    /**
+     * 每条根评论内联返回的回复数（其余回复通过回复分页接口加载）
+     */
+    public static final int COMMENT_INLINE_REPLY_SIZE = 3;
+
     // ======================== 是否删除 =========================
     /**
      * 是否删除：未删除
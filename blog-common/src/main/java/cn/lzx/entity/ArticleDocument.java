@@ -1,6 +1,7 @@
 package cn.lzx.entity;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,10 +10,11 @@ import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文章ES文档实体类
- * 用于Elasticsearch索引中的文档结构
+ * 用于Elasticsearch索引中的文档结构，同时包含列表卡片展示所需的全部字段，搜索结果直接由文档渲染
  *
  * @author lzx
  * @since 2025-11-01
@@ -21,6 +23,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class ArticleDocument implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -56,6 +59,12 @@ public class ArticleDocument implements Serializable {
     @JsonProperty("tagIds")
     private List<Long> tagIds;
 
+    /**
+     * 标签名称列表（与tagIds一一对应，用于展示）
+     */
+    @JsonProperty("tagNames")
+    private List<String> tagNames;
+
     /**
      * 分类ID
      */
@@ -80,6 +89,12 @@ public class ArticleDocument implements Serializable {
     @JsonProperty("authorName")
     private String authorName;
 
+    /**
+     * 作者头像
+     */
+    @JsonProperty("authorAvatar")
+    private String authorAvatar;
+
     /**
      * 封面图
      */
@@ -122,5 +137,37 @@ public class ArticleDocument implements Serializable {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     @JsonProperty("updateTime")
     private String updateTime;
-}
 
+    /**
+     * 搜索建议（completion字段：标题和标签名称作为输入，按文章状态区分上下文）
+     */
+    private Suggest suggest;
+
+    /**
+     * completion 字段结构
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Suggest implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 建议输入词
+         */
+        private List<String> input;
+
+        /**
+         * 排序权重
+         */
+        private Integer weight;
+
+        /**
+         * 上下文（如 status -> ["1"]）
+         */
+        private Map<String, List<String>> contexts;
+    }
+}
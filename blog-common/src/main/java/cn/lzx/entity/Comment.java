@@ -55,6 +55,16 @@ public class Comment implements Serializable {
      */
     private Long parentId;
 
+    /**
+     * 评论深度（0表示根评论，1表示根评论的直接回复）
+     */
+    private Integer depth;
+
+    /**
+     * 物化路径（祖先评论ID，如 /rootId/.../parentId/，根评论为 /）
+     */
+    private String path;
+
     /**
      * 回复的用户ID
      */
@@ -70,6 +80,17 @@ public class Comment implements Serializable {
      */
     private Integer status;
 
+    /**
+     * 客户端令牌（异步提交时生成，用于关联排队中的评论和落库幂等，同步创建的评论为空）
+     */
+    private String clientToken;
+
+    /**
+     * 父评论的客户端令牌（回复尚在排队的评论时使用，落库时解析为父评论ID）
+     */
+    @TableField(exist = false)
+    private String parentToken;
+
     /**
      * 逻辑删除：0未删除，1已删除
      */
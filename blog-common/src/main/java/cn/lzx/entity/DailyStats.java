@@ -0,0 +1,76 @@
+package cn.lzx.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 每日统计实体类
+ * 当天的数据在Redis中实时累加，每晚由定时任务落库为一行
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("daily_stats")
+public class DailyStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 统计日期
+     */
+    @TableId(value = "stat_date", type = IdType.INPUT)
+    private LocalDate statDate;
+
+    /**
+     * 浏览数
+     */
+    private Long viewCount;
+
+    /**
+     * 点赞数
+     */
+    private Long likeCount;
+
+    /**
+     * 评论数
+     */
+    private Long commentCount;
+
+    /**
+     * 收藏数
+     */
+    private Long collectCount;
+
+    /**
+     * 注册用户数
+     */
+    private Long registerCount;
+
+    /**
+     * 发布文章数
+     */
+    private Long publishCount;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
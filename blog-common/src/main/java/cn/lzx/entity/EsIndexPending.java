@@ -0,0 +1,45 @@
+package cn.lzx.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * ES待索引文章实体类
+ * 与业务数据在同一事务中写入，索引成功后删除；应用重启时据此补齐未完成的索引
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("es_index_pending")
+public class EsIndexPending implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文章ID
+     */
+    @TableId(value = "article_id", type = IdType.INPUT)
+    private Long articleId;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 最近一次登记时间（同一文章重复登记时刷新）
+     */
+    private LocalDateTime updateTime;
+}
@@ -45,17 +45,113 @@ public enum RedisKeyEnum {
      */
     KEY_USER_CACHE("blog:cache:user:%s", 30 * 60),
 
+    /**
+     * 文章评论首页缓存（匿名视角，增量维护） - KEY格式: blog:cache:comment:{articleId} 过期时间: 10分钟
+     */
+    KEY_COMMENT_PAGE_CACHE("blog:cache:comment:%s", 10 * 60),
+
+    /**
+     * 文章评论缓存版本号（每次增量更新自增，防止并发回填旧数据） - KEY格式: blog:cache:comment_version:{articleId} 过期时间: 1天
+     */
+    KEY_COMMENT_CACHE_VERSION("blog:cache:comment_version:%s", 24 * 60 * 60),
+
+    /**
+     * 排队中的异步评论（文章ID、用户ID、深度，落库后删除） - KEY格式: blog:comment:pending:{clientToken} 过期时间: 30分钟
+     */
+    KEY_COMMENT_PENDING("blog:comment:pending:%s", 30 * 60),
+
+    /**
+     * 文章搜索结果缓存 - KEY格式: blog:cache:search:{indexGeneration}:{queryHash} 过期时间: 60秒
+     */
+    KEY_SEARCH_RESULT_CACHE("blog:cache:search:%s:%s", 60),
+
+    /**
+     * 文章搜索分面统计缓存 - KEY格式: blog:cache:search_facets:{indexGeneration}:{queryHash} 过期时间: 60秒
+     */
+    KEY_SEARCH_FACETS_CACHE("blog:cache:search_facets:%s:%s", 60),
+
+    /**
+     * 后台统计数据快照 - KEY格式: blog:cache:admin_statistics 过期时间: 60秒
+     */
+    KEY_ADMIN_STATISTICS("blog:cache:admin_statistics", 60),
+
+    /**
+     * 趋势文章ID列表缓存 - KEY格式: blog:cache:trending:{window}:{categoryId|all} 过期时间: 5分钟（每分钟刷新）
+     */
+    KEY_TRENDING_CACHE("blog:cache:trending:%s:%s", 5 * 60),
+
+    /**
+     * 文章索引代数（索引有写入时自增，旧代数的搜索缓存随之失效） - KEY格式: blog:cache:search_generation 无过期时间
+     */
+    KEY_SEARCH_INDEX_GENERATION("blog:cache:search_generation", -1),
+
     // ======================== 排行榜相关 ========================
     /**
-     * 热门文章排行榜 - KEY格式: blog:rank:hot_articles 无过期时间（由定时任务维护）
+     * 热门文章排行榜（文章ID -> 时间衰减热度） - KEY格式: blog:rank:hot_articles 无过期时间（互动时增量更新，定期衰减）
      */
     KEY_HOT_ARTICLES("blog:rank:hot_articles", -1),
 
+    /**
+     * 热门文章排行上次衰减时间（毫秒时间戳） - KEY格式: blog:rank:hot_articles_decay_at 无过期时间
+     */
+    KEY_HOT_ARTICLES_DECAY_AT("blog:rank:hot_articles_decay_at", -1),
+
+    /**
+     * 标签热度（标签ID -> 已发布文章数） - KEY格式: blog:rank:tag_articles 无过期时间（文章变更时增量更新，每晚校准）
+     */
+    KEY_TAG_POPULARITY("blog:rank:tag_articles", -1),
+
+    /**
+     * 标签热度重建时的临时key（每次重建独立） - KEY格式: blog:rank:tag_articles:rebuild:{uuid} 无过期时间（写入后重命名为正式key）
+     */
+    KEY_TAG_POPULARITY_REBUILD("blog:rank:tag_articles:rebuild:%s", -1),
+
+    /**
+     * 文章趋势分钟桶（文章ID -> 该分钟内的互动热度） - KEY格式: blog:rank:trend:minute:{epochMinute} 过期时间: 2小时
+     */
+    KEY_TRENDING_MINUTE_BUCKET("blog:rank:trend:minute:%s", 2 * 60 * 60),
+
+    /**
+     * 文章趋势小时桶（文章ID -> 该小时内的互动热度） - KEY格式: blog:rank:trend:hour:{epochHour} 过期时间: 26小时
+     */
+    KEY_TRENDING_HOUR_BUCKET("blog:rank:trend:hour:%s", 26 * 60 * 60),
+
+    /**
+     * 文章趋势窗口合并结果（临时ZSet） - KEY格式: blog:rank:trend:window:{window} 过期时间: 5分钟
+     */
+    KEY_TRENDING_WINDOW("blog:rank:trend:window:%s", 5 * 60),
+
+    /**
+     * 热门搜索词排行（归一化后的关键词 -> 搜索次数，定期衰减） - KEY格式: blog:rank:search_keywords 无过期时间
+     */
+    KEY_SEARCH_KEYWORD_RANK("blog:rank:search_keywords", -1),
+
+    // ======================== 推荐相关 ========================
+    /**
+     * 文章相关推荐（预计算的文章ID列表） - KEY格式: blog:related:article:{articleId} 过期时间: 7天（定时任务每天全量刷新）
+     */
+    KEY_ARTICLE_RELATED("blog:related:article:%s", 7 * 24 * 60 * 60),
+
+    /**
+     * 文章相关推荐写入时的临时key - KEY格式: blog:related:article:{articleId}:rebuild:{uuid} 过期时间: 7天（重命名后即为正式key的过期时间）
+     */
+    KEY_ARTICLE_RELATED_REBUILD("blog:related:article:%s:rebuild:%s", 7 * 24 * 60 * 60),
+
     // ======================== 数据统计相关 ========================
     /**
      * 文章点赞用户集合 - KEY格式: blog:set:article_likes:{articleId} 无过期时间
      */
-    KEY_ARTICLE_LIKES("blog:set:article_likes:%s", -1);
+    KEY_ARTICLE_LIKES("blog:set:article_likes:%s", -1),
+
+    /**
+     * 计数有变化、待同步到ES的文章ID集合 - KEY格式: blog:set:article_counter_dirty 无过期时间（由定时任务消费）
+     */
+    KEY_ARTICLE_COUNTER_DIRTY("blog:set:article_counter_dirty", -1),
+
+    /**
+     * 每日统计桶（指标 -> 当天累计值） - KEY格式: blog:stats:daily:{yyyy-MM-dd} 过期时间: 3天（每晚落库）
+     */
+    KEY_DAILY_STATS("blog:stats:daily:%s", 3 * 24 * 60 * 60);
 
     
     private final String key;
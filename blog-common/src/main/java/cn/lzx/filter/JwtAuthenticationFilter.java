@@ -43,11 +43,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 1. 从请求头中获取Token
             String token = extractTokenFromRequest(request);
 
-            // 2. 如果Token存在且有效，设置认证信息
-            if (StringUtils.hasText(token) && tokenService.validateAccessToken(token)) {
-                // 3. 从Token中获取用户信息（如果token无效会抛出异常，被外层catch捕获）
-                Long userId = tokenService.getUserIdFromToken(token);
-                String username = tokenService.getUsernameFromToken(token);
+            // 2. 验证Token（签名和过期时间只校验一次），无效时返回null
+            JwtTokenUtil.VerifiedToken verified = StringUtils.hasText(token)
+                    ? tokenService.verifyAccessToken(token)
+                    : null;
+            if (verified != null) {
+                // 3. 从验证结果中获取用户信息
+                Long userId = verified.getUserId();
+                String username = verified.getUsername();
 
                 // 4. 创建认证对象
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -62,7 +65,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
                 // 7. Token自动续期：如果剩余时间少于阈值，返回新Token
-                renewTokenIfNeeded(token, userId, username, response);
+                renewTokenIfNeeded(verified, userId, username, response);
 
                 log.debug("用户 {} 认证成功", username);
             }
@@ -92,14 +95,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * Token自动续期
      * 当Token剩余有效期少于阈值时，自动生成新Token并通过响应头返回
      *
-     * @param token    当前Token
+     * @param verified 当前Token的验证结果
      * @param userId   用户ID
      * @param username 用户名
      * @param response HTTP响应
      */
-    private void renewTokenIfNeeded(String token, Long userId, String username, HttpServletResponse response) {
+    private void renewTokenIfNeeded(JwtTokenUtil.VerifiedToken verified, Long userId, String username,
+            HttpServletResponse response) {
         try {
-            long remainingTime = jwtTokenUtil.getTokenRemainingTime(token);
+            long remainingTime = verified.getRemainingTime();
 
             // 如果剩余时间少于续期阈值（默认5分钟），自动续期
             if (remainingTime > 0 && remainingTime < SecurityConstants.TOKEN_RENEW_THRESHOLD) {
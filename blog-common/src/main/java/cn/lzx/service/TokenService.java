@@ -84,24 +84,32 @@ public class TokenService {
     // ==================== Token验证 ====================
 
     /**
-     * 验证AccessToken有效性（仅验证JWT签名和过期时间）
-     * 适用于一般业务请求，追求高性能
+     * 验证AccessToken并返回其中的用户信息（仅验证JWT签名和过期时间）
+     * 适用于一般业务请求，一次验证即可取得用户ID、用户名和剩余有效期
      *
      * @param accessToken AccessToken
-     * @return true-有效 false-无效
+     * @return 已验证的Token信息，无效时返回null
      */
-    public boolean validateAccessToken(String accessToken) {
+    public JwtTokenUtil.VerifiedToken verifyAccessToken(String accessToken) {
         try {
-            // 解析token会验证签名，如果无效会抛出异常
-            jwtTokenUtil.getUserIdFromToken(accessToken);
-            // 检查是否过期
-            return !jwtTokenUtil.isTokenExpired(accessToken);
+            return jwtTokenUtil.verifyToken(accessToken);
         } catch (Exception e) {
             log.debug("Token验证失败: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
+    /**
+     * 验证AccessToken有效性（仅验证JWT签名和过期时间）
+     * 适用于一般业务请求，追求高性能
+     *
+     * @param accessToken AccessToken
+     * @return true-有效 false-无效
+     */
+    public boolean validateAccessToken(String accessToken) {
+        return verifyAccessToken(accessToken) != null;
+    }
+
     /**
      * 验证AccessToken有效性（检查黑名单）
      * 适用于敏感操作（注销、修改密码、删除数据等）
@@ -112,13 +120,13 @@ public class TokenService {
     public boolean validateAccessTokenWithBlacklist(String accessToken) {
         try {
             // 先验证JWT基本有效性
-            if (!validateAccessToken(accessToken)) {
+            JwtTokenUtil.VerifiedToken verified = verifyAccessToken(accessToken);
+            if (verified == null) {
                 return false;
             }
 
             // 检查是否在黑名单中
-            Long userId = jwtTokenUtil.getUserIdFromToken(accessToken);
-            return !isTokenInBlacklist(userId, accessToken);
+            return !isTokenInBlacklist(verified.getUserId(), accessToken);
         } catch (Exception e) {
             log.debug("Token验证失败: {}", e.getMessage());
             return false;
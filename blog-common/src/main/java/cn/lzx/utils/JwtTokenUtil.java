@@ -4,16 +4,25 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import cn.lzx.constants.SecurityConstants;
 import cn.lzx.exception.JwtException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -27,6 +36,44 @@ public class JwtTokenUtil {
     private final SecretKey secretKey = Keys
             .hmacShaKeyFor(SecurityConstants.JWT_SECRET.getBytes(StandardCharsets.UTF_8));
 
+    /**
+     * 解析器不可变、线程安全，全局复用一个实例
+     */
+    private final JwtParser jwtParser = Jwts.parser().verifyWith(secretKey).build();
+
+    /**
+     * 已验证Token缓存（Token -> Token信息），容量为0时不缓存
+     * 并发缓存，读取不加全局锁；按容量淘汰，条目在Token过期时自动失效；同一Token在有效期内的重复请求不再验签
+     */
+    private final Cache<String, VerifiedToken> claimsCache;
+
+    public JwtTokenUtil(@Value("${blog.jwt.claims-cache-size:1024}") int claimsCacheSize) {
+        this.claimsCache = claimsCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(claimsCacheSize)
+                        .expireAfter(new Expiry<String, VerifiedToken>() {
+                            @Override
+                            public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                                long remainingMillis = verified.getExpiration() - System.currentTimeMillis();
+                                return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                            }
+
+                            @Override
+                            public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime,
+                                                          long currentDuration) {
+                                return currentDuration;
+                            }
+
+                            @Override
+                            public long expireAfterRead(String token, VerifiedToken verified, long currentTime,
+                                                        long currentDuration) {
+                                return currentDuration;
+                            }
+                        })
+                        .build()
+                : null;
+    }
+
     /**
      * 生成AccessToken
      *
@@ -69,17 +116,41 @@ public class JwtTokenUtil {
      */
     public Claims parseToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             log.error("JWT解析失败: {}", e.getMessage());
             throw new JwtException("Token无效或已过期", e);
         }
     }
 
+    /**
+     * 验证Token并返回其中的用户信息
+     * 签名和过期时间只在首次遇到该Token时校验一次，之后直到过期前都从缓存返回
+     *
+     * @param token JWT Token
+     * @return 已验证的Token信息
+     * @throws JwtException Token无效或已过期时抛出异常
+     */
+    public VerifiedToken verifyToken(String token) {
+        if (claimsCache != null) {
+            VerifiedToken cached = claimsCache.getIfPresent(token);
+            if (cached != null && cached.getExpiration() > System.currentTimeMillis()) {
+                return cached;
+            }
+        }
+
+        Claims claims = parseToken(token);
+        Object userId = claims.get(SecurityConstants.JWT_CLAIM_USER_ID);
+        VerifiedToken verified = new VerifiedToken(
+                userId instanceof Number ? ((Number) userId).longValue() : null,
+                claims.get(SecurityConstants.JWT_CLAIM_USERNAME, String.class),
+                claims.getExpiration().getTime());
+        if (claimsCache != null) {
+            claimsCache.put(token, verified);
+        }
+        return verified;
+    }
+
     /**
      * 从Token中获取用户ID
      *
@@ -88,12 +159,7 @@ public class JwtTokenUtil {
      * @throws JwtException Token无效时抛出异常
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = parseToken(token);
-        Object userId = claims.get(SecurityConstants.JWT_CLAIM_USER_ID);
-        if (userId instanceof Integer) {
-            return ((Integer) userId).longValue();
-        }
-        return (Long) userId;
+        return verifyToken(token).getUserId();
     }
 
     /**
@@ -104,8 +170,7 @@ public class JwtTokenUtil {
      * @throws JwtException Token无效时抛出异常
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get(SecurityConstants.JWT_CLAIM_USERNAME, String.class);
+        return verifyToken(token).getUsername();
     }
 
     /**
@@ -116,9 +181,7 @@ public class JwtTokenUtil {
      * @throws JwtException Token无效时抛出异常
      */
     public boolean isTokenExpired(String token) {
-        Claims claims = parseToken(token);
-        Date expiration = claims.getExpiration();
-        return expiration.before(new Date());
+        return verifyToken(token).getExpiration() < System.currentTimeMillis();
     }
 
     /**
@@ -129,9 +192,36 @@ public class JwtTokenUtil {
      * @throws JwtException Token无效时抛出异常
      */
     public long getTokenRemainingTime(String token) {
-        Claims claims = parseToken(token);
-        Date expiration = claims.getExpiration();
-        long remaining = (expiration.getTime() - System.currentTimeMillis()) / 1000;
-        return Math.max(remaining, 0);
+        return verifyToken(token).getRemainingTime();
+    }
+
+    /**
+     * 已验证的Token信息
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class VerifiedToken {
+
+        /**
+         * 用户ID
+         */
+        private final Long userId;
+
+        /**
+         * 用户名
+         */
+        private final String username;
+
+        /**
+         * 过期时间（毫秒时间戳）
+         */
+        private final long expiration;
+
+        /**
+         * @return 剩余有效时间（秒），已过期返回0
+         */
+        public long getRemainingTime() {
+            return Math.max((expiration - System.currentTimeMillis()) / 1000, 0);
+        }
     }
 }
@@ -0,0 +1,131 @@
+package cn.lzx.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 带权重的前缀树
+ * 每个节点预先保存以该节点为前缀的权重最高的 topK 个词，查询只需沿前缀走一遍，耗时与词典大小无关。
+ * 前缀匹配忽略大小写，返回原始写法。
+ * 构建完成后只读，可被多线程并发查询；需要更新时构建新实例整体替换。
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+public class PrefixTrie {
+
+    private static final Comparator<Entry> BY_WEIGHT_DESC =
+            Comparator.comparingDouble((Entry e) -> e.weight).reversed().thenComparing(e -> e.word);
+
+    private final int topK;
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * @param topK 每个前缀最多保留的候选词数量
+     */
+    public PrefixTrie(int topK) {
+        this.topK = Math.max(1, topK);
+    }
+
+    /**
+     * 插入词条（同一词条重复插入时保留较大的权重）
+     *
+     * @param word   词条
+     * @param weight 权重，越大越靠前
+     */
+    public void insert(String word, double weight) {
+        if (word == null || word.isBlank()) {
+            return;
+        }
+        String display = word.trim();
+        String key = normalize(display);
+
+        // 找到词条末尾节点，判断是否已存在
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            path.add(node);
+        }
+        if (node.entry != null && node.entry.weight >= weight) {
+            return;
+        }
+        if (node.entry == null) {
+            size++;
+        }
+        Entry entry = new Entry(node.entry != null ? node.entry.word : display, weight);
+        node.entry = entry;
+
+        // 更新路径上每个前缀节点的候选列表
+        for (Node prefixNode : path) {
+            prefixNode.top.removeIf(e -> e.word.equals(entry.word));
+            prefixNode.top.add(entry);
+            prefixNode.top.sort(BY_WEIGHT_DESC);
+            if (prefixNode.top.size() > topK) {
+                prefixNode.top.remove(prefixNode.top.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * 按前缀查询候选词（按权重降序）
+     *
+     * @param prefix 前缀
+     * @param limit  最多返回数量（不超过 topK）
+     * @return 候选词列表
+     */
+    public List<String> search(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        String key = normalize(prefix.trim());
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return new ArrayList<>();
+        }
+        List<String> result = new ArrayList<>(Math.min(limit, node.top.size()));
+        for (Entry entry : node.top) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry.word);
+        }
+        return result;
+    }
+
+    /**
+     * @return 词条数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Entry> top = new ArrayList<>(2);
+        private Entry entry;
+    }
+
+    private static class Entry {
+        private final String word;
+        private final double weight;
+
+        private Entry(String word, double weight) {
+            this.word = word;
+            this.weight = weight;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package cn.lzx.utils;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -72,6 +78,13 @@ public class RedisUtil {
         return redisTemplate.hasKey(key);
     }
 
+    /**
+     * 重命名key（覆盖已存在的目标key）
+     */
+    public void rename(String oldKey, String newKey) {
+        redisTemplate.rename(oldKey, newKey);
+    }
+
     /**
      * 设置过期时间
      */
@@ -164,6 +177,13 @@ public class RedisUtil {
         return redisTemplate.opsForList().rightPush(key, value);
     }
 
+    /**
+     * List右侧批量推入
+     */
+    public Long rPushAll(String key, Collection<Object> values) {
+        return redisTemplate.opsForList().rightPushAll(key, values);
+    }
+
     /**
      * List左侧弹出
      */
@@ -215,6 +235,13 @@ public class RedisUtil {
         return redisTemplate.opsForSet().isMember(key, value);
     }
 
+    /**
+     * Set随机弹出多个元素（弹出即移除，适合作为去重的待处理队列）
+     */
+    public List<Object> sPop(String key, long count) {
+        return redisTemplate.opsForSet().pop(key, count);
+    }
+
     // ========== ZSet操作 ==========
 
     /**
@@ -224,6 +251,15 @@ public class RedisUtil {
         return redisTemplate.opsForZSet().add(key, value, score);
     }
 
+    /**
+     * ZSet批量添加元素
+     */
+    public Long zAddAll(String key, Map<Object, Double> scores) {
+        Set<ZSetOperations.TypedTuple<Object>> tuples = new HashSet<>();
+        scores.forEach((value, score) -> tuples.add(ZSetOperations.TypedTuple.of(value, score)));
+        return redisTemplate.opsForZSet().add(key, tuples);
+    }
+
     /**
      * ZSet移除元素
      */
@@ -259,10 +295,60 @@ public class RedisUtil {
         return redisTemplate.opsForZSet().reverseRange(key, start, end);
     }
 
+    /**
+     * ZSet获取范围及分数（从大到小）
+     */
+    public Set<ZSetOperations.TypedTuple<Object>> zReverseRangeWithScores(String key, long start, long end) {
+        return redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
+    }
+
     /**
      * ZSet获取分数
      */
     public Double zScore(String key, Object value) {
         return redisTemplate.opsForZSet().score(key, value);
     }
+
+    /**
+     * ZSet按排名移除元素（从小到大）
+     */
+    public Long zRemoveRange(String key, long start, long end) {
+        return redisTemplate.opsForZSet().removeRange(key, start, end);
+    }
+
+    /**
+     * ZSet按分数移除元素
+     */
+    public Long zRemoveRangeByScore(String key, double min, double max) {
+        return redisTemplate.opsForZSet().removeRangeByScore(key, min, max);
+    }
+
+    /**
+     * ZSet元素数量
+     */
+    public Long zSize(String key) {
+        return redisTemplate.opsForZSet().zCard(key);
+    }
+
+    /**
+     * 多个ZSet求并集（分数相加）并覆盖目标key，不存在的源key视为空集合
+     */
+    public Long zUnionAndStore(List<String> keys, String destKey) {
+        return redisTemplate.opsForZSet().unionAndStore(keys.get(0), keys.subList(1, keys.size()), destKey);
+    }
+
+    /**
+     * 执行Lua脚本
+     */
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return redisTemplate.execute(script, keys, args);
+    }
+
+    /**
+     * ZSet所有分数乘以系数（用于衰减）
+     */
+    public Long zMultiplyScores(String key, double factor) {
+        return redisTemplate.opsForZSet().unionAndStore(key, Collections.emptyList(), key,
+                Aggregate.SUM, Weights.of(factor));
+    }
 }
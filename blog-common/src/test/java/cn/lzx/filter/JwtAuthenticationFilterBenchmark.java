@@ -0,0 +1,119 @@
+package cn.lzx.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import cn.lzx.constants.SecurityConstants;
+import cn.lzx.service.TokenService;
+import cn.lzx.utils.JwtTokenUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+
+/**
+ * JWT认证过滤器基准测试
+ * - legacyTokenChecks：改造前过滤器对同一Token的处理（每次新建解析器，共验签5次）
+ * - filter：当前过滤器完整处理一次请求，cacheSize=0 为只验签一次，cacheSize>0 为命中已验证Token缓存
+ * 运行方式：mvn -pl blog-common test-compile 后在IDE中运行 main 方法
+ *
+ * @author lzx
+ * @since 2026-10-19
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final SecretKey SECRET_KEY = Keys
+            .hmacShaKeyFor(SecurityConstants.JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+
+    private static final FilterChain NOOP_CHAIN = (request, response) -> {
+    };
+
+    @State(Scope.Benchmark)
+    public static class FilterState {
+
+        @Param({ "0", "1024" })
+        public int cacheSize;
+
+        public JwtAuthenticationFilter filter;
+        public MockHttpServletRequest request;
+        public MockHttpServletResponse response;
+
+        @Setup
+        public void setup() {
+            JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(cacheSize);
+            // 只验证JWT签名和过期时间，不访问Redis
+            filter = new JwtAuthenticationFilter(new TokenService(jwtTokenUtil, null), jwtTokenUtil);
+            request = new MockHttpServletRequest("GET", "/api/article/list");
+            request.addHeader(SecurityConstants.TOKEN_HEADER,
+                    SecurityConstants.TOKEN_PREFIX + jwtTokenUtil.generateAccessToken(10001L, "benchmark"));
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class TokenState {
+
+        public String token;
+
+        @Setup
+        public void setup() {
+            token = new JwtTokenUtil(0).generateAccessToken(10001L, "benchmark");
+        }
+    }
+
+    @Benchmark
+    public Object filter(FilterState state) throws Exception {
+        state.filter.doFilterInternal(state.request, state.response, NOOP_CHAIN);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    @Benchmark
+    public void legacyTokenChecks(TokenState state, Blackhole blackhole) {
+        String token = state.token;
+        // validateAccessToken：getUserIdFromToken + isTokenExpired
+        blackhole.consume(legacyParse(token).get(SecurityConstants.JWT_CLAIM_USER_ID));
+        blackhole.consume(legacyParse(token).getExpiration());
+        // getUserIdFromToken、getUsernameFromToken、getTokenRemainingTime
+        blackhole.consume(legacyParse(token).get(SecurityConstants.JWT_CLAIM_USER_ID));
+        blackhole.consume(legacyParse(token).get(SecurityConstants.JWT_CLAIM_USERNAME, String.class));
+        blackhole.consume(legacyParse(token).getExpiration());
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser().verifyWith(SECRET_KEY).build().parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -78,6 +78,17 @@ export interface Statistics {
   tagCount: number
 }
 
+/** 每日统计（趋势图数据点） */
+export interface DailyStats {
+  date: string // yyyy-MM-dd
+  viewCount: number
+  likeCount: number
+  commentCount: number
+  collectCount: number
+  registerCount: number
+  publishCount: number
+}
+
 /** 分页响应 */
 export interface PageResponse<T> {
   records: T[]
@@ -138,6 +149,17 @@ export function updateArticleStatus(data: { articleId: number; status: number })
   })
 }
 
+/**
+ * 批量更新文章状态（批量屏蔽/取消屏蔽，单次最多100篇）
+ */
+export function batchUpdateArticleStatus(data: { articleIds: number[]; status: number }) {
+  return request({
+    url: '/admin/articles/status',
+    method: 'put',
+    data
+  })
+}
+
 /**
  * 获取用户列表（访客管理）
  */
@@ -164,6 +186,17 @@ export function updateUserStatus(userId: number, status: number) {
   })
 }
 
+/**
+ * 批量更新用户状态（批量启用/禁用，单次最多100个）
+ */
+export function batchUpdateUserStatus(data: { userIds: number[]; status: number }) {
+  return request({
+    url: '/admin/users/status',
+    method: 'put',
+    data
+  })
+}
+
 /**
  * 获取评论列表（评论管理）
  */
@@ -191,6 +224,28 @@ export function updateCommentStatus(data: CommentStatusUpdateParams) {
   })
 }
 
+/**
+ * 批量更新评论状态（单次最多100条）
+ */
+export function batchUpdateCommentStatus(data: { commentIds: number[]; status: number }) {
+  return request({
+    url: '/admin/comments/status',
+    method: 'put',
+    data
+  })
+}
+
+/**
+ * 批量删除评论（管理员，单次最多100条）
+ */
+export function batchDeleteComments(commentIds: number[]) {
+  return request({
+    url: '/admin/comments',
+    method: 'delete',
+    data: { commentIds }
+  })
+}
+
 /**
  * 删除评论（管理员）
  */
@@ -211,6 +266,17 @@ export function getStatistics() {
   })
 }
 
+/**
+ * 获取每日统计（默认最近30天，最多366天）
+ */
+export function getDailyStatistics(params?: { startDate?: string; endDate?: string }) {
+  return request<DailyStats[]>({
+    url: '/admin/statistics/daily',
+    method: 'get',
+    params
+  })
+}
+
 // ==================== 分类管理 ====================
 
 /** 分类管理参数 */
@@ -14,7 +14,7 @@ export interface ArticleQueryParams {
   tagId?: number
   keyword?: string
   status?: 0 | 1 // 状态筛选（仅"我的文章"使用）
-  orderBy?: 'create_time' | 'view_count' | 'like_count'
+  orderBy?: 'create_time' | 'view_count' | 'like_count' | 'relevance'
   orderType?: 'asc' | 'desc'
 }
 
@@ -38,6 +38,39 @@ export interface ArticleListItem {
   updateTime: string
 }
 
+/** 游标搜索参数 */
+export interface ArticleSearchParams {
+  keyword: string
+  size?: number
+  categoryId?: number
+  tagId?: number
+  orderBy?: 'create_time' | 'view_count' | 'like_count' | 'relevance'
+  orderType?: 'asc' | 'desc'
+  cursor?: string // 上一页返回的 nextCursor，首页不传
+}
+
+/** 文章搜索游标分页 */
+export interface ArticleCursorPage {
+  records: ArticleListItem[]
+  nextCursor?: string // 下一页游标（为空表示没有更多）
+  hasMore: boolean
+  total: number // 命中总数（首页统计）
+  facets?: ArticleSearchFacets // 分类、标签分面统计（仅首页）
+}
+
+/** 搜索分面统计项 */
+export interface FacetBucket {
+  id: number
+  name: string
+  count: number
+}
+
+/** 搜索分面统计 */
+export interface ArticleSearchFacets {
+  categories: FacetBucket[]
+  tags: FacetBucket[]
+}
+
 /** 文章详情 */
 export interface ArticleDetail {
   id: number
@@ -60,6 +93,7 @@ export interface ArticleDetail {
   isCollected: boolean
   createTime: string
   updateTime: string
+  relatedArticles?: ArticleListItem[]
 }
 
 /** 文章发布/编辑参数 */
@@ -108,6 +142,48 @@ export function getArticleList(params: ArticleQueryParams) {
   })
 }
 
+/**
+ * 搜索文章（游标分页，适合无限滚动/深度翻页）
+ * @param params 搜索参数
+ * @returns 当前页文章及下一页游标
+ */
+export function searchArticles(params: ArticleSearchParams) {
+  return request({
+    url: '/api/article/search',
+    method: 'get',
+    params
+  })
+}
+
+/**
+ * 搜索建议（输入即提示）
+ * @param keyword 输入前缀
+ * @param size 返回数量
+ * @returns 建议词列表
+ */
+export function getSearchSuggestions(keyword: string, size = 8) {
+  return request({
+    url: '/api/article/suggest',
+    method: 'get',
+    params: { keyword, size }
+  })
+}
+
+/**
+ * 获取趋势文章
+ * @param window 时间窗口（hour: 最近一小时，day: 最近一天）
+ * @param categoryId 分类ID（不传表示全站）
+ * @param limit 返回数量
+ * @returns 趋势文章列表
+ */
+export function getTrendingArticles(window: 'hour' | 'day' = 'day', categoryId?: number, limit = 10) {
+  return request({
+    url: '/api/article/trending',
+    method: 'get',
+    params: { window, categoryId, limit }
+  })
+}
+
 /**
  * 获取文章详情
  * @param id 文章ID
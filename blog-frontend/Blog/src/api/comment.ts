@@ -21,7 +21,16 @@ export interface CommentItem {
   likeCount: number
   isLiked: boolean
   createTime: string
-  replies?: CommentItem[] // 子评论列表
+  replies?: CommentItem[] // 子评论列表（根评论只内联前几条）
+  replyCount?: number // 回复总数（仅根评论）
+  replyCursor?: string // 加载剩余回复的游标（为空表示已全部加载）
+}
+
+/** 评论游标分页 */
+export interface CommentPage {
+  records: CommentItem[]
+  nextCursor?: string // 下一页游标（为空表示没有更多）
+  hasMore: boolean
 }
 
 /** 创建评论参数 */
@@ -29,30 +38,56 @@ export interface CreateCommentParams {
   articleId: number
   content: string
   parentId?: number // 父评论ID，不传或0表示一级评论
+  parentToken?: string // 父评论的客户端令牌（回复尚在排队的评论时使用）
   toUserId?: number // 回复的用户ID
 }
 
+/** 评论创建结果 */
+export interface CommentCreateResult {
+  id?: number // 评论ID（异步提交时尚未落库，为空）
+  clientToken?: string // 客户端令牌（异步提交时返回）
+  pending: boolean // 是否排队等待落库
+}
+
 // ========== API接口 ==========
 
 /**
- * 获取文章评论列表
+ * 获取文章评论列表（游标分页）
  * @param articleId 文章ID
- * @returns 评论列表（树形结构）
+ * @param cursor 分页游标，不传表示第一页
+ * @param size 每页根评论数
+ * @returns 评论分页（根评论内联前几条回复）
  */
-export function getCommentList(articleId: number) {
-  return request<CommentItem[]>({
+export function getCommentList(articleId: number, cursor?: string, size?: number) {
+  return request<CommentPage>({
     url: `/api/comment/article/${articleId}`,
-    method: 'get'
+    method: 'get',
+    params: { cursor, size }
+  })
+}
+
+/**
+ * 获取根评论下的回复列表（游标分页）
+ * @param rootId 根评论ID
+ * @param cursor 分页游标，不传表示第一页
+ * @param size 每页回复数
+ * @returns 回复分页
+ */
+export function getReplyList(rootId: number, cursor?: string, size?: number) {
+  return request<CommentPage>({
+    url: `/api/comment/${rootId}/replies`,
+    method: 'get',
+    params: { cursor, size }
   })
 }
 
 /**
  * 创建评论
  * @param data 评论数据
- * @returns 评论ID
+ * @returns 创建结果
  */
 export function createComment(data: CreateCommentParams) {
-  return request<number>({
+  return request<CommentCreateResult>({
     url: '/api/comment/create',
     method: 'post',
     data
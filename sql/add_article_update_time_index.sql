@@ -0,0 +1,3 @@
+-- 为article表添加更新时间索引（重建ES索引后按更新时间追平重建期间的改动）
+-- 执行时间：2026-10-19
+ALTER TABLE `article` ADD INDEX `idx_update_time`(`update_time`) USING BTREE;
@@ -0,0 +1,5 @@
+-- 评论表新增客户端令牌字段（异步评论提交时关联排队中的评论，评论ID改由数据库自增分配）
+-- 执行时间：2026-10-19
+ALTER TABLE `comment`
+  ADD COLUMN `client_token` varchar(32) NULL DEFAULT NULL COMMENT '客户端令牌（异步提交时生成）' AFTER `status`,
+  ADD UNIQUE INDEX `uk_client_token`(`client_token`);
@@ -0,0 +1,3 @@
+-- 为comment表添加评论内容全文索引（ngram分词，支持中文；后台评论搜索由LIKE '%关键词%'全表扫描改为全文检索）
+-- 执行时间：2026-10-19
+ALTER TABLE `comment` ADD FULLTEXT INDEX `ft_content`(`content`) WITH PARSER ngram;
@@ -0,0 +1,23 @@
+-- 为comment表添加depth、path字段（评论深度与物化路径，替代逐级查询父评论链）
+-- 执行时间：2026-10-19
+
+ALTER TABLE `comment`
+ADD COLUMN `depth` tinyint NOT NULL DEFAULT 0 COMMENT '评论深度（0表示根评论，1表示根评论的直接回复）' AFTER `parent_id`,
+ADD COLUMN `path` varchar(255) CHARACTER SET ascii COLLATE ascii_bin NOT NULL DEFAULT '/' COMMENT '物化路径（祖先评论ID，如 /rootId/.../parentId/，根评论为 /）' AFTER `depth`,
+ADD INDEX `idx_path`(`path`) USING BTREE;
+
+-- 回填历史评论的depth和path
+UPDATE `comment` c
+JOIN (
+    WITH RECURSIVE tree AS (
+        SELECT id, 0 AS depth, CAST('/' AS CHAR(255)) AS path
+        FROM `comment`
+        WHERE parent_id = 0
+        UNION ALL
+        SELECT child.id, tree.depth + 1, CONCAT(tree.path, child.parent_id, '/')
+        FROM `comment` child
+        JOIN tree ON child.parent_id = tree.id
+    )
+    SELECT id, depth, path FROM tree
+) t ON c.id = t.id
+SET c.depth = t.depth, c.path = t.path;
@@ -0,0 +1,4 @@
+-- 为comment表添加游标分页索引（根评论按(create_time, id)倒序分页，回复按(create_time, id)正序分页）
+-- 执行时间：2026-10-19
+ALTER TABLE `comment` ADD INDEX `idx_article_parent_time`(`article_id`, `parent_id`, `create_time`, `id`) USING BTREE;
+ALTER TABLE `comment` ADD INDEX `idx_root_time`(`root_id`, `create_time`, `id`) USING BTREE;
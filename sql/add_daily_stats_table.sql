@@ -0,0 +1,14 @@
+-- 新增每日统计表（当天数据在Redis中按天累加，每晚落库一行，后台趋势图按日期范围查询）
+-- 执行时间：2026-10-19
+CREATE TABLE IF NOT EXISTS `daily_stats`  (
+  `stat_date` date NOT NULL COMMENT '统计日期',
+  `view_count` bigint NOT NULL DEFAULT 0 COMMENT '浏览数',
+  `like_count` bigint NOT NULL DEFAULT 0 COMMENT '点赞数',
+  `comment_count` bigint NOT NULL DEFAULT 0 COMMENT '评论数',
+  `collect_count` bigint NOT NULL DEFAULT 0 COMMENT '收藏数',
+  `register_count` bigint NOT NULL DEFAULT 0 COMMENT '注册用户数',
+  `publish_count` bigint NOT NULL DEFAULT 0 COMMENT '发布文章数',
+  `create_time` datetime NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`stat_date`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '每日统计表' ROW_FORMAT = Dynamic;
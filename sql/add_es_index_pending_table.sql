@@ -0,0 +1,8 @@
+-- 新增ES待索引表（文章变更与待索引记录在同一事务中写入，索引成功后删除，重启时据此补齐）
+-- 执行时间：2026-10-19
+CREATE TABLE IF NOT EXISTS `es_index_pending`  (
+  `article_id` bigint NOT NULL COMMENT '文章ID',
+  `create_time` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '创建时间',
+  `update_time` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '最近一次登记时间',
+  PRIMARY KEY (`article_id`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = 'ES待索引文章表' ROW_FORMAT = Dynamic;